@@ -0,0 +1,35 @@
+package com.dan.events.dtos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+// Một sự kiện cho mỗi job mới, gom tất cả tìm kiếm đã lưu khớp với job đó
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class SavedSearchMatchEvent {
+    String jobId;
+    String jobTitle;
+    List<Match> matches;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+    public static class Match {
+        String savedSearchId;
+        String userId;
+        String name;
+    }
+}
@@ -0,0 +1,20 @@
+package com.dan.events.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+// identity-service phát khi thông tin người dùng thay đổi (tên, username, quyền...)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class UserUpdatedEvent {
+    String userId;
+    String username;
+}
@@ -0,0 +1,204 @@
+package com.dan.job_service.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.dan.events.dtos.JobEvent;
+import com.dan.job_service.models.Category;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.repositories.CategoryRepository;
+import com.dan.job_service.repositories.JobRepository;
+
+// Toàn bộ cây danh mục (nhỏ) giữ trong một snapshot bất biến, được thay nguyên khối khi danh mục thay đổi.
+// Số job active theo từng danh mục là bộ đếm riêng, cập nhật tăng/giảm theo JobEvent.
+@Component
+public class CategoryTreeCache {
+    private static final Logger log = LoggerFactory.getLogger(CategoryTreeCache.class);
+    private static final long INITIAL_LOAD_BACKOFF_MILLIS = 1_000;
+    private static final long MAX_LOAD_BACKOFF_MILLIS = 60_000;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private JobRepository jobRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean ready = false;
+    // Nạp lỗi thì lần thử lại kế tiếp (từ request) phải chờ tới mốc này, thời gian chờ tăng gấp đôi sau mỗi lần lỗi
+    private volatile long nextLoadAttemptAt = 0;
+    private long loadBackoffMillis = INITIAL_LOAD_BACKOFF_MILLIS;
+    // Tuần tự hóa các lần rebuild: hai thao tác ghi danh mục chồng nhau thì lần rebuild sau luôn đọc sau lần trước,
+    // snapshot công bố cuối cùng chứa cả hai thay đổi. Lock riêng để JobEvent không phải chờ truy vấn danh mục
+    private final Object rebuildLock = new Object();
+
+    // jobId -> categoryId của các job đang active
+    private final Map<String, String> activeJobCategories = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> jobCounts = new ConcurrentHashMap<>();
+
+    // categories giữ nguyên thứ tự của collection
+    public record Snapshot(List<Category> categories, Map<String, Category> byId,
+            Map<String, List<Category>> childrenByParentId, Map<String, List<String>> subtreeIds) {
+        static final Snapshot EMPTY = new Snapshot(List.of(), Map.of(), Map.of(), Map.of());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        try {
+            rebuild();
+            List<Job> jobs = jobRepository.findByActiveTrue();
+            activeJobCategories.clear();
+            jobCounts.clear();
+            jobs.forEach(this::putJob);
+            ready = true;
+            loadBackoffMillis = INITIAL_LOAD_BACKOFF_MILLIS;
+            log.info("Đã nạp {} danh mục và {} công việc active vào cache danh mục",
+                    snapshot.categories().size(), jobs.size());
+        } catch (Exception e) {
+            nextLoadAttemptAt = System.currentTimeMillis() + loadBackoffMillis;
+            log.error("Lỗi khi nạp cache danh mục, thử lại sau {} ms: {}", loadBackoffMillis, e.getMessage(), e);
+            loadBackoffMillis = Math.min(loadBackoffMillis * 2, MAX_LOAD_BACKOFF_MILLIS);
+        }
+    }
+
+    // Gọi sau mỗi thao tác thêm/sửa/xóa danh mục
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            snapshot = buildSnapshot(categoryRepository.findAll());
+        }
+    }
+
+    private static Snapshot buildSnapshot(List<Category> categories) {
+        Map<String, Category> byId = new HashMap<>();
+        Map<String, List<Category>> children = new HashMap<>();
+        for (Category category : categories) {
+            byId.put(category.getId(), category);
+            if (category.getParentId() != null) {
+                children.computeIfAbsent(category.getParentId(), key -> new ArrayList<>()).add(category);
+            }
+        }
+
+        Map<String, List<String>> subtreeIds = new HashMap<>();
+        for (Category category : categories) {
+            List<String> ids = new ArrayList<>();
+            collectSubtree(category.getId(), children, ids);
+            subtreeIds.put(category.getId(), List.copyOf(ids));
+        }
+
+        Map<String, List<Category>> frozenChildren = new HashMap<>();
+        children.forEach((parentId, list) -> frozenChildren.put(parentId, List.copyOf(list)));
+        return new Snapshot(List.copyOf(categories), Map.copyOf(byId), Map.copyOf(frozenChildren),
+                Map.copyOf(subtreeIds));
+    }
+
+    @EventListener
+    public synchronized void onJobEvent(JobEvent event) {
+        Job job = event.getData();
+        if (job == null || job.getId() == null) {
+            return;
+        }
+        if (Boolean.TRUE.equals(job.getActive()) && job.getDeletedAt() == null) {
+            putJob(job);
+        } else {
+            String previous = activeJobCategories.remove(job.getId());
+            adjust(previous, -1);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<Category> categories() {
+        return current().categories();
+    }
+
+    public Optional<Category> get(String id) {
+        return Optional.ofNullable(current().byId().get(id));
+    }
+
+    public List<Category> children(String parentId) {
+        return current().childrenByParentId().getOrDefault(parentId, List.of());
+    }
+
+    // Id của danh mục và mọi con cháu, rỗng nếu danh mục không tồn tại
+    public List<String> subtreeIds(String id) {
+        return current().subtreeIds().getOrDefault(id, List.of());
+    }
+
+    // Id của danh mục cha, ông... tới gốc, gần nhất trước; rỗng nếu danh mục không tồn tại hoặc là gốc
+    public List<String> ancestorIds(String id) {
+        Map<String, Category> byId = current().byId();
+        List<String> ancestors = new ArrayList<>();
+        Category category = byId.get(id);
+        while (category != null && category.getParentId() != null && !ancestors.contains(category.getParentId())) {
+            ancestors.add(category.getParentId());
+            category = byId.get(category.getParentId());
+        }
+        return ancestors;
+    }
+
+    // Chỉ đọc bộ đếm: danh sách danh mục gọi hàm này cho từng danh mục sau khi đã lấy cây qua current()
+    public int countJobs(String categoryId) {
+        AtomicInteger count = jobCounts.get(categoryId);
+        return count != null ? count.get() : 0;
+    }
+
+    public int countJobsInSubtree(String categoryId) {
+        int total = 0;
+        for (String id : subtreeIds(categoryId)) {
+            total += countJobs(id);
+        }
+        return total;
+    }
+
+    // Yêu cầu đến trước ApplicationReadyEvent hoặc sau một lần nạp lỗi thì thử nạp đồng bộ,
+    // nhưng không quá một lần trong mỗi khoảng backoff; giữa các lần thử trả về snapshot hiện có
+    private Snapshot current() {
+        if (!ready && System.currentTimeMillis() >= nextLoadAttemptAt) {
+            synchronized (this) {
+                if (!ready && System.currentTimeMillis() >= nextLoadAttemptAt) {
+                    load();
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    private void putJob(Job job) {
+        String categoryId = job.getCategoryId() != null ? job.getCategoryId() : "";
+        String previous = activeJobCategories.put(job.getId(), categoryId);
+        if (!categoryId.equals(previous)) {
+            adjust(previous, -1);
+            adjust(categoryId, 1);
+        }
+    }
+
+    private void adjust(String categoryId, int delta) {
+        if (categoryId != null && !categoryId.isEmpty()) {
+            jobCounts.computeIfAbsent(categoryId, key -> new AtomicInteger()).addAndGet(delta);
+        }
+    }
+
+    private static void collectSubtree(String id, Map<String, List<Category>> children, List<String> ids) {
+        // Dữ liệu lỗi có vòng lặp parentId thì dừng tại nút đã gặp
+        if (ids.contains(id)) {
+            return;
+        }
+        ids.add(id);
+        for (Category child : children.getOrDefault(id, List.of())) {
+            collectSubtree(child.getId(), children, ids);
+        }
+    }
+}
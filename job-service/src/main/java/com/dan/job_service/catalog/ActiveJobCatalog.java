@@ -0,0 +1,528 @@
+package com.dan.job_service.catalog;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.dan.events.dtos.JobEvent;
+import com.dan.job_service.concurrent.ReloadBuffer;
+import com.dan.job_service.dtos.enums.JobSortField;
+import com.dan.job_service.dtos.enums.WorkingForm;
+import com.dan.job_service.dtos.enums.WorkingType;
+import com.dan.job_service.dtos.responses.JobFacets;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.repositories.JobRepository;
+import com.dan.job_service.repositories.JobSearchSpec;
+
+// Bản sao dạng cột của các job đang active để trả lời phần lọc + sắp xếp của danh sách công khai
+// mà không chạm tới Mongo. Các cột chuỗi được mã hóa từ điển, số và thời gian lưu trong mảng nguyên thủy.
+@Component
+public class ActiveJobCatalog {
+    private static final Logger log = LoggerFactory.getLogger(ActiveJobCatalog.class);
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long MISSING = Long.MIN_VALUE;
+    private static final int ANY = Integer.MIN_VALUE;
+    private static final int[] NO_TAGS = new int[0];
+    // Cận trên (không gồm) của các khoảng lương theo salaryMax, khoảng cuối không giới hạn
+    private static final long[] SALARY_BUCKET_BOUNDS = {10_000_000L, 20_000_000L, 30_000_000L, 50_000_000L};
+    private static final int TAG_FACET_LIMIT = 20;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReloadBuffer reloadBuffer = new ReloadBuffer();
+
+    private final Dictionary userDictionary = new Dictionary();
+    private final Dictionary categoryDictionary = new Dictionary();
+    private final Dictionary experienceDictionary = new Dictionary();
+    private final Dictionary tagDictionary = new Dictionary();
+
+    private final Map<String, Integer> slotsById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private int slotCount = 0;
+
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private int[] userCodes = new int[INITIAL_CAPACITY];
+    private int[] categoryCodes = new int[INITIAL_CAPACITY];
+    private int[] experienceCodes = new int[INITIAL_CAPACITY];
+    // ordinal + 1, 0 nghĩa là không có giá trị
+    private byte[] workingTypes = new byte[INITIAL_CAPACITY];
+    private byte[] workingForms = new byte[INITIAL_CAPACITY];
+    private int[][] tagCodes = new int[INITIAL_CAPACITY][];
+    private long[] salaryMins = new long[INITIAL_CAPACITY];
+    private long[] salaryMaxs = new long[INITIAL_CAPACITY];
+    private long[] createdAts = new long[INITIAL_CAPACITY];
+    private long[] deadlines = new long[INITIAL_CAPACITY];
+
+    // Bitmap theo từng giá trị facet: bit thứ i bật nếu slot i mang giá trị đó
+    private final Map<Integer, BitSet> categoryBitmaps = new HashMap<>();
+    private final Map<Integer, BitSet> experienceBitmaps = new HashMap<>();
+    private final Map<Integer, BitSet> tagBitmaps = new HashMap<>();
+    private final BitSet[] workingTypeBitmaps = newBitmaps(WorkingType.values().length + 1);
+    private final BitSet[] workingFormBitmaps = newBitmaps(WorkingForm.values().length + 1);
+    private final BitSet[] salaryBitmaps = newBitmaps(SALARY_BUCKET_BOUNDS.length + 1);
+
+    private volatile boolean ready = false;
+
+    // Id của các job trên trang hiện tại cùng tổng số job khớp bộ lọc
+    public record CatalogPage(List<String> ids, long total) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reloadBuffer.start();
+        try {
+            List<Job> jobs = jobRepository.findByActiveTrue().stream()
+                    .filter(job -> job.getDeletedAt() == null)
+                    .toList();
+            lock.writeLock().lock();
+            try {
+                clear();
+                jobs.forEach(this::put);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.info("Đã nạp {} công việc active vào catalog", jobs.size());
+        } catch (Exception e) {
+            log.error("Lỗi khi nạp catalog công việc: {}", e.getMessage(), e);
+        } finally {
+            reloadBuffer.finish();
+        }
+    }
+
+    @EventListener
+    public void onJobEvent(JobEvent event) {
+        Job job = event.getData();
+        if (job == null || job.getId() == null || reloadBuffer.deferIfLoading(() -> apply(job))) {
+            return;
+        }
+        apply(job);
+    }
+
+    private void apply(Job job) {
+        lock.writeLock().lock();
+        try {
+            if (Boolean.TRUE.equals(job.getActive()) && job.getDeletedAt() == null) {
+                put(job);
+            } else {
+                removeSlot(job.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean contains(String jobId) {
+        lock.readLock().lock();
+        try {
+            return slotsById.containsKey(jobId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Catalog không có cột tiêu đề: tìm theo tiêu đề phải đi qua chỉ mục tìm kiếm (spec.ids)
+    public boolean supports(JobSearchSpec spec) {
+        return spec.getIds() != null || spec.getTitle() == null || spec.getTitle().isBlank();
+    }
+
+    // sortField null: giữ thứ tự của spec.ids nếu có, ngược lại mới nhất trước
+    public CatalogPage query(JobSearchSpec spec, JobSortField sortField, Sort.Direction direction,
+            long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            int[] matches = match(spec);
+            if (sortField != null || spec.getIds() == null) {
+                sort(matches, sortField != null ? sortField : JobSortField.CREATED_AT,
+                        sortField != null ? direction : Sort.Direction.DESC);
+            }
+
+            int from = (int) Math.min(offset, matches.length);
+            int to = Math.min(from + limit, matches.length);
+            List<String> pageIds = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                pageIds.add(ids[matches[i]]);
+            }
+            return new CatalogPage(pageIds, matches.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Giao bitmap kết quả với bitmap của từng giá trị facet, mọi facet trong một lần khóa đọc
+    public JobFacets facets(JobSearchSpec spec) {
+        lock.readLock().lock();
+        try {
+            BitSet result = new BitSet();
+            for (int slot : match(spec)) {
+                result.set(slot);
+            }
+
+            Map<String, Long> workingTypeCounts = new HashMap<>();
+            for (WorkingType type : WorkingType.values()) {
+                workingTypeCounts.put(type.name(), intersectionCount(result, workingTypeBitmaps[type.ordinal() + 1]));
+            }
+            Map<String, Long> workingFormCounts = new HashMap<>();
+            for (WorkingForm form : WorkingForm.values()) {
+                workingFormCounts.put(form.name(), intersectionCount(result, workingFormBitmaps[form.ordinal() + 1]));
+            }
+            Map<String, Long> salaryCounts = new HashMap<>();
+            for (int bucket = 0; bucket < salaryBitmaps.length; bucket++) {
+                salaryCounts.put(salaryBucketLabel(bucket), intersectionCount(result, salaryBitmaps[bucket]));
+            }
+
+            return JobFacets.builder()
+                    .total(result.cardinality())
+                    .categories(sortedCounts(countByCode(result, categoryBitmaps, categoryDictionary), Integer.MAX_VALUE))
+                    .workingTypes(sortedCounts(workingTypeCounts, Integer.MAX_VALUE))
+                    .workingForms(sortedCounts(workingFormCounts, Integer.MAX_VALUE))
+                    .experienceLevels(sortedCounts(countByCode(result, experienceBitmaps, experienceDictionary), Integer.MAX_VALUE))
+                    .salaryRanges(sortedCounts(salaryCounts, Integer.MAX_VALUE))
+                    .tags(sortedCounts(countByCode(result, tagBitmaps, tagDictionary), TAG_FACET_LIMIT))
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Map<String, Long> countByCode(BitSet result, Map<Integer, BitSet> bitmaps, Dictionary dictionary) {
+        Map<String, Long> counts = new HashMap<>();
+        bitmaps.forEach((code, bitmap) -> counts.put(dictionary.decode(code), intersectionCount(result, bitmap)));
+        return counts;
+    }
+
+    private static long intersectionCount(BitSet result, BitSet bitmap) {
+        BitSet intersection = (BitSet) bitmap.clone();
+        intersection.and(result);
+        return intersection.cardinality();
+    }
+
+    private static Map<String, Long> sortedCounts(Map<String, Long> counts, int limit) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .filter(entry -> entry.getKey() != null && entry.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    private static int salaryBucket(long salaryMax) {
+        int bucket = 0;
+        while (bucket < SALARY_BUCKET_BOUNDS.length && salaryMax >= SALARY_BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static String salaryBucketLabel(int bucket) {
+        long from = bucket == 0 ? 0 : SALARY_BUCKET_BOUNDS[bucket - 1];
+        return bucket < SALARY_BUCKET_BOUNDS.length ? from + "-" + SALARY_BUCKET_BOUNDS[bucket] : from + "+";
+    }
+
+    private int[] match(JobSearchSpec spec) {
+        IntPredicate predicate = compile(spec);
+        if (predicate == null) {
+            return new int[0];
+        }
+
+        if (spec.getIds() != null) {
+            int[] matches = new int[spec.getIds().size()];
+            int count = 0;
+            for (String id : spec.getIds()) {
+                Integer slot = slotsById.get(id);
+                if (slot != null && predicate.test(slot)) {
+                    matches[count++] = slot;
+                }
+            }
+            return Arrays.copyOf(matches, count);
+        }
+
+        int[] matches = new int[live.cardinality()];
+        int count = 0;
+        for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+            if (predicate.test(slot)) {
+                matches[count++] = slot;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    // Chuyển các giá trị lọc sang mã từ điển một lần; null nghĩa là chắc chắn không có kết quả
+    private IntPredicate compile(JobSearchSpec spec) {
+        int user = codeOrAny(userDictionary, spec.getUserId());
+        int category = spec.getCategoryIds() != null ? ANY : codeOrAny(categoryDictionary, spec.getCategoryId());
+        BitSet categories = null;
+        if (spec.getCategoryIds() != null) {
+            categories = new BitSet();
+            for (String categoryId : spec.getCategoryIds()) {
+                int code = categoryDictionary.lookup(categoryId);
+                if (code != Dictionary.NONE) {
+                    categories.set(code);
+                }
+            }
+            if (categories.isEmpty()) {
+                return null;
+            }
+        }
+        int experience = codeOrAny(experienceDictionary, spec.getExperienceLevel());
+        if (user == Dictionary.NONE || category == Dictionary.NONE || experience == Dictionary.NONE) {
+            return null;
+        }
+
+        int[] tags = NO_TAGS;
+        if (spec.getTags() != null && !spec.getTags().isEmpty()) {
+            tags = new int[spec.getTags().size()];
+            for (int i = 0; i < tags.length; i++) {
+                tags[i] = tagDictionary.lookup(spec.getTags().get(i));
+                if (tags[i] == Dictionary.NONE) {
+                    return null;
+                }
+            }
+        }
+
+        byte workingType = spec.getWorkingType() != null ? (byte) (spec.getWorkingType().ordinal() + 1) : 0;
+        byte workingForm = spec.getWorkingForm() != null ? (byte) (spec.getWorkingForm().ordinal() + 1) : 0;
+        long salaryMin = spec.getSalaryMin() != null ? spec.getSalaryMin() : MISSING;
+        long salaryMax = spec.getSalaryMax() != null ? spec.getSalaryMax() : MISSING;
+        long deadlineFrom = spec.getDeadlineFrom() != null ? spec.getDeadlineFrom().toEpochDay() : MISSING;
+        long deadlineTo = spec.getDeadlineTo() != null ? spec.getDeadlineTo().toEpochDay() : MISSING;
+        int[] requiredTags = tags;
+        BitSet categorySet = categories;
+
+        return slot -> live.get(slot)
+                && (user == ANY || userCodes[slot] == user)
+                && (category == ANY || categoryCodes[slot] == category)
+                && (categorySet == null || (categoryCodes[slot] >= 0 && categorySet.get(categoryCodes[slot])))
+                && (experience == ANY || experienceCodes[slot] == experience)
+                && (workingType == 0 || workingTypes[slot] == workingType)
+                && (workingForm == 0 || workingForms[slot] == workingForm)
+                && (salaryMin == MISSING || salaryMaxs[slot] >= salaryMin)
+                && (salaryMax == MISSING || salaryMins[slot] <= salaryMax)
+                && (deadlineFrom == MISSING || (deadlines[slot] != MISSING && deadlines[slot] >= deadlineFrom))
+                && (deadlineTo == MISSING || (deadlines[slot] != MISSING && deadlines[slot] <= deadlineTo))
+                && containsAll(tagCodes[slot], requiredTags);
+    }
+
+    private static int codeOrAny(Dictionary dictionary, String value) {
+        return value == null || value.isEmpty() ? ANY : dictionary.lookup(value);
+    }
+
+    private static boolean containsAll(int[] values, int[] required) {
+        for (int code : required) {
+            boolean found = false;
+            for (int value : values) {
+                if (value == code) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Merge sort từ dưới lên trực tiếp trên mảng slot: không đóng hộp Integer cho từng phần tử như Arrays.sort với Comparator
+    private void sort(int[] slots, JobSortField sortField, Sort.Direction direction) {
+        long[] column = switch (sortField) {
+            case CREATED_AT -> createdAts;
+            case SALARY_MAX -> salaryMaxs;
+            case APPLICATION_DEADLINE -> deadlines;
+        };
+        boolean descending = direction.isDescending();
+        int n = slots.length;
+        int[] source = slots;
+        int[] target = new int[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int low = 0; low < n; low += 2 * width) {
+                int middle = Math.min(low + width, n);
+                int high = Math.min(low + 2 * width, n);
+                int left = low;
+                int right = middle;
+                for (int k = low; k < high; k++) {
+                    boolean takeLeft = right >= high
+                            || (left < middle && compare(source[left], source[right], column, descending) <= 0);
+                    if (takeLeft) {
+                        target[k] = source[left++];
+                    } else {
+                        target[k] = source[right++];
+                    }
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != slots) {
+            System.arraycopy(source, 0, slots, 0, n);
+        }
+    }
+
+    // Theo giá trị cột rồi theo id; giá trị thiếu (MISSING) nhỏ nhất, giống thứ tự null của Mongo
+    private int compare(int a, int b, long[] column, boolean descending) {
+        int order = Long.compare(column[a], column[b]);
+        if (order == 0) {
+            order = ids[a].compareTo(ids[b]);
+        }
+        return descending ? -order : order;
+    }
+
+    private void put(Job job) {
+        Integer slot = slotsById.get(job.getId());
+        if (slot == null) {
+            slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.pop();
+            ensureCapacity(slot + 1);
+            slotsById.put(job.getId(), slot);
+        } else {
+            clearFacetBits(slot);
+        }
+
+        ids[slot] = job.getId();
+        userCodes[slot] = userDictionary.encode(job.getUserId());
+        categoryCodes[slot] = categoryDictionary.encode(job.getCategoryId());
+        experienceCodes[slot] = experienceDictionary.encode(job.getExperienceLevel());
+        workingTypes[slot] = job.getWorkingType() != null ? (byte) (job.getWorkingType().ordinal() + 1) : 0;
+        workingForms[slot] = job.getWorkingForm() != null ? (byte) (job.getWorkingForm().ordinal() + 1) : 0;
+        tagCodes[slot] = job.getTags() != null
+                ? job.getTags().stream().mapToInt(tagDictionary::encode).toArray()
+                : NO_TAGS;
+        salaryMins[slot] = job.getSalaryMin();
+        salaryMaxs[slot] = job.getSalaryMax();
+        createdAts[slot] = toEpochMillis(job.getCreatedAt());
+        deadlines[slot] = toEpochDay(job.getApplicationDeadline());
+        live.set(slot);
+        setFacetBits(slot);
+    }
+
+    private void setFacetBits(int slot) {
+        setBit(categoryBitmaps, categoryCodes[slot], slot);
+        setBit(experienceBitmaps, experienceCodes[slot], slot);
+        for (int tag : tagCodes[slot]) {
+            setBit(tagBitmaps, tag, slot);
+        }
+        workingTypeBitmaps[workingTypes[slot]].set(slot);
+        workingFormBitmaps[workingForms[slot]].set(slot);
+        salaryBitmaps[salaryBucket(salaryMaxs[slot])].set(slot);
+    }
+
+    private void clearFacetBits(int slot) {
+        clearBit(categoryBitmaps, categoryCodes[slot], slot);
+        clearBit(experienceBitmaps, experienceCodes[slot], slot);
+        for (int tag : tagCodes[slot]) {
+            clearBit(tagBitmaps, tag, slot);
+        }
+        workingTypeBitmaps[workingTypes[slot]].clear(slot);
+        workingFormBitmaps[workingForms[slot]].clear(slot);
+        salaryBitmaps[salaryBucket(salaryMaxs[slot])].clear(slot);
+    }
+
+    private static void setBit(Map<Integer, BitSet> bitmaps, int code, int slot) {
+        if (code != Dictionary.NONE) {
+            bitmaps.computeIfAbsent(code, key -> new BitSet()).set(slot);
+        }
+    }
+
+    private static void clearBit(Map<Integer, BitSet> bitmaps, int code, int slot) {
+        BitSet bitmap = bitmaps.get(code);
+        if (bitmap != null) {
+            bitmap.clear(slot);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(code);
+            }
+        }
+    }
+
+    private static BitSet[] newBitmaps(int count) {
+        BitSet[] bitmaps = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            bitmaps[i] = new BitSet();
+        }
+        return bitmaps;
+    }
+
+    private void removeSlot(String jobId) {
+        Integer slot = slotsById.remove(jobId);
+        if (slot == null) {
+            return;
+        }
+        clearFacetBits(slot);
+        live.clear(slot);
+        ids[slot] = null;
+        tagCodes[slot] = NO_TAGS;
+        freeSlots.push(slot);
+    }
+
+    private void clear() {
+        slotsById.clear();
+        freeSlots.clear();
+        live.clear();
+        slotCount = 0;
+        userDictionary.clear();
+        categoryDictionary.clear();
+        experienceDictionary.clear();
+        tagDictionary.clear();
+        categoryBitmaps.clear();
+        experienceBitmaps.clear();
+        tagBitmaps.clear();
+        for (BitSet[] bitmaps : List.of(workingTypeBitmaps, workingFormBitmaps, salaryBitmaps)) {
+            Arrays.stream(bitmaps).forEach(BitSet::clear);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newCapacity);
+        userCodes = Arrays.copyOf(userCodes, newCapacity);
+        categoryCodes = Arrays.copyOf(categoryCodes, newCapacity);
+        experienceCodes = Arrays.copyOf(experienceCodes, newCapacity);
+        workingTypes = Arrays.copyOf(workingTypes, newCapacity);
+        workingForms = Arrays.copyOf(workingForms, newCapacity);
+        tagCodes = Arrays.copyOf(tagCodes, newCapacity);
+        salaryMins = Arrays.copyOf(salaryMins, newCapacity);
+        salaryMaxs = Arrays.copyOf(salaryMaxs, newCapacity);
+        createdAts = Arrays.copyOf(createdAts, newCapacity);
+        deadlines = Arrays.copyOf(deadlines, newCapacity);
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : MISSING;
+    }
+
+    private static long toEpochDay(LocalDate date) {
+        return date != null ? date.toEpochDay() : MISSING;
+    }
+}
@@ -0,0 +1,45 @@
+package com.dan.job_service.catalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Mã hóa từ điển: mỗi chuỗi khác nhau được gán một mã int cố định
+public class Dictionary {
+    public static final int NONE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    public int encode(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        return codes.computeIfAbsent(value, key -> {
+            values.add(key);
+            return values.size() - 1;
+        });
+    }
+
+    // Không thêm mới: trả về NONE nếu chuỗi chưa từng xuất hiện
+    public int lookup(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        return codes.getOrDefault(value, NONE);
+    }
+
+    public String decode(int code) {
+        return code >= 0 && code < values.size() ? values.get(code) : null;
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public void clear() {
+        codes.clear();
+        values.clear();
+    }
+}
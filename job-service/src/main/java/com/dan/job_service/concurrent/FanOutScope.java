@@ -0,0 +1,189 @@
+package com.dan.job_service.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+// Chạy song song các lời gọi độc lập trên virtual thread theo kiểu structured concurrency:
+// mọi tác vụ con đều kết thúc trước khi close() trả về, tác vụ đầu tiên lỗi hoặc quá hạn thì các tác vụ còn lại bị hủy.
+// Ngữ cảnh request của luồng mở scope được gắn vào từng tác vụ con để Feign chuyển tiếp header Authorization.
+//
+//   try (FanOutScope scope = FanOutScope.open(Duration.ofSeconds(10))) {
+//       FanOutScope.Subtask<A> a = scope.fork(() -> clientA.get(...));
+//       FanOutScope.Subtask<B> b = scope.fork(() -> clientB.get(...));
+//       scope.join();
+//       return combine(a.get(), b.get());
+//   }
+public final class FanOutScope implements AutoCloseable {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Future<?>> futures = new ArrayList<>();
+    private final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+    private final Semaphore permits;
+    private final long deadlineNanos;
+
+    private final Object monitor = new Object();
+    private int running = 0;
+    private Throwable failure;
+    private boolean closed = false;
+
+    private FanOutScope(Duration timeout, int maxConcurrency) {
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+        this.permits = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+    }
+
+    // Hạn chót tính từ lúc mở scope, áp cho toàn bộ các tác vụ con
+    public static FanOutScope open(Duration timeout) {
+        return new FanOutScope(timeout, 0);
+    }
+
+    // Giới hạn số tác vụ chạy đồng thời, dùng khi fan-out theo một danh sách id dài
+    public static FanOutScope open(Duration timeout, int maxConcurrency) {
+        return new FanOutScope(timeout, maxConcurrency);
+    }
+
+    public <T> Subtask<T> fork(Callable<T> task) {
+        synchronized (monitor) {
+            if (closed) {
+                throw new IllegalStateException("Scope đã đóng");
+            }
+            running++;
+        }
+        // Đếm lùi trong done() thay vì trong thân tác vụ: done() chạy sau khi kết quả đã được ghi,
+        // nên join() trả về thì get() của mọi tác vụ con đều đọc được kết quả
+        FutureTask<T> future = new FutureTask<>(() -> {
+            if (permits != null) {
+                permits.acquire();
+            }
+            try {
+                RequestContextHolder.setRequestAttributes(requestAttributes);
+                return task.call();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+                if (permits != null) {
+                    permits.release();
+                }
+            }
+        }) {
+            @Override
+            protected void done() {
+                if (state() == Future.State.FAILED) {
+                    fail(exceptionNow());
+                }
+                finished();
+            }
+        };
+        boolean failed;
+        synchronized (monitor) {
+            futures.add(future);
+            failed = failure != null;
+        }
+        if (failed) {
+            future.cancel(true);
+        } else {
+            executor.execute(future);
+        }
+        return new Subtask<>(future);
+    }
+
+    // Chờ tất cả tác vụ con xong; tác vụ lỗi thì ném lại lỗi của nó, quá hạn thì ném RuntimeException
+    public void join() {
+        Throwable error;
+        synchronized (monitor) {
+            try {
+                while (running > 0 && failure == null) {
+                    long remaining = deadlineNanos - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(monitor, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelAll();
+                throw new RuntimeException("Bị gián đoạn khi chờ các lời gọi song song", e);
+            }
+            error = failure;
+            if (error == null && running > 0) {
+                cancelAll();
+                throw new RuntimeException("Quá thời gian chờ các lời gọi song song");
+            }
+        }
+        if (error != null) {
+            cancelAll();
+            if (error instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (error instanceof Error e) {
+                throw e;
+            }
+            throw new RuntimeException(error.getMessage(), error);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (monitor) {
+            closed = true;
+        }
+        // Tác vụ chưa xong (scope thoát vì lỗi) bị ngắt; close() chờ chúng dừng hẳn, không để rò luồng ra ngoài scope
+        executor.shutdownNow();
+        executor.close();
+    }
+
+    private void fail(Throwable error) {
+        boolean first;
+        synchronized (monitor) {
+            first = failure == null;
+            if (first) {
+                failure = error;
+                monitor.notifyAll();
+            }
+        }
+        if (first) {
+            cancelAll();
+        }
+    }
+
+    private void finished() {
+        synchronized (monitor) {
+            running--;
+            monitor.notifyAll();
+        }
+    }
+
+    private void cancelAll() {
+        List<Future<?>> snapshot;
+        synchronized (monitor) {
+            snapshot = new ArrayList<>(futures);
+        }
+        snapshot.forEach(future -> future.cancel(true));
+    }
+
+    public static final class Subtask<T> {
+        private final Future<T> future;
+
+        private Subtask(Future<T> future) {
+            this.future = future;
+        }
+
+        // Chỉ gọi sau join() thành công
+        public T get() {
+            return future.resultNow();
+        }
+
+        // Kết quả nếu tác vụ đã thành công, null nếu lỗi/bị hủy; dùng để dọn dẹp sau khi scope thất bại
+        public T getIfSucceeded() {
+            return future.state() == Future.State.SUCCESS ? future.resultNow() : null;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.dan.job_service.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Giữ các thay đổi (JobEvent, đăng ký tìm kiếm...) đến trong lúc một chỉ mục trong bộ nhớ đang nạp lại từ Mongo.
+// Nếu áp thẳng, thay đổi đến giữa lúc truy vấn và lúc hoán đổi dữ liệu sẽ bị clear() xóa mất.
+//
+//   reloadBuffer.start();
+//   try { ...truy vấn, clear(), nạp lại... } finally { reloadBuffer.finish(); }
+//
+// Phía nhận sự kiện gọi deferIfLoading trước khi lấy lock của chỉ mục.
+public class ReloadBuffer {
+    private static final Logger log = LoggerFactory.getLogger(ReloadBuffer.class);
+    private final Object lock = new Object();
+    private List<Runnable> pending;
+
+    public void start() {
+        synchronized (lock) {
+            pending = new ArrayList<>();
+        }
+    }
+
+    // Đang nạp lại thì giữ thay đổi để áp sau và trả về true; ngược lại trả về false để người gọi áp ngay
+    public boolean deferIfLoading(Runnable change) {
+        synchronized (lock) {
+            if (pending == null) {
+                return false;
+            }
+            pending.add(change);
+            return true;
+        }
+    }
+
+    // Áp lại các thay đổi đã giữ theo thứ tự đến rồi kết thúc trạng thái nạp.
+    // Thay đổi mới chờ tới khi áp xong nên không bị một thay đổi cũ hơn ghi đè.
+    public void finish() {
+        synchronized (lock) {
+            if (pending == null) {
+                return;
+            }
+            try {
+                for (Runnable change : pending) {
+                    // Một thay đổi lỗi không được làm mất các thay đổi còn lại trong hàng đợi
+                    try {
+                        change.run();
+                    } catch (RuntimeException e) {
+                        log.error("Lỗi khi áp lại thay đổi đến trong lúc nạp chỉ mục: {}", e.getMessage(), e);
+                    }
+                }
+            } finally {
+                pending = null;
+            }
+        }
+    }
+}
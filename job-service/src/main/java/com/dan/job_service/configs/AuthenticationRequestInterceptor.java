@@ -10,6 +10,10 @@ public class AuthenticationRequestInterceptor implements RequestInterceptor {
     @Override
     public void apply(RequestTemplate requestTemplate) {
         ServletRequestAttributes servletRequestAttributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        // Không có request hiện tại (Kafka listener, luồng nền...) thì không có header để chuyển tiếp
+        if (servletRequestAttributes == null)
+            return;
+
         var authHeader = servletRequestAttributes.getRequest().getHeader("Authorization");
 
         if(StringUtils.hasText(authHeader))
@@ -0,0 +1,23 @@
+package com.dan.job_service.configs;
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import com.dan.job_service.instrumentation.MongoCommandCounter;
+import com.dan.job_service.similarity.PackedVectorConverters;
+
+@Configuration
+public class MongoConfig {
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(PackedVectorConverters.all());
+    }
+
+    // Đếm lệnh Mongo theo từng HTTP request (xem QueryBudgetFilter)
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandCounterCustomizer() {
+        return settings -> settings.addCommandListener(new MongoCommandCounter());
+    }
+}
@@ -9,7 +9,10 @@ import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
 import com.dan.events.dtos.EventAddJobDataForRecommend;
+import com.dan.events.dtos.UserUpdatedEvent;
+import com.dan.job_service.http_clients.CachingIdentityServiceClient;
 import com.dan.job_service.models.SearchClick;
+import com.dan.job_service.repositories.JobDetailViewRepository;
 import com.dan.job_service.repositories.JobViewRepository;
 import com.dan.job_service.repositories.SearchClickRepository;
 
@@ -21,6 +24,10 @@ public class EventController {
     private JobViewRepository jobViewRepository;
     @Autowired
     private JobRepository jobRepository;
+    @Autowired
+    private CachingIdentityServiceClient cachingIdentityServiceClient;
+    @Autowired
+    private JobDetailViewRepository jobDetailViewRepository;
 
     @KafkaListener(topics = "job_get_job_by_id")
     public void listenGetJobById(EventAddJobDataForRecommend message) {
@@ -30,4 +37,16 @@ public class EventController {
                 .timestamp(LocalDateTime.now())
                 .build());
     }
+
+    // Mỗi instance giữ cache người dùng riêng nên cần nhận mọi sự kiện: group riêng cho từng instance,
+    // chỉ đọc sự kiện mới (cache của instance vừa khởi động đang trống)
+    @KafkaListener(topics = "user_updated", groupId = "job-user-updated-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void listenUserUpdated(UserUpdatedEvent message) {
+        cachingIdentityServiceClient.invalidate(message.getUserId(), message.getUsername());
+        if (message.getUserId() != null) {
+            // Sự kiện không mang tên mới: đánh dấu bản chiếu thiếu thông tin chủ job để lần đọc sau chiếu lại
+            jobDetailViewRepository.clearOwner(message.getUserId());
+        }
+    }
 }
@@ -17,11 +17,16 @@ public class HashtagController {
 
     @GetMapping("/private/hashtags")
     public ResponseEntity<?> searchHashtags(
-        @RequestParam(name = "keyword", defaultValue = "") String keyword
+        @RequestParam(name = "keyword", defaultValue = "") String keyword,
+        @RequestParam(name = "limit", defaultValue = "10") int limit
     ) {
         try {
+            if (limit <= 0 || limit > 50) {
+                return ResponseEntity.badRequest()
+                        .body(new ResponseMessage(400, "Tham số limit phải nằm trong khoảng 1-50"));
+            }
             // Gọi phương thức searchHashtags mới từ service và truyền keyword vào
-            List<String> hashtags = hashtagService.searchHashtags(keyword);
+            List<String> hashtags = hashtagService.searchHashtags(keyword, limit);
             return ResponseEntity.ok(hashtags);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
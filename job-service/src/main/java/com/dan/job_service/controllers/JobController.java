@@ -7,31 +7,43 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.dan.job_service.dtos.enums.JobSortField;
 import com.dan.job_service.dtos.requets.JobRequest;
+import com.dan.job_service.dtos.requets.JobSearchRequest;
 import com.dan.job_service.dtos.responses.JobApplicationApplied;
 import com.dan.job_service.dtos.responses.JobDetail;
 import com.dan.job_service.dtos.responses.ResponseMessage;
 import com.dan.job_service.security.jwt.JwtService;
 import com.dan.job_service.services.JobService;
+import com.dan.job_service.services.SearchClickService;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
 @RequestMapping("/job/jobs")
 public class JobController {
     private static final Logger log = LoggerFactory.getLogger(JobController.class);
+    // Từ khóa đã sửa lỗi chính tả (URL-encoded) khi kết quả trả về là của từ khóa đã sửa
+    private static final String CORRECTED_QUERY_HEADER = "X-Corrected-Query";
+    // Phân trang keyset đọc size + 1 bản ghi; size phải dương (limit(0) là không giới hạn) và có trần
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
 
     @Autowired
     private JobService jobService;
     @Autowired
     private JwtService jwtService;
+    @Autowired
+    private SearchClickService searchClickService;
 
     @PostMapping(value = "/private/create", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<ResponseMessage> createJob(
@@ -117,15 +129,12 @@ public class JobController {
 
     @GetMapping("/admin/get-all-jobs")
     public ResponseEntity<?> getAllJobsByAdmin(
-            @RequestParam(required = false) String categoryId,
-            @RequestParam(required = false) String title,
+            @ModelAttribute JobSearchRequest search,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "") String userId,
-
             @RequestParam(defaultValue = "10") int size) {
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<JobDetail> jobsPage = jobService.getAll(categoryId, title, userId, pageable);
+            Page<JobDetail> jobsPage = jobService.getAll(search, pageable);
             return ResponseEntity.ok(jobsPage);
         } catch (Exception e) {
             log.error("Lỗi lấy danh sách công việc (admin): {}", e.getMessage(), e);
@@ -134,30 +143,124 @@ public class JobController {
         }
     }
 
+    // Các cụm tin tuyển dụng gần trùng (MinHash/LSH) để admin rà soát
+    @GetMapping("/admin/duplicate-clusters")
+    public ResponseEntity<?> getDuplicateClusters(@RequestParam(defaultValue = "50") int limit) {
+        try {
+            if (limit <= 0 || limit > 500) {
+                return ResponseEntity.badRequest()
+                        .body(new ResponseMessage(400, "Tham số limit phải nằm trong khoảng 1-500"));
+            }
+            return ResponseEntity.ok(jobService.getDuplicateClusters(limit));
+        } catch (Exception e) {
+            log.error("Lỗi lấy danh sách tin trùng: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                    .body(new ResponseMessage(400, "Lỗi khi lấy danh sách tin trùng: " + e.getMessage()));
+        }
+    }
+
+    // Số lượng theo category, workingType, workingForm, experienceLevel, khoảng lương và tag
+    // cho cùng bộ lọc của /public/get-all-jobs
+    @GetMapping("/public/get-all-jobs/facets")
+    public ResponseEntity<?> getJobFacets(@ModelAttribute JobSearchRequest search) {
+        try {
+            return ResponseEntity.ok(jobService.getFacets(search));
+        } catch (Exception e) {
+            log.error("Lỗi thống kê facet: bộ lọc={}: {}", search, e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                    .body(new ResponseMessage(400, "Lỗi khi thống kê bộ lọc: " + e.getMessage()));
+        }
+    }
+
+    // Job tương tự theo embedding, tính trong bộ nhớ không gọi recommend-service
+    @GetMapping("/public/{id}/similar")
+    public ResponseEntity<?> getSimilarJobs(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            if (limit <= 0 || limit > 50) {
+                return ResponseEntity.badRequest()
+                        .body(new ResponseMessage(400, "Tham số limit phải nằm trong khoảng 1-50"));
+            }
+            return ResponseEntity.ok(jobService.getSimilarJobs(id, limit));
+        } catch (Exception e) {
+            log.error("Lỗi lấy job tương tự cho job {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                    .body(new ResponseMessage(400, "Lỗi khi lấy công việc tương tự: " + e.getMessage()));
+        }
+    }
+
+    // Gợi ý tiêu đề khi gõ, không dấu vẫn khớp (ví dụ "lap trinh" -> "Lập trình viên Java")
+    @GetMapping("/public/suggest-titles")
+    public ResponseEntity<?> suggestTitles(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            if (limit <= 0 || limit > 20) {
+                return ResponseEntity.badRequest()
+                        .body(new ResponseMessage(400, "Tham số limit phải nằm trong khoảng 1-20"));
+            }
+            return ResponseEntity.ok(jobService.suggestTitles(q, limit));
+        } catch (Exception e) {
+            log.error("Lỗi gợi ý tiêu đề: q={}: {}", q, e.getMessage(), e);
+            return ResponseEntity.badRequest()
+                    .body(new ResponseMessage(400, "Lỗi khi gợi ý tiêu đề: " + e.getMessage()));
+        }
+    }
+
+    // Bộ lọc: categoryId, title, userId, salaryMin, salaryMax, workingType, workingForm,
+    // experienceLevel, tags, deadlineFrom, deadlineTo (yyyy-MM-dd).
+    // Truyền cursor (rỗng cho trang đầu) để phân trang keyset thay vì page/size.
     @GetMapping("/public/get-all-jobs")
     public ResponseEntity<?> getAllJobsByUser(
-            @RequestParam(required = false) String categoryId,
-            @RequestParam(required = false) String title,
+            @ModelAttribute JobSearchRequest search,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "") String userId,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) JobSortField sort,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
         try {
             if (page < 0 || size <= 0) {
                 log.warn("Tham số không hợp lệ: page={}, size={}", page, size);
                 return ResponseEntity.badRequest()
                         .body(new ResponseMessage(400, "Tham số page hoặc size không hợp lệ"));
             }
-            log.info("Lấy danh sách công việc với categoryId: {}, title: {}, page: {}, size: {}", categoryId, title,
-                    page, size);
-            Pageable pageable = PageRequest.of(page, size);
-            Page<JobDetail> jobsPage = jobService.getAll(categoryId, title, userId, pageable);
+            log.info("Lấy danh sách công việc với bộ lọc: {}, page: {}, size: {}", search, page, size);
+            if (cursor != null) {
+                if (size > MAX_CURSOR_PAGE_SIZE) {
+                    return invalidCursorSize(size);
+                }
+                return ResponseEntity.ok(jobService.getAllByCursor(search,
+                        sort != null ? sort : JobSortField.CREATED_AT, direction, cursor, size));
+            }
+            Pageable pageable = toPageable(page, size, sort, direction);
+            Page<JobDetail> jobsPage = jobService.getAll(search, pageable);
+            if (jobsPage.isEmpty() && search.hasTitle()) {
+                // Không có kết quả: thử lại một lần với từ khóa đã sửa lỗi chính tả
+                String corrected = jobService.suggestCorrection(search.title());
+                if (corrected != null) {
+                    Page<JobDetail> correctedPage = jobService.getAll(search.withTitle(corrected), pageable);
+                    if (!correctedPage.isEmpty()) {
+                        searchClickService.recordSearch(corrected, pageable.getOffset(),
+                                correctedPage.getNumberOfElements());
+                        return ResponseEntity.ok()
+                                .header(CORRECTED_QUERY_HEADER, URLEncoder.encode(corrected, StandardCharsets.UTF_8))
+                                .body(correctedPage);
+                    }
+                    return ResponseEntity.ok(new ResponseMessage(200,
+                            "Không có công việc nào phù hợp. Có phải bạn muốn tìm \"" + corrected + "\"?"));
+                }
+            }
             if (jobsPage.isEmpty()) {
                 return ResponseEntity.ok(new ResponseMessage(200, "Không có công việc nào phù hợp"));
             }
+            if (search.hasTitle()) {
+                searchClickService.recordSearch(search.title(), pageable.getOffset(), jobsPage.getNumberOfElements());
+            }
             return ResponseEntity.ok(jobsPage);
         } catch (Exception e) {
-            log.error("Lỗi lấy danh sách công việc: categoryId={}, title={}, page={}, size={}: {}",
-                    categoryId, title, page, size, e.getMessage(), e);
+            log.error("Lỗi lấy danh sách công việc: bộ lọc={}, page={}, size={}: {}",
+                    search, page, size, e.getMessage(), e);
             return ResponseEntity.badRequest()
                     .body(new ResponseMessage(400, "Lỗi khi lấy danh sách công việc: " + e.getMessage()));
         }
@@ -167,10 +270,20 @@ public class JobController {
     public ResponseEntity<?> getAllJobsByUser(
             HttpServletRequest request,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) JobSortField sort,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
         try {
             String username = jwtService.getUsernameFromRequest(request);
-            Pageable pageable = PageRequest.of(page, size);
+            if (cursor != null) {
+                if (size <= 0 || size > MAX_CURSOR_PAGE_SIZE) {
+                    return invalidCursorSize(size);
+                }
+                return ResponseEntity.ok(jobService.getJobsByUserIdByCursor(username,
+                        sort != null ? sort : JobSortField.CREATED_AT, direction, cursor, size));
+            }
+            Pageable pageable = toPageable(page, size, sort, direction);
             Page<JobDetail> jobsPage = jobService.getJobsByUserId(username, pageable);
             return ResponseEntity.ok(jobsPage);
         } catch (Exception e) {
@@ -185,11 +298,19 @@ public class JobController {
             HttpServletRequest request,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "") String status)
+            @RequestParam(defaultValue = "") String status,
+            @RequestParam(required = false) String cursor)
 
     {
         try {
             String username = jwtService.getUsernameFromRequest(request);
+            // Phân trang keyset theo thời điểm ứng tuyển, mới nhất trước
+            if (cursor != null) {
+                if (size <= 0 || size > MAX_CURSOR_PAGE_SIZE) {
+                    return invalidCursorSize(size);
+                }
+                return ResponseEntity.ok(jobService.getAppliedJobsByCursor(username, status, cursor, size));
+            }
             Pageable pageable = PageRequest.of(page, size);
             Page<JobApplicationApplied> appliedJobsPage = jobService.getAppliedJobs(username, pageable, status);
 
@@ -280,5 +401,15 @@ public class JobController {
         }
     }
 
-    
-}
\ No newline at end of file
+    private ResponseEntity<ResponseMessage> invalidCursorSize(int size) {
+        log.warn("Tham số size không hợp lệ khi phân trang theo cursor: size={}", size);
+        return ResponseEntity.badRequest().body(new ResponseMessage(400,
+                "Tham số size phải nằm trong khoảng 1.." + MAX_CURSOR_PAGE_SIZE + " khi dùng cursor"));
+    }
+
+    private Pageable toPageable(int page, int size, JobSortField sort, Sort.Direction direction) {
+        return sort != null
+                ? PageRequest.of(page, size, Sort.by(direction, sort.getField()))
+                : PageRequest.of(page, size);
+    }
+}
@@ -0,0 +1,68 @@
+package com.dan.job_service.controllers;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.dan.job_service.dtos.requets.SavedSearchRequest;
+import com.dan.job_service.dtos.responses.ResponseMessage;
+import com.dan.job_service.security.jwt.JwtService;
+import com.dan.job_service.services.SavedSearchService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/job/saved-searches")
+@RequiredArgsConstructor
+public class SavedSearchController {
+    private final SavedSearchService savedSearchService;
+    private final JwtService jwtService;
+
+    @PostMapping("/private/create")
+    public ResponseEntity<?> createSavedSearch(@Valid @RequestBody SavedSearchRequest savedSearchRequest,
+            HttpServletRequest request) {
+        try {
+            String username = jwtService.getUsernameFromRequest(request);
+            return ResponseEntity.ok(savedSearchService.create(savedSearchRequest, username));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ResponseMessage(400, "Lỗi khi lưu tìm kiếm: " + e.getMessage()));
+        }
+    }
+
+    @PutMapping("/private/update/{id}")
+    public ResponseEntity<?> updateSavedSearch(@PathVariable String id,
+            @Valid @RequestBody SavedSearchRequest savedSearchRequest,
+            HttpServletRequest request) {
+        try {
+            String username = jwtService.getUsernameFromRequest(request);
+            return ResponseEntity.ok(savedSearchService.update(id, savedSearchRequest, username));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ResponseMessage(400, "Lỗi khi cập nhật tìm kiếm đã lưu: " + e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/private/delete/{id}")
+    public ResponseEntity<ResponseMessage> deleteSavedSearch(@PathVariable String id, HttpServletRequest request) {
+        try {
+            String username = jwtService.getUsernameFromRequest(request);
+            return ResponseEntity.ok(savedSearchService.delete(id, username));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ResponseMessage(400, "Lỗi khi xóa tìm kiếm đã lưu: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/private/get-all")
+    public ResponseEntity<?> getMySavedSearches(HttpServletRequest request) {
+        try {
+            String username = jwtService.getUsernameFromRequest(request);
+            return ResponseEntity.ok(savedSearchService.getMySavedSearches(username));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ResponseMessage(400, "Lỗi khi lấy danh sách tìm kiếm đã lưu: " + e.getMessage()));
+        }
+    }
+}
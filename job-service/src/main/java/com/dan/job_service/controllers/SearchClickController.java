@@ -0,0 +1,45 @@
+package com.dan.job_service.controllers;
+
+import com.dan.job_service.dtos.requets.SearchClickRequest;
+import com.dan.job_service.dtos.responses.ResponseMessage;
+import com.dan.job_service.security.jwt.JwtService;
+import com.dan.job_service.services.SearchClickService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/job/jobs")
+@RequiredArgsConstructor
+public class SearchClickController {
+    private final SearchClickService searchClickService;
+    private final JwtService jwtService;
+
+    // Ghi nhận người dùng click vào một job trong kết quả tìm kiếm
+    @PostMapping("/private/search-clicks")
+    public ResponseEntity<?> saveSearchClick(@RequestBody SearchClickRequest searchClickRequest,
+            HttpServletRequest request) {
+        try {
+            String username = jwtService.getUsernameFromRequest(request);
+            return ResponseEntity.ok(searchClickService.saveSearchClick(searchClickRequest, username));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ResponseMessage(400, "Lỗi khi lưu lượt click: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/public/popular-searches")
+    public ResponseEntity<?> getPopularSearches(@RequestParam(defaultValue = "10") int limit) {
+        if (limit <= 0 || limit > 100) {
+            return ResponseEntity.badRequest()
+                    .body(new ResponseMessage(400, "Tham số limit phải nằm trong khoảng 1-100"));
+        }
+        return ResponseEntity.ok(searchClickService.getPopularSearches(limit));
+    }
+
+    @GetMapping("/admin/search-ctr")
+    public ResponseEntity<?> getCtrByPosition() {
+        return ResponseEntity.ok(searchClickService.getCtrByPosition());
+    }
+}
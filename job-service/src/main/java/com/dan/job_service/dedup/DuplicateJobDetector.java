@@ -0,0 +1,258 @@
+package com.dan.job_service.dedup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.dan.events.dtos.JobEvent;
+import com.dan.job_service.concurrent.ReloadBuffer;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.repositories.JobRepository;
+
+// Phát hiện tin tuyển dụng gần trùng bằng MinHash + LSH trên title, description và tags của các job active.
+// Chữ ký chia thành BANDS dải, mỗi dải ROWS_PER_BAND giá trị; hai job rơi chung ít nhất một bucket
+// mới được so sánh chữ ký, nên mỗi lần kiểm tra chỉ chạm vào vài ứng viên thay vì toàn bộ job.
+@Component
+public class DuplicateJobDetector {
+    private static final Logger log = LoggerFactory.getLogger(DuplicateJobDetector.class);
+    private static final int BANDS = 20;
+    private static final int ROWS_PER_BAND = 6;
+    private static final long SEED = 0x5eedL;
+    // Jaccard ước lượng từ chữ ký, từ ngưỡng này trở lên coi là trùng
+    public static final double DUPLICATE_THRESHOLD = 0.8;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private final MinHasher minHasher = new MinHasher(BANDS * ROWS_PER_BAND, SEED);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, IndexedJob> jobs = new HashMap<>();
+    private final Map<Long, Set<String>> buckets = new HashMap<>();
+    private volatile boolean ready = false;
+    private final ReloadBuffer reloadBuffer = new ReloadBuffer();
+
+    private record IndexedJob(String id, String userId, int[] signature) {
+    }
+
+    public record Match(String jobId, String userId, double similarity) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reloadBuffer.start();
+        try {
+            List<Job> activeJobs = jobRepository.findByActiveTrue().stream()
+                    .filter(job -> job.getDeletedAt() == null)
+                    .toList();
+            lock.writeLock().lock();
+            try {
+                jobs.clear();
+                buckets.clear();
+                activeJobs.forEach(this::add);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.info("Đã dựng chỉ mục phát hiện tin trùng cho {} công việc", activeJobs.size());
+        } catch (Exception e) {
+            log.error("Lỗi khi dựng chỉ mục phát hiện tin trùng: {}", e.getMessage(), e);
+        } finally {
+            reloadBuffer.finish();
+        }
+    }
+
+    @EventListener
+    public void onJobEvent(JobEvent event) {
+        Job job = event.getData();
+        if (job == null || job.getId() == null || reloadBuffer.deferIfLoading(() -> apply(job))) {
+            return;
+        }
+        apply(job);
+    }
+
+    private void apply(Job job) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(job.getId());
+            if (Boolean.TRUE.equals(job.getActive()) && job.getDeletedAt() == null) {
+                add(job);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Các job active gần trùng với job đã cho (bỏ qua chính nó), giống nhất trước
+    public List<Match> findDuplicates(Job job) {
+        int[] signature = minHasher.signature(text(job));
+        if (signature == null) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Match> matches = new ArrayList<>();
+            for (String candidateId : candidates(signature)) {
+                if (candidateId.equals(job.getId())) {
+                    continue;
+                }
+                IndexedJob candidate = jobs.get(candidateId);
+                double similarity = MinHasher.similarity(signature, candidate.signature());
+                if (similarity >= DUPLICATE_THRESHOLD) {
+                    matches.add(new Match(candidate.id(), candidate.userId(), similarity));
+                }
+            }
+            matches.sort(Comparator.comparingDouble(Match::similarity).reversed());
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Gom các cặp trùng thành cụm (union-find), cụm lớn nhất trước; chỉ trả về cụm có từ 2 job
+    public List<List<String>> clusters() {
+        lock.readLock().lock();
+        try {
+            Map<String, String> parent = new HashMap<>();
+            Set<String> compared = new HashSet<>();
+            for (Set<String> bucket : buckets.values()) {
+                if (bucket.size() < 2) {
+                    continue;
+                }
+                List<String> members = new ArrayList<>(bucket);
+                for (int i = 0; i < members.size(); i++) {
+                    for (int j = i + 1; j < members.size(); j++) {
+                        String a = members.get(i);
+                        String b = members.get(j);
+                        String pair = a.compareTo(b) < 0 ? a + '|' + b : b + '|' + a;
+                        if (!compared.add(pair)) {
+                            continue;
+                        }
+                        if (MinHasher.similarity(jobs.get(a).signature(), jobs.get(b).signature())
+                                >= DUPLICATE_THRESHOLD) {
+                            union(parent, a, b);
+                        }
+                    }
+                }
+            }
+
+            Map<String, List<String>> groups = new HashMap<>();
+            for (String id : parent.keySet()) {
+                groups.computeIfAbsent(find(parent, id), root -> new ArrayList<>()).add(id);
+            }
+            List<List<String>> clusters = new ArrayList<>();
+            for (List<String> group : groups.values()) {
+                if (group.size() > 1) {
+                    group.sort(Comparator.naturalOrder());
+                    clusters.add(group);
+                }
+            }
+            clusters.sort(Comparator.<List<String>>comparingInt(List::size).reversed()
+                    .thenComparing(cluster -> cluster.get(0)));
+            return clusters;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<String> candidates(int[] signature) {
+        Set<String> candidates = new LinkedHashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            Set<String> bucket = buckets.get(bucketKey(signature, band));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        return candidates;
+    }
+
+    private void add(Job job) {
+        int[] signature = minHasher.signature(text(job));
+        if (signature == null) {
+            return;
+        }
+        jobs.put(job.getId(), new IndexedJob(job.getId(), job.getUserId(), signature));
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bucketKey(signature, band), key -> new HashSet<>()).add(job.getId());
+        }
+    }
+
+    private void removeInternal(String jobId) {
+        IndexedJob existing = jobs.remove(jobId);
+        if (existing == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            long key = bucketKey(existing.signature(), band);
+            Set<String> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(jobId);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    // Chỉ số dải ở 32 bit cao để bucket của các dải khác nhau không lẫn vào nhau
+    private static long bucketKey(int[] signature, int band) {
+        int from = band * ROWS_PER_BAND;
+        int rowsHash = Arrays.hashCode(Arrays.copyOfRange(signature, from, from + ROWS_PER_BAND));
+        return ((long) band << 32) | (rowsHash & 0xffffffffL);
+    }
+
+    private static String text(Job job) {
+        StringBuilder text = new StringBuilder();
+        if (job.getTitle() != null) {
+            text.append(job.getTitle()).append(' ');
+        }
+        if (job.getDescription() != null) {
+            text.append(job.getDescription()).append(' ');
+        }
+        if (job.getTags() != null) {
+            job.getTags().forEach(tag -> text.append(tag).append(' '));
+        }
+        return text.toString();
+    }
+
+    private static String find(Map<String, String> parent, String id) {
+        String root = id;
+        while (!parent.get(root).equals(root)) {
+            root = parent.get(root);
+        }
+        while (!parent.get(id).equals(root)) {
+            String next = parent.get(id);
+            parent.put(id, root);
+            id = next;
+        }
+        return root;
+    }
+
+    private static void union(Map<String, String> parent, String a, String b) {
+        parent.putIfAbsent(a, a);
+        parent.putIfAbsent(b, b);
+        String rootA = find(parent, a);
+        String rootB = find(parent, b);
+        if (!rootA.equals(rootB)) {
+            parent.put(rootB, rootA);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.dan.job_service.dedup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import com.dan.job_service.search.TextNormalizer;
+
+// Chữ ký MinHash trên tập shingle (cụm từ liên tiếp) của văn bản đã chuẩn hóa.
+// Tỷ lệ vị trí trùng nhau giữa hai chữ ký xấp xỉ hệ số Jaccard của hai tập shingle.
+public class MinHasher {
+    private static final int SHINGLE_SIZE = 3;
+
+    private final int numHashes;
+    private final long[] seeds;
+
+    public MinHasher(int numHashes, long seed) {
+        this.numHashes = numHashes;
+        this.seeds = new long[numHashes];
+        Random random = new Random(seed);
+        for (int i = 0; i < numHashes; i++) {
+            seeds[i] = random.nextLong();
+        }
+    }
+
+    public int numHashes() {
+        return numHashes;
+    }
+
+    // Trả về null khi văn bản không có từ nào
+    public int[] signature(String text) {
+        Set<Long> shingles = shingles(TextNormalizer.tokenize(text));
+        if (shingles.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[numHashes];
+        long[] minimums = new long[numHashes];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < numHashes; i++) {
+                long hash = mix(shingle ^ seeds[i]);
+                if (Long.compareUnsigned(hash, minimums[i]) < 0) {
+                    minimums[i] = hash;
+                }
+            }
+        }
+        for (int i = 0; i < numHashes; i++) {
+            signature[i] = (int) (minimums[i] >>> 32);
+        }
+        return signature;
+    }
+
+    public static double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / a.length;
+    }
+
+    // Văn bản ngắn hơn độ dài shingle thì dùng từng từ làm shingle
+    private static Set<Long> shingles(List<String> tokens) {
+        Set<Long> shingles = new HashSet<>();
+        if (tokens.size() < SHINGLE_SIZE) {
+            tokens.forEach(token -> shingles.add(fnv1a(token)));
+            return shingles;
+        }
+        for (int i = 0; i + SHINGLE_SIZE <= tokens.size(); i++) {
+            shingles.add(fnv1a(String.join(" ", tokens.subList(i, i + SHINGLE_SIZE))));
+        }
+        return shingles;
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,52 @@
+package com.dan.job_service.dtos.enums;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.dan.job_service.models.Job;
+
+public enum JobSortField {
+    CREATED_AT("createdAt"),
+    SALARY_MAX("salaryMax"),
+    APPLICATION_DEADLINE("applicationDeadline");
+
+    private final String field;
+
+    JobSortField(String field) {
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public static JobSortField fromField(String field) {
+        for (JobSortField sortField : values()) {
+            if (sortField.field.equals(field)) {
+                return sortField;
+            }
+        }
+        return null;
+    }
+
+    // Giá trị khóa sắp xếp của job, dạng chuỗi để đưa vào cursor; null nếu job không có giá trị
+    public String format(Job job) {
+        return switch (this) {
+            case CREATED_AT -> job.getCreatedAt() != null ? job.getCreatedAt().toString() : null;
+            case SALARY_MAX -> String.valueOf(job.getSalaryMax());
+            case APPLICATION_DEADLINE -> job.getApplicationDeadline() != null ? job.getApplicationDeadline().toString() : null;
+        };
+    }
+
+    // null khi cursor trỏ vào job không có giá trị khóa (xem KeysetCursor)
+    public Object parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (this) {
+            case CREATED_AT -> LocalDateTime.parse(value);
+            case SALARY_MAX -> Long.parseLong(value);
+            case APPLICATION_DEADLINE -> LocalDate.parse(value);
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.dan.job_service.dtos.projections;
+
+import org.springframework.data.annotation.Id;
+
+import com.dan.job_service.models.JobApplication;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+// Một ứng viên của job sau $group theo userId: đơn ứng tuyển mới nhất và số đơn đã được duyệt
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class DistinctApplicant {
+    @Id
+    String userId;
+    JobApplication application;
+    long approvedCount;
+}
@@ -0,0 +1,6 @@
+package com.dan.job_service.dtos.projections;
+
+// Projection interface đóng: Spring Data chỉ đọc _id của job
+public interface JobIdOnly {
+    String getId();
+}
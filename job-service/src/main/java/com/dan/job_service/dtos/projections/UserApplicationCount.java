@@ -0,0 +1,21 @@
+package com.dan.job_service.dtos.projections;
+
+import org.springframework.data.annotation.Id;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+// Kết quả $group theo userId: số đơn ứng tuyển đã được duyệt của từng ứng viên
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class UserApplicationCount {
+    @Id
+    String userId;
+    long count;
+}
@@ -0,0 +1,21 @@
+package com.dan.job_service.dtos.projections;
+
+import org.springframework.data.annotation.Id;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+// Kết quả $group theo userId: số job đang active của từng người đăng
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class UserJobCount {
+    @Id
+    String userId;
+    int count;
+}
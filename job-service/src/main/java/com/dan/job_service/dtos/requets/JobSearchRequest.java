@@ -0,0 +1,35 @@
+package com.dan.job_service.dtos.requets;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.dan.job_service.dtos.enums.WorkingForm;
+import com.dan.job_service.dtos.enums.WorkingType;
+
+// Bộ lọc tìm kiếm công việc, mọi trường đều tùy chọn
+public record JobSearchRequest(
+    String categoryId,
+    String title,
+    String userId,
+    Long salaryMin,
+    Long salaryMax,
+    WorkingType workingType,
+    WorkingForm workingForm,
+    String experienceLevel,
+    List<String> tags,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate deadlineFrom,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate deadlineTo
+) {
+    public boolean hasTitle() {
+        return title != null && !title.isBlank();
+    }
+
+    public JobSearchRequest withTitle(String newTitle) {
+        return new JobSearchRequest(categoryId, newTitle, userId, salaryMin, salaryMax, workingType, workingForm,
+                experienceLevel, tags, deadlineFrom, deadlineTo);
+    }
+}
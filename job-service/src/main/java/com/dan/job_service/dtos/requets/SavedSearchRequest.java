@@ -0,0 +1,24 @@
+package com.dan.job_service.dtos.requets;
+
+import java.util.List;
+
+import com.dan.job_service.dtos.enums.WorkingForm;
+import com.dan.job_service.dtos.enums.WorkingType;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+public record SavedSearchRequest(
+    @NotBlank(message = "Tên tìm kiếm không được để trống")
+    String name,
+    String keywords,
+    String categoryId,
+    @Min(value = 0, message = "Lương tối thiểu phải lớn hơn hoặc bằng 0")
+    Long salaryMin,
+    @Min(value = 0, message = "Lương tối đa phải lớn hơn hoặc bằng 0")
+    Long salaryMax,
+    WorkingType workingType,
+    WorkingForm workingForm,
+    List<String> tags
+) {
+}
@@ -0,0 +1,24 @@
+package com.dan.job_service.dtos.responses;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+// Trang kiểu Slice: không có tổng số phần tử, chỉ biết còn trang sau hay không
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class CursorPage<T> {
+    List<T> content;
+    int size;
+    boolean hasNext;
+    String nextCursor;
+}
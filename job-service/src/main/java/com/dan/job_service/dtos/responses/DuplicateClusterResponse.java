@@ -0,0 +1,33 @@
+package com.dan.job_service.dtos.responses;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+// Một nhóm tin tuyển dụng gần trùng nhau (Jaccard ước lượng từ MinHash >= ngưỡng)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class DuplicateClusterResponse {
+    int size;
+    List<Item> jobs;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Item {
+        String jobId;
+        String title;
+        String userId;
+        String duplicateOf;
+        LocalDateTime createdAt;
+    }
+}
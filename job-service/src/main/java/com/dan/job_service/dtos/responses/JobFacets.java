@@ -0,0 +1,29 @@
+package com.dan.job_service.dtos.responses;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+// Số lượng job theo từng giá trị bộ lọc, trên tập kết quả của truy vấn hiện tại.
+// Mỗi map sắp xếp giảm dần theo số lượng, các giá trị có số lượng 0 bị bỏ qua.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class JobFacets {
+    long total;
+    Map<String, Long> categories;
+    Map<String, Long> workingTypes;
+    Map<String, Long> workingForms;
+    Map<String, Long> experienceLevels;
+    // Khóa dạng "min-max" hoặc "min+" theo salaryMax, dùng lại được cho salaryMin/salaryMax
+    Map<String, Long> salaryRanges;
+    Map<String, Long> tags;
+}
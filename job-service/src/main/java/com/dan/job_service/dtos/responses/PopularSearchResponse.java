@@ -0,0 +1,17 @@
+package com.dan.job_service.dtos.responses;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+// count là ước lượng trên (Space-Saving), số lần thực tế nằm trong [count - error, count]
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PopularSearchResponse {
+    String query;
+    long count;
+    long error;
+}
@@ -0,0 +1,18 @@
+package com.dan.job_service.dtos.responses;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PositionCtrResponse {
+    // Vị trí trong kết quả tìm kiếm, bắt đầu từ 1; vị trí cuối gộp mọi vị trí lớn hơn
+    int position;
+    long impressions;
+    long clicks;
+    double ctr;
+}
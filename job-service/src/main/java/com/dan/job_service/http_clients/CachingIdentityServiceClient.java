@@ -0,0 +1,135 @@
+package com.dan.job_service.http_clients;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import com.dan.job_service.cache.LruTtlCache;
+import com.dan.job_service.dtos.responses.UserDetailToCreateJob;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Bọc Feign client identity-service bằng cache username -> user và id -> user.
+// Là bean @Primary nên mọi chỗ @Autowired IdentityServiceClient đều đi qua cache mà không cần sửa.
+// Số liệu hit/miss xem tại /actuator/metrics/identity.cache.requests
+@Component
+@Primary
+public class CachingIdentityServiceClient implements IdentityServiceClient {
+    private static final Logger log = LoggerFactory.getLogger(CachingIdentityServiceClient.class);
+
+    private final IdentityServiceClient delegate;
+    private final LruTtlCache<String, UserDetailToCreateJob> byUsername;
+    private final LruTtlCache<String, UserDetailToCreateJob> byId;
+
+    public CachingIdentityServiceClient(
+            @Qualifier("identityServiceFeignClient") IdentityServiceClient delegate,
+            MeterRegistry meterRegistry,
+            @Value("${identity-cache.max-size:10000}") int maxSize,
+            @Value("${identity-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.delegate = delegate;
+        this.byUsername = new LruTtlCache<>(maxSize, ttlSeconds * 1000);
+        this.byId = new LruTtlCache<>(maxSize, ttlSeconds * 1000);
+        registerMetrics(meterRegistry, "username", byUsername);
+        registerMetrics(meterRegistry, "id", byId);
+    }
+
+    @Override
+    public UserDetailToCreateJob getUserByUsername(String username) {
+        // Thế hệ đọc trước lời gọi: người dùng bị invalidate trong lúc đang tải thì không ghi chéo sang cache kia
+        long idGeneration = byId.generation();
+        UserDetailToCreateJob user = byUsername.get(username, delegate::getUserByUsername);
+        if (user != null && user.getId() != null) {
+            byId.put(user.getId(), user, idGeneration);
+        }
+        return user;
+    }
+
+    @Override
+    public UserDetailToCreateJob getUserById(String userId) {
+        long usernameGeneration = byUsername.generation();
+        UserDetailToCreateJob user = byId.get(userId, delegate::getUserById);
+        if (user != null && user.getUsername() != null) {
+            byUsername.put(user.getUsername(), user, usernameGeneration);
+        }
+        return user;
+    }
+
+    // Chỉ gọi identity-service cho các id chưa có trong cache
+    @Override
+    public List<UserDetailToCreateJob> getUsersByIds(List<String> userIds) {
+        List<UserDetailToCreateJob> users = new ArrayList<>(userIds.size());
+        List<String> missing = new ArrayList<>();
+        for (String userId : userIds) {
+            UserDetailToCreateJob cached = byId.getIfPresent(userId);
+            if (cached != null) {
+                users.add(cached);
+            } else {
+                missing.add(userId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long idGeneration = byId.generation();
+            long usernameGeneration = byUsername.generation();
+            List<UserDetailToCreateJob> loaded = delegate.getUsersByIds(missing);
+            if (loaded != null) {
+                for (UserDetailToCreateJob user : loaded) {
+                    if (user == null || user.getId() == null) {
+                        continue;
+                    }
+                    byId.put(user.getId(), user, idGeneration);
+                    if (user.getUsername() != null) {
+                        byUsername.put(user.getUsername(), user, usernameGeneration);
+                    }
+                    users.add(user);
+                }
+            }
+        }
+        return users;
+    }
+
+    public UserDetailToCreateJob getCachedUserById(String userId) {
+        return byId.getIfPresent(userId);
+    }
+
+    // Xóa mọi entry của người dùng; username cũ (trước khi đổi) cũng bị xóa nhờ so theo id
+    public void invalidate(String userId, String username) {
+        if (userId != null) {
+            byId.invalidate(userId);
+            byUsername.invalidateIf(user -> Objects.equals(user.getId(), userId));
+        }
+        if (username != null) {
+            byUsername.invalidate(username);
+            byId.invalidateIf(user -> Objects.equals(user.getUsername(), username));
+        }
+        log.info("Đã xóa cache identity cho userId={}, username={}", userId, username);
+    }
+
+    private static void registerMetrics(MeterRegistry registry, String cacheName,
+            LruTtlCache<String, UserDetailToCreateJob> cache) {
+        FunctionCounter.builder("identity.cache.requests", cache, LruTtlCache::hitCount)
+                .tag("cache", cacheName).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("identity.cache.requests", cache, LruTtlCache::missCount)
+                .tag("cache", cacheName).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("identity.cache.coalesced", cache, LruTtlCache::coalescedCount)
+                .tag("cache", cacheName)
+                .description("Miss chờ chung một lần gọi identity-service đang chạy")
+                .register(registry);
+        FunctionCounter.builder("identity.cache.evictions", cache, LruTtlCache::evictionCount)
+                .tag("cache", cacheName)
+                .register(registry);
+        Gauge.builder("identity.cache.size", cache, LruTtlCache::size)
+                .tag("cache", cacheName)
+                .register(registry);
+    }
+}
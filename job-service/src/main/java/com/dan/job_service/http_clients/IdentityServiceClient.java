@@ -1,13 +1,20 @@
 package com.dan.job_service.http_clients;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import java.util.List;
+
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import com.dan.job_service.configs.AuthenticationRequestInterceptor;
 import com.dan.job_service.dtos.responses.UserDetailToCreateJob;
 
+// Không phải bean chính: chỗ inject IdentityServiceClient nhận CachingIdentityServiceClient
 @FeignClient(name = "identity-service",
+       qualifiers = "identityServiceFeignClient",
+       primary = false,
        configuration = {AuthenticationRequestInterceptor.class}
 )
 public interface IdentityServiceClient {
@@ -16,4 +23,8 @@ public interface IdentityServiceClient {
 
     @GetMapping("/auth/get/{userId}")
     UserDetailToCreateJob getUserById(@PathVariable("userId") String userId);
+
+    // Id không tồn tại thì không có trong kết quả; thứ tự không đảm bảo
+    @PostMapping("/auth/get-users-by-ids")
+    List<UserDetailToCreateJob> getUsersByIds(@RequestBody List<String> userIds);
 }
@@ -0,0 +1,237 @@
+package com.dan.job_service.http_clients;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.dan.job_service.concurrent.FanOutScope;
+import com.dan.job_service.dtos.responses.UserDetailToCreateJob;
+
+import feign.FeignException;
+import jakarta.annotation.PreDestroy;
+
+// Gom các yêu cầu lấy người dùng theo id (kiểu DataLoader) thành một lần gọi hàng loạt tới identity-service:
+// - loadAll: lô riêng của người gọi, gửi ngay trên luồng hiện tại với ngữ cảnh request của chính người gọi
+// - load: userId đăng ký trong cùng một cửa sổ vài mili giây được gộp, nhưng chỉ giữa các request mang cùng
+//   header Authorization, để không request nào gửi id của request khác bằng thông tin xác thực của mình
+// Khi endpoint hàng loạt không dùng được thì quay về gọi từng id song song, giới hạn số lời gọi đồng thời.
+@Component
+public class UserBatchResolver {
+    private static final Logger log = LoggerFactory.getLogger(UserBatchResolver.class);
+    // Endpoint hàng loạt lỗi 404/405 (identity-service chưa hỗ trợ) thì tạm ngừng thử lại trong khoảng này
+    private static final long BULK_RETRY_AFTER_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final Duration FALLBACK_TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private CachingIdentityServiceClient identityServiceClient;
+
+    @Value("${user-resolver.batch-window-ms:5}")
+    private long batchWindowMillis;
+    @Value("${user-resolver.max-batch-size:100}")
+    private int maxBatchSize;
+    @Value("${user-resolver.fallback-parallelism:8}")
+    private int fallbackParallelism;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-batch-resolver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Object lock = new Object();
+    // Lô đang mở theo giá trị header Authorization ("" khi không có request hoặc không có header)
+    private final Map<String, PendingBatch> pendingByCredential = new HashMap<>();
+    private volatile long bulkUnavailableUntil = 0;
+
+    // Ngữ cảnh request của người đăng ký đầu tiên; mọi id trong lô đến từ request cùng header Authorization
+    private static final class PendingBatch {
+        final String credential;
+        final RequestAttributes requestAttributes;
+        final Map<String, CompletableFuture<UserDetailToCreateJob>> futures = new HashMap<>();
+
+        PendingBatch(String credential, RequestAttributes requestAttributes) {
+            this.credential = credential;
+            this.requestAttributes = requestAttributes;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // Future hoàn thành khi lô chứa userId được gửi đi; kết quả null nếu không tìm thấy
+    public CompletableFuture<UserDetailToCreateJob> load(String userId) {
+        UserDetailToCreateJob cached = identityServiceClient.getCachedUserById(userId);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        String credential = credentialOf(requestAttributes);
+        PendingBatch full = null;
+        CompletableFuture<UserDetailToCreateJob> future;
+        synchronized (lock) {
+            PendingBatch batch = pendingByCredential.get(credential);
+            if (batch == null) {
+                PendingBatch opened = new PendingBatch(credential, requestAttributes);
+                pendingByCredential.put(credential, opened);
+                // Lời gọi HTTP chạy trên virtual thread, không giữ luồng hẹn giờ
+                scheduler.schedule(() -> Thread.startVirtualThread(() -> dispatchPending(opened)),
+                        batchWindowMillis, TimeUnit.MILLISECONDS);
+                batch = opened;
+            }
+            future = batch.futures.get(userId);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                batch.futures.put(userId, future);
+                if (batch.futures.size() >= maxBatchSize) {
+                    pendingByCredential.remove(credential, batch);
+                    full = batch;
+                }
+            }
+        }
+        if (full != null) {
+            // Luồng hiện tại mang cùng header Authorization với cả lô
+            dispatch(full.futures);
+        }
+        return future;
+    }
+
+    // Lô riêng của người gọi, không trộn với lô đang mở của request khác; gửi ngay trên luồng hiện tại.
+    // Id lỗi hoặc không tìm thấy không có trong kết quả
+    public Map<String, UserDetailToCreateJob> loadAll(Collection<String> userIds) {
+        Map<String, UserDetailToCreateJob> users = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String userId : new LinkedHashSet<>(userIds)) {
+            if (userId == null) {
+                continue;
+            }
+            UserDetailToCreateJob cached = identityServiceClient.getCachedUserById(userId);
+            if (cached != null) {
+                users.put(userId, cached);
+            } else {
+                missing.add(userId);
+            }
+        }
+        for (int from = 0; from < missing.size(); from += maxBatchSize) {
+            List<String> chunk = missing.subList(from, Math.min(from + maxBatchSize, missing.size()));
+            try {
+                users.putAll(resolve(chunk));
+            } catch (RuntimeException e) {
+                log.error("Lỗi khi lấy thông tin {} người dùng: {}", chunk.size(), e.getMessage(), e);
+            }
+        }
+        return users;
+    }
+
+    private void dispatchPending(PendingBatch batch) {
+        synchronized (lock) {
+            // Lô đã đầy và được gửi trước khi hết cửa sổ
+            if (!pendingByCredential.remove(batch.credential, batch)) {
+                return;
+            }
+        }
+        runWithRequestAttributes(batch.requestAttributes, () -> dispatch(batch.futures));
+    }
+
+    private void dispatch(Map<String, CompletableFuture<UserDetailToCreateJob>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<String, UserDetailToCreateJob> users;
+        try {
+            users = resolve(new ArrayList<>(batch.keySet()));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+        batch.forEach((userId, future) -> future.complete(users.get(userId)));
+    }
+
+    private Map<String, UserDetailToCreateJob> resolve(List<String> userIds) {
+        if (userIds.size() > 1 && System.currentTimeMillis() >= bulkUnavailableUntil) {
+            try {
+                Map<String, UserDetailToCreateJob> users = new HashMap<>();
+                List<UserDetailToCreateJob> found = identityServiceClient.getUsersByIds(userIds);
+                if (found != null) {
+                    found.stream()
+                            .filter(user -> user != null && user.getId() != null)
+                            .forEach(user -> users.put(user.getId(), user));
+                }
+                return users;
+            } catch (FeignException.NotFound | FeignException.MethodNotAllowed e) {
+                bulkUnavailableUntil = System.currentTimeMillis() + BULK_RETRY_AFTER_MILLIS;
+                log.warn("identity-service chưa hỗ trợ lấy người dùng hàng loạt, chuyển sang gọi từng id");
+            } catch (Exception e) {
+                log.warn("Lỗi khi lấy {} người dùng hàng loạt, chuyển sang gọi từng id: {}",
+                        userIds.size(), e.getMessage());
+            }
+        }
+        return resolveEach(userIds);
+    }
+
+    // Chạy trên luồng đã gắn ngữ cảnh request nên FanOutScope chuyển tiếp được header Authorization cho từng lời gọi
+    private Map<String, UserDetailToCreateJob> resolveEach(List<String> userIds) {
+        Map<String, FanOutScope.Subtask<UserDetailToCreateJob>> subtasks = new HashMap<>();
+        try (FanOutScope scope = FanOutScope.open(FALLBACK_TIMEOUT, fallbackParallelism)) {
+            for (String userId : userIds) {
+                subtasks.put(userId, scope.fork(() -> {
+                    try {
+                        return identityServiceClient.getUserById(userId);
+                    } catch (Exception e) {
+                        log.error("Lỗi khi lấy thông tin người dùng cho userId {}: {}", userId, e.getMessage(), e);
+                        return null;
+                    }
+                }));
+            }
+            scope.join();
+        }
+
+        Map<String, UserDetailToCreateJob> users = new HashMap<>();
+        subtasks.forEach((userId, subtask) -> {
+            UserDetailToCreateJob user = subtask.get();
+            if (user != null) {
+                users.put(userId, user);
+            }
+        });
+        return users;
+    }
+
+    private static String credentialOf(RequestAttributes requestAttributes) {
+        if (requestAttributes instanceof ServletRequestAttributes servletRequestAttributes) {
+            String authorization = servletRequestAttributes.getRequest().getHeader("Authorization");
+            return authorization != null ? authorization : "";
+        }
+        return "";
+    }
+
+    private static void runWithRequestAttributes(RequestAttributes requestAttributes, Runnable action) {
+        if (requestAttributes == null) {
+            action.run();
+            return;
+        }
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        try {
+            action.run();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.dan.job_service.instrumentation;
+
+import org.springframework.stereotype.Component;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+// RequestInterceptor dạng bean nên áp cho mọi Feign client. Lời gọi được cache trả về không đi tới đây
+// nên chỉ các lời gọi mạng thật sự được tính.
+@Component
+public class FeignCallCounter implements RequestInterceptor {
+    @Override
+    public void apply(RequestTemplate requestTemplate) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats == null) {
+            return;
+        }
+        String key = requestTemplate.methodMetadata() != null
+                ? requestTemplate.methodMetadata().configKey()
+                : requestTemplate.method() + " " + requestTemplate.path();
+        stats.recordFeignCall(key);
+    }
+}
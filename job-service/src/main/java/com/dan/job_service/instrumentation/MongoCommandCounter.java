@@ -0,0 +1,39 @@
+package com.dan.job_service.instrumentation;
+
+import java.util.Set;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+
+// Đếm lệnh Mongo vào thống kê của request hiện tại. Driver đồng bộ gọi listener trên chính luồng chạy lệnh
+// nên ngữ cảnh request còn nguyên ở đây.
+public class MongoCommandCounter implements CommandListener {
+    // Lệnh quản trị của driver, không phải truy vấn của ứng dụng
+    private static final Set<String> IGNORED_COMMANDS = Set.of(
+            "hello", "ismaster", "isMaster", "ping", "saslStart", "saslContinue", "endSessions", "buildInfo");
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String commandName = event.getCommandName();
+        if (IGNORED_COMMANDS.contains(commandName)) {
+            return;
+        }
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.recordMongoCommand(commandName + " " + collectionOf(commandName, event.getCommand()));
+        }
+    }
+
+    // find/aggregate/insert... mang tên collection ở giá trị của lệnh, getMore mang ở trường "collection"
+    private static String collectionOf(String commandName, BsonDocument command) {
+        BsonValue target = command.get(commandName);
+        if (target != null && target.isString()) {
+            return target.asString().getValue();
+        }
+        BsonValue collection = command.get("collection");
+        return collection != null && collection.isString() ? collection.asString().getValue() : "-";
+    }
+}
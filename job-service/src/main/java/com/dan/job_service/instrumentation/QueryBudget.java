@@ -0,0 +1,15 @@
+package com.dan.job_service.instrumentation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Ngân sách truy vấn riêng cho một endpoint; endpoint không khai báo dùng giá trị mặc định query-budget.*
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    int mongo() default -1;
+
+    int feign() default -1;
+}
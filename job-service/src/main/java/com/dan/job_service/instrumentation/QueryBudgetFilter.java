@@ -0,0 +1,101 @@
+package com.dan.job_service.instrumentation;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+// Mở thống kê truy vấn cho mỗi HTTP request, khi request xong thì ghi metric theo controller method,
+// so với ngân sách và cảnh báo các lệnh lặp lại kiểu N+1.
+// Đứng trước filter bảo mật để truy vấn trong JwtFilter cũng được tính.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class QueryBudgetFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetRecorder recorder;
+
+    @Value("${query-budget.default-mongo:20}")
+    private int defaultMongoBudget;
+    @Value("${query-budget.default-feign:10}")
+    private int defaultFeignBudget;
+    // Cùng một lệnh trên cùng collection (hoặc cùng method Feign) lặp từ ngần này lần trở lên thì nghi N+1
+    @Value("${query-budget.repeat-threshold:10}")
+    private int repeatThreshold;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = new RequestQueryStats(request.getMethod(), request.getRequestURI());
+        request.setAttribute(RequestQueryStats.ATTRIBUTE, stats);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            complete(request, stats);
+        }
+    }
+
+    private void complete(HttpServletRequest request, RequestQueryStats stats) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        String handlerName = handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        stats.setHandler(handlerName);
+
+        DistributionSummary.builder("http.server.requests.mongo.commands")
+                .description("Số lệnh Mongo mỗi request")
+                .tag("handler", handlerName)
+                .register(meterRegistry)
+                .record(stats.getMongoCommands());
+        DistributionSummary.builder("http.server.requests.feign.calls")
+                .description("Số lời gọi Feign mỗi request")
+                .tag("handler", handlerName)
+                .register(meterRegistry)
+                .record(stats.getFeignCalls());
+
+        QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+        int mongoBudget = budget != null && budget.mongo() >= 0 ? budget.mongo() : defaultMongoBudget;
+        int feignBudget = budget != null && budget.feign() >= 0 ? budget.feign() : defaultFeignBudget;
+        boolean violated = stats.getMongoCommands() > mongoBudget || stats.getFeignCalls() > feignBudget;
+        if (violated) {
+            Counter.builder("http.server.requests.query.budget.exceeded")
+                    .tag("handler", handlerName)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Request vượt ngân sách truy vấn (mongo {}, feign {}): {}", mongoBudget, feignBudget, stats);
+        }
+
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        if (repeated != null && repeated.getValue() >= repeatThreshold) {
+            log.warn("Nghi vấn N+1 ở {}: '{}' chạy {} lần trong một request", handlerName,
+                    repeated.getKey(), repeated.getValue());
+        }
+
+        recorder.record(stats, violated);
+    }
+}
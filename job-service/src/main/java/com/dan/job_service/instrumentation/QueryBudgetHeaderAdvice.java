@@ -0,0 +1,36 @@
+package com.dan.job_service.instrumentation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Ghi số truy vấn vào header ngay trước khi ghi body (sau đó response đã commit, filter không thêm header được nữa).
+// Chỉ bật khi query-budget.expose-headers=true (mặc định tắt), không lộ số truy vấn ra ngoài ở môi trường thật.
+@ControllerAdvice
+@ConditionalOnProperty(name = "query-budget.expose-headers", havingValue = "true")
+public class QueryBudgetHeaderAdvice implements ResponseBodyAdvice<Object> {
+    public static final String MONGO_COMMANDS_HEADER = "X-Mongo-Commands";
+    public static final String FEIGN_CALLS_HEADER = "X-Feign-Calls";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            response.getHeaders().set(MONGO_COMMANDS_HEADER, String.valueOf(stats.getMongoCommands()));
+            response.getHeaders().set(FEIGN_CALLS_HEADER, String.valueOf(stats.getFeignCalls()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,75 @@
+package com.dan.job_service.instrumentation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Giữ thống kê của các request gần nhất cho kiểm thử tích hợp:
+//
+//   mockMvc.perform(get("/job/jobs/public/..."));
+//   queryBudgetRecorder.last().assertWithin(3, 1);
+//   queryBudgetRecorder.assertNoViolations();
+@Component
+public class QueryBudgetRecorder {
+    @Value("${query-budget.recorder-size:200}")
+    private int capacity;
+
+    private final Deque<RequestQueryStats> recent = new ArrayDeque<>();
+    private final Deque<RequestQueryStats> violations = new ArrayDeque<>();
+
+    synchronized void record(RequestQueryStats stats, boolean violated) {
+        append(recent, stats);
+        if (violated) {
+            append(violations, stats);
+        }
+    }
+
+    // Request hoàn tất gần nhất
+    public synchronized RequestQueryStats last() {
+        if (recent.isEmpty()) {
+            throw new AssertionError("Chưa ghi nhận request nào");
+        }
+        return recent.peekLast();
+    }
+
+    // Request gần nhất được xử lý bởi handler dạng "JobController#getAll"
+    public synchronized RequestQueryStats lastFor(String handler) {
+        var iterator = recent.descendingIterator();
+        while (iterator.hasNext()) {
+            RequestQueryStats stats = iterator.next();
+            if (handler.equals(stats.getHandler())) {
+                return stats;
+            }
+        }
+        throw new AssertionError("Chưa ghi nhận request nào cho " + handler);
+    }
+
+    public synchronized List<RequestQueryStats> violations() {
+        return new ArrayList<>(violations);
+    }
+
+    // Ném AssertionError nếu có request vượt ngân sách @QueryBudget hoặc mặc định
+    public synchronized void assertNoViolations() {
+        if (!violations.isEmpty()) {
+            StringBuilder message = new StringBuilder("Có request vượt ngân sách truy vấn:");
+            violations.forEach(stats -> message.append(System.lineSeparator()).append("  ").append(stats));
+            throw new AssertionError(message.toString());
+        }
+    }
+
+    public synchronized void clear() {
+        recent.clear();
+        violations.clear();
+    }
+
+    private void append(Deque<RequestQueryStats> deque, RequestQueryStats stats) {
+        deque.addLast(stats);
+        while (deque.size() > capacity) {
+            deque.removeFirst();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.dan.job_service.instrumentation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+// Số lệnh Mongo và lời gọi Feign của một HTTP request, đếm theo từng khóa (lệnh + collection, method Feign).
+// Gắn vào request attribute nên các luồng con mang ngữ cảnh request (FanOutScope, UserBatchResolver) cũng được tính.
+public class RequestQueryStats {
+    static final String ATTRIBUTE = RequestQueryStats.class.getName();
+
+    private final String method;
+    private final String path;
+    private volatile String handler;
+    private final AtomicInteger mongoCommands = new AtomicInteger();
+    private final AtomicInteger feignCalls = new AtomicInteger();
+    private final Map<String, AtomicInteger> mongoByKey = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> feignByKey = new ConcurrentHashMap<>();
+
+    RequestQueryStats(String method, String path) {
+        this.method = method;
+        this.path = path;
+    }
+
+    // Thống kê của request đang chạy trên luồng hiện tại, null nếu không nằm trong HTTP request (Kafka listener, job nền...)
+    public static RequestQueryStats current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        try {
+            return (RequestQueryStats) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        } catch (IllegalStateException e) {
+            // Request đã kết thúc nhưng luồng con vẫn giữ ngữ cảnh cũ
+            return null;
+        }
+    }
+
+    void recordMongoCommand(String key) {
+        mongoCommands.incrementAndGet();
+        mongoByKey.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    void recordFeignCall(String key) {
+        feignCalls.incrementAndGet();
+        feignByKey.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    void setHandler(String handler) {
+        this.handler = handler;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    // Controller#method xử lý request, null nếu request không tới controller nào
+    public String getHandler() {
+        return handler;
+    }
+
+    public int getMongoCommands() {
+        return mongoCommands.get();
+    }
+
+    public int getFeignCalls() {
+        return feignCalls.get();
+    }
+
+    public Map<String, Integer> getMongoCommandsByKey() {
+        return snapshot(mongoByKey);
+    }
+
+    public Map<String, Integer> getFeignCallsByKey() {
+        return snapshot(feignByKey);
+    }
+
+    // Khóa lặp lại nhiều nhất: cùng một lệnh trên cùng collection chạy nhiều lần trong một request thường là N+1
+    public Map.Entry<String, Integer> mostRepeated() {
+        Map.Entry<String, Integer> top = null;
+        for (Map<String, Integer> counts : List.of(getMongoCommandsByKey(), getFeignCallsByKey())) {
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                if (top == null || entry.getValue() > top.getValue()) {
+                    top = entry;
+                }
+            }
+        }
+        return top;
+    }
+
+    // API kiểm thử: ném AssertionError kèm chi tiết từng khóa khi request vượt ngân sách
+    public RequestQueryStats assertWithin(int maxMongoCommands, int maxFeignCalls) {
+        if (getMongoCommands() > maxMongoCommands || getFeignCalls() > maxFeignCalls) {
+            throw new AssertionError(String.format(
+                    "%s %s (%s) vượt ngân sách truy vấn: mongo %d/%d %s, feign %d/%d %s",
+                    method, path, handler,
+                    getMongoCommands(), maxMongoCommands, getMongoCommandsByKey(),
+                    getFeignCalls(), maxFeignCalls, getFeignCallsByKey()));
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s (%s): mongo=%d %s, feign=%d %s", method, path, handler,
+                getMongoCommands(), getMongoCommandsByKey(), getFeignCalls(), getFeignCallsByKey());
+    }
+
+    private static Map<String, Integer> snapshot(Map<String, AtomicInteger> counts) {
+        Map<String, Integer> result = new TreeMap<>();
+        counts.forEach((key, count) -> result.put(key, count.get()));
+        return result;
+    }
+}
@@ -1,6 +1,7 @@
 package com.dan.job_service.models;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
@@ -20,6 +21,7 @@ import lombok.experimental.FieldDefaults;
 @CompoundIndexes({
         @CompoundIndex(name = "name_index", unique = true, def = "{'name': 1}"),
         @CompoundIndex(name = "parent_id_index", def = "{'parentId': 1}"),
+        @CompoundIndex(name = "ancestors_index", def = "{'ancestors': 1}"),
 })
 @Data
 @NoArgsConstructor
@@ -37,6 +39,8 @@ public class Category {
     String description;
     
     String parentId;
+    // Đường dẫn id từ gốc tới cha trực tiếp: cây con của X = {_id: X} hoặc {ancestors: X}
+    List<String> ancestors;
     @CreatedDate
     LocalDateTime createdAt;
 
@@ -27,6 +27,8 @@ import org.springframework.data.mongodb.core.index.CompoundIndexes;
 @CompoundIndexes({
         @CompoundIndex(name = "company_id_index", def = "{'companyId': 1}"),
         @CompoundIndex(name = "title_index", def = "{'title': 1}"),
+        @CompoundIndex(name = "active_category_created_index", def = "{'active': 1, 'categoryId': 1, 'createdAt': -1}"),
+        @CompoundIndex(name = "active_user_created_index", def = "{'active': 1, 'userId': 1, 'createdAt': -1}"),
 })
 @Data
 @NoArgsConstructor
@@ -79,5 +81,7 @@ public class Job {
     String mainImageCode;
     List<String> otherImageCodes;
     List<String> tags;
-    
+
+    // Id tin active gần trùng được phát hiện lúc tạo/cập nhật (của nhà tuyển dụng khác)
+    String duplicateOf;
 }
@@ -6,6 +6,8 @@ import jakarta.validation.constraints.Min;
 
 import org.springframework.cglib.core.Local;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -19,6 +21,10 @@ import lombok.NoArgsConstructor;
 import lombok.experimental.FieldDefaults;
 
 @Document(collection = "applications")
+@CompoundIndexes({
+        @CompoundIndex(name = "job_applied_index", def = "{'jobId': 1, 'appliedAt': -1}"),
+        @CompoundIndex(name = "status_user_index", def = "{'status': 1, 'userId': 1}"),
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,67 @@
+package com.dan.job_service.models;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.dan.job_service.dtos.enums.WorkingForm;
+import com.dan.job_service.dtos.enums.WorkingType;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+// Read model của JobDetail: job đã kèm sẵn tên danh mục, thông tin chủ job và số job active của chủ job.
+// Chỉ JobDetailProjector ghi vào collection này; id trùng với id của job.
+@Document(collection = "job_details")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class JobDetailView {
+    @Id
+    String id;
+
+    @Indexed
+    String userId;
+    // username và tên hiển thị của chủ job; userName null nếu chưa lấy được từ identity-service,
+    // name null khi chủ job chưa đặt tên hiển thị
+    String userName;
+    String name;
+    // Tra cứu chủ job thất bại (tài khoản không còn hoặc identity-service lỗi): số lần liên tiếp
+    // và thời điểm sớm nhất được chiếu lại khi đọc
+    int ownerLookupFailures;
+    LocalDateTime ownerRetryAt;
+    Integer sumJob;
+
+    @Indexed
+    String categoryId;
+    String categoryName;
+
+    String title;
+    String shortDescription;
+    String description;
+    long salaryMin;
+    long salaryMax;
+    String experienceLevel;
+    String benefits;
+    LocalDate applicationDeadline;
+    Boolean status;
+    Boolean active;
+    String contentUri;
+    WorkingType workingType;
+    WorkingForm workingForm;
+    String file;
+    List<String> otherFiles;
+    List<String> tags;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+}
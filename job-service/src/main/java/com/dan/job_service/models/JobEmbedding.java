@@ -1,11 +1,13 @@
 package com.dan.job_service.models;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import com.dan.job_service.similarity.PackedVector;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -24,6 +26,10 @@ public class JobEmbedding {
     @Indexed
     String jobId;
     
-    List<Float> embedding;
+    // Vector nhị phân (float32 little-endian hoặc int8), thay cho mảng embedding cũ
+    PackedVector vector;
+    // recommend-service ghi trường này với tên updated_at
+    @Field("updated_at")
+    @Indexed
     LocalDateTime updatedAt;
 }
@@ -0,0 +1,52 @@
+package com.dan.job_service.models;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.dan.job_service.dtos.enums.WorkingForm;
+import com.dan.job_service.dtos.enums.WorkingType;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+// Bộ lọc tìm kiếm được người dùng lưu lại để nhận thông báo khi có job mới phù hợp
+@Document(collection = "saved_searches")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SavedSearch {
+    @Id
+    String id;
+
+    @Indexed
+    String userId;
+
+    String name;
+    String keywords;
+    String categoryId;
+    Long salaryMin;
+    Long salaryMax;
+    WorkingType workingType;
+    WorkingForm workingForm;
+    List<String> tags;
+
+    boolean active;
+
+    @CreatedDate
+    LocalDateTime createdAt;
+
+    @LastModifiedDate
+    LocalDateTime updatedAt;
+}
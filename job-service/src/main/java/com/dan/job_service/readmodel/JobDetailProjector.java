@@ -0,0 +1,226 @@
+package com.dan.job_service.readmodel;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.dan.events.dtos.JobEvent;
+import com.dan.job_service.cache.CategoryTreeCache;
+import com.dan.job_service.dtos.projections.UserJobCount;
+import com.dan.job_service.dtos.responses.UserDetailToCreateJob;
+import com.dan.job_service.http_clients.UserBatchResolver;
+import com.dan.job_service.models.Category;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.models.JobDetailView;
+import com.dan.job_service.repositories.JobDetailViewRepository;
+import com.dan.job_service.repositories.JobRepository;
+
+// Giữ collection job_details đồng bộ với jobs: mỗi lần job được tạo/sửa/xóa thì chiếu lại job đó,
+// kèm tên danh mục, thông tin chủ job và số job active của chủ job. Đọc JobDetail chỉ còn một truy vấn.
+@Component
+public class JobDetailProjector {
+    private static final Logger log = LoggerFactory.getLogger(JobDetailProjector.class);
+    private static final int BACKFILL_PAGE_SIZE = 500;
+    // Chủ job tra cứu thất bại thì chờ 1 phút rồi mới chiếu lại khi đọc, nhân đôi sau mỗi lần thất bại, tối đa 1 giờ
+    private static final Duration OWNER_RETRY_MIN = Duration.ofMinutes(1);
+    private static final Duration OWNER_RETRY_MAX = Duration.ofHours(1);
+
+    @Autowired
+    private JobDetailViewRepository jobDetailViewRepository;
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private CategoryTreeCache categoryTreeCache;
+    @Autowired
+    private UserBatchResolver userBatchResolver;
+
+    // Lần đầu triển khai collection còn trống: chiếu toàn bộ job chưa bị xóa.
+    // Job nào còn thiếu sau đó sẽ được chiếu bổ sung khi đọc.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            if (jobDetailViewRepository.count() > 0) {
+                return;
+            }
+            int projected = 0;
+            Page<Job> page = jobRepository.findAll(PageRequest.of(0, BACKFILL_PAGE_SIZE));
+            while (true) {
+                List<Job> jobs = page.getContent().stream()
+                        .filter(job -> job.getDeletedAt() == null)
+                        .toList();
+                projected += project(jobs).size();
+                if (!page.hasNext()) {
+                    break;
+                }
+                page = jobRepository.findAll(page.nextPageable());
+            }
+            log.info("Đã dựng read model job_details cho {} công việc", projected);
+        } catch (Exception e) {
+            log.error("Lỗi khi dựng read model job_details: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener
+    public void onJobEvent(JobEvent event) {
+        Job job = event.getData();
+        if (job == null || job.getId() == null) {
+            return;
+        }
+        try {
+            if (job.getDeletedAt() != null) {
+                jobDetailViewRepository.deleteById(job.getId());
+                if (job.getUserId() != null) {
+                    jobDetailViewRepository.updateOwnerJobCount(job.getUserId(), countActiveJobs(job.getUserId()));
+                }
+                return;
+            }
+            JobDetailView view = project(List.of(job)).get(0);
+            if (view.getUserId() != null) {
+                // Số job active và tên chủ job thay đổi trên mọi tin của chủ job, không chỉ tin vừa sửa
+                if (view.getUserName() != null) {
+                    jobDetailViewRepository.updateOwner(view.getUserId(), view.getUserName(), view.getName(),
+                            view.getSumJob());
+                } else {
+                    jobDetailViewRepository.updateOwnerJobCount(view.getUserId(), view.getSumJob());
+                }
+            }
+        } catch (Exception e) {
+            // Read model lỗi không làm hỏng thao tác ghi; bản chiếu thiếu/cũ sẽ được dựng lại khi đọc
+            log.error("Lỗi khi cập nhật job_details cho job {}: {}", job.getId(), e.getMessage(), e);
+        }
+    }
+
+    public void onCategoryRenamed(String categoryId, String categoryName) {
+        try {
+            long modified = jobDetailViewRepository.updateCategoryName(categoryId, categoryName);
+            log.info("Đã cập nhật tên danh mục {} trên {} bản chiếu job", categoryId, modified);
+        } catch (Exception e) {
+            log.error("Lỗi khi cập nhật tên danh mục {} trong job_details: {}", categoryId, e.getMessage(), e);
+        }
+    }
+
+    // Bản chiếu dùng được khi đã có chủ job, hoặc lần tra cứu chủ job thất bại gần nhất còn trong thời gian chờ
+    public boolean isComplete(JobDetailView view) {
+        if (view == null) {
+            return false;
+        }
+        return view.getUserId() == null || view.getUserName() != null
+                || (view.getOwnerRetryAt() != null && LocalDateTime.now().isBefore(view.getOwnerRetryAt()));
+    }
+
+    // Làm giàu theo lô (mỗi userId/categoryId tra cứu một lần) rồi ghi đè các bản chiếu, giữ thứ tự đầu vào.
+    // Job đã xóa mềm vẫn được dựng để trả về cho người đọc nhưng không ghi vào job_details
+    public List<JobDetailView> project(List<Job> jobs) {
+        return project(jobs, Map.of());
+    }
+
+    // previous: bản chiếu cũ theo id job, để tính thời gian chờ tăng dần khi tra cứu chủ job tiếp tục thất bại
+    public List<JobDetailView> project(List<Job> jobs, Map<String, JobDetailView> previous) {
+        if (jobs.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> userIds = jobs.stream()
+                .map(Job::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<String, Integer> jobCounts = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            try {
+                jobRepository.countActiveJobsByUserIds(userIds)
+                        .forEach(count -> jobCounts.put(count.getUserId(), count.getCount()));
+            } catch (Exception e) {
+                log.error("Lỗi khi đếm job cho userIds {}: {}", userIds, e.getMessage(), e);
+            }
+        }
+
+        // Cả lô chủ job trong một lần gọi identity-service
+        Map<String, UserDetailToCreateJob> users = userBatchResolver.loadAll(userIds);
+
+        List<JobDetailView> views = new ArrayList<>(jobs.size());
+        List<JobDetailView> live = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            JobDetailView view = toView(job, users.get(job.getUserId()), jobCounts.getOrDefault(job.getUserId(), 0),
+                    previous.get(job.getId()));
+            views.add(view);
+            if (job.getDeletedAt() == null) {
+                live.add(view);
+            }
+        }
+        if (!live.isEmpty()) {
+            jobDetailViewRepository.saveAll(live);
+        }
+        return views;
+    }
+
+    private JobDetailView toView(Job job, UserDetailToCreateJob user, int sumJob, JobDetailView previous) {
+        // Chủ job đã tra cứu được thì bản chiếu hoàn chỉnh, kể cả khi tên hiển thị trống
+        boolean resolved = user != null && user.getUsername() != null;
+        boolean hasName = resolved && user.getName() != null && !user.getName().isEmpty();
+        int ownerLookupFailures = 0;
+        LocalDateTime ownerRetryAt = null;
+        if (!resolved && job.getUserId() != null) {
+            ownerLookupFailures = (previous != null ? previous.getOwnerLookupFailures() : 0) + 1;
+            ownerRetryAt = LocalDateTime.now().plus(ownerRetryDelay(ownerLookupFailures));
+            log.warn("Không lấy được thông tin chủ job userId: {} (lần {}), thử lại sau {}",
+                    job.getUserId(), ownerLookupFailures, ownerRetryAt);
+        }
+        return JobDetailView.builder()
+                .id(job.getId())
+                .userId(job.getUserId())
+                .userName(resolved ? user.getUsername() : null)
+                .name(hasName ? user.getName() : null)
+                .ownerLookupFailures(ownerLookupFailures)
+                .ownerRetryAt(ownerRetryAt)
+                .sumJob(sumJob)
+                .categoryId(job.getCategoryId())
+                .categoryName(categoryTreeCache.get(job.getCategoryId()).map(Category::getName).orElse(null))
+                .title(job.getTitle())
+                .shortDescription(job.getShortDescription())
+                .description(job.getDescription())
+                .salaryMin(job.getSalaryMin())
+                .salaryMax(job.getSalaryMax())
+                .experienceLevel(job.getExperienceLevel())
+                .benefits(job.getBenefits())
+                .applicationDeadline(job.getApplicationDeadline())
+                .status(job.getStatus())
+                .active(job.getActive())
+                .contentUri(job.getContentUri())
+                .workingType(job.getWorkingType())
+                .workingForm(job.getWorkingForm())
+                .file(job.getFile())
+                .otherFiles(job.getOtherImageCodes())
+                .tags(job.getTags())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+
+    private static Duration ownerRetryDelay(int failures) {
+        Duration delay = OWNER_RETRY_MIN.multipliedBy(1L << Math.min(failures - 1, 10));
+        return delay.compareTo(OWNER_RETRY_MAX) > 0 ? OWNER_RETRY_MAX : delay;
+    }
+
+    private int countActiveJobs(String userId) {
+        return jobRepository.countActiveJobsByUserIds(List.of(userId)).stream()
+                .findFirst()
+                .map(UserJobCount::getCount)
+                .orElse(0);
+    }
+}
@@ -10,7 +10,7 @@ import org.springframework.stereotype.Repository;
 import com.dan.job_service.models.Category;
 
 @Repository
-public interface CategoryRepository extends MongoRepository<Category, String> {
+public interface CategoryRepository extends MongoRepository<Category, String>, CategoryRepositoryCustom {
     List<Category> findByParentId(String parentId);
     Page<Category> findAllByNameContainingIgnoreCaseAndDeletedAtNull(String name, Pageable pageable);
     Page<Category> findAllByNameContainingIgnoreCaseAndDeletedAtNullAndParentIdNull(String name, Pageable pageable);
@@ -0,0 +1,15 @@
+package com.dan.job_service.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CategoryRepositoryCustom {
+    // Id của danh mục và toàn bộ danh mục con cháu (một truy vấn trên ancestors_index), rỗng nếu không tồn tại
+    List<String> findSubtreeIds(String categoryId);
+
+    // Đánh dấu xóa cả cây con trong một lệnh updateMulti
+    long markSubtreeDeleted(String categoryId, LocalDateTime deletedAt);
+
+    // Khi danh mục đổi cha: thay tiền tố oldAncestors bằng newAncestors trong ancestors của mọi con cháu
+    long replaceAncestorPrefix(String categoryId, List<String> oldAncestors, List<String> newAncestors);
+}
@@ -0,0 +1,59 @@
+package com.dan.job_service.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.dan.job_service.models.Category;
+
+public class CategoryRepositoryCustomImpl implements CategoryRepositoryCustom {
+    // Độ sâu tối đa của cây danh mục khi cắt mảng ancestors
+    private static final int MAX_DEPTH = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<String> findSubtreeIds(String categoryId) {
+        Query query = new Query(subtree(categoryId));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Category.class).stream()
+                .map(Category::getId)
+                .toList();
+    }
+
+    @Override
+    public long markSubtreeDeleted(String categoryId, LocalDateTime deletedAt) {
+        Query query = new Query(new Criteria().andOperator(subtree(categoryId), Criteria.where("deletedAt").is(null)));
+        Update update = new Update()
+                .set("deletedAt", deletedAt)
+                .set("updatedAt", deletedAt);
+        return mongoTemplate.updateMulti(query, update, Category.class).getModifiedCount();
+    }
+
+    @Override
+    public long replaceAncestorPrefix(String categoryId, List<String> oldAncestors, List<String> newAncestors) {
+        // ancestors = newAncestors ++ ancestors[oldAncestors.size():]
+        AggregationExpression rebased = context -> new Document("$concatArrays", List.of(
+                newAncestors,
+                new Document("$slice", List.of("$ancestors", oldAncestors.size(), MAX_DEPTH))));
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("ancestors").toValue(rebased);
+        return mongoTemplate.updateMulti(new Query(Criteria.where("ancestors").is(categoryId)), update, Category.class)
+                .getModifiedCount();
+    }
+
+    private static Criteria subtree(String categoryId) {
+        return new Criteria().orOperator(
+                Criteria.where("_id").is(categoryId),
+                Criteria.where("ancestors").is(categoryId));
+    }
+}
@@ -2,12 +2,14 @@ package com.dan.job_service.repositories;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import com.dan.job_service.models.Hashtag;
 
 
 public interface HashtagRepository extends MongoRepository<Hashtag, String> {
-    List<Hashtag> findByTagContainingIgnoreCase(String keyword); 
+    // regex phải neo "^" và không có cờ i thì Mongo mới giới hạn được đoạn quét trên index của tag
+    List<Hashtag> findByTagRegex(String regex, Pageable pageable);
 
 }
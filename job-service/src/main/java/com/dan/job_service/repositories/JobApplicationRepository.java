@@ -1,19 +1,22 @@
 package com.dan.job_service.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.dan.job_service.dtos.enums.ApplicationStatus;
+import com.dan.job_service.dtos.projections.UserApplicationCount;
 import com.dan.job_service.models.JobApplication;
 
 @Repository
-public interface JobApplicationRepository extends MongoRepository<JobApplication, String> {
+public interface JobApplicationRepository extends MongoRepository<JobApplication, String>, JobApplicationRepositoryCustom {
     Page<JobApplication> findByUserId(String userId, Pageable pageable);
     Page<JobApplication> findByJobId(String jobId, Pageable pageable);
 
@@ -21,6 +24,13 @@ public interface JobApplicationRepository extends MongoRepository<JobApplication
     Page<JobApplication> findByUserIdAndStatus(String userId, ApplicationStatus status, Pageable pageable); // Phương thức mới
     @Query(value = "{'userId': ?0, 'status': 'APPROVED'}", count = true)
     long countApprovedApplicationsByUserId(String userId);
+
+    // Số đơn đã duyệt của nhiều ứng viên trong một lần $group; ứng viên không có đơn nào thì không có trong kết quả
+    @Aggregation(pipeline = {
+            "{ '$match': { 'userId': { '$in': ?0 }, 'status': 'APPROVED' } }",
+            "{ '$group': { '_id': '$userId', 'count': { '$sum': 1 } } }"
+    })
+    List<UserApplicationCount> countApprovedByUserIds(Collection<String> userIds);
     // Tìm kiếm đơn ứng tuyển theo jobId 
     List<JobApplication> findByJobId(String jobId);
     Integer countByUserIdAndStatus(String userId, ApplicationStatus status);
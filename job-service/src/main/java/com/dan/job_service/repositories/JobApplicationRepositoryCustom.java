@@ -0,0 +1,17 @@
+package com.dan.job_service.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.dan.job_service.dtos.projections.DistinctApplicant;
+import com.dan.job_service.models.JobApplication;
+
+public interface JobApplicationRepositoryCustom {
+    // Phân trang keyset theo (appliedAt, _id) giảm dần, không đếm tổng
+    List<JobApplication> findByUserIdAfter(String userId, String status, KeysetCursor cursor, int limit);
+
+    // Ứng viên duy nhất của một job (mỗi userId một dòng), tổng số và số đơn đã duyệt trong một lần aggregate
+    Page<DistinctApplicant> findDistinctApplicantsByJobId(String jobId, Pageable pageable);
+}
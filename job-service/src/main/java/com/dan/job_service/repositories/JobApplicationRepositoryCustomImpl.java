@@ -0,0 +1,105 @@
+package com.dan.job_service.repositories;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.dan.job_service.dtos.enums.ApplicationStatus;
+import com.dan.job_service.dtos.projections.DistinctApplicant;
+import com.dan.job_service.models.JobApplication;
+
+public class JobApplicationRepositoryCustomImpl implements JobApplicationRepositoryCustom {
+    public static final String APPLIED_AT = "appliedAt";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<JobApplication> findByUserIdAfter(String userId, String status, KeysetCursor cursor, int limit) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (status != null && !status.isEmpty()) {
+            criteria = criteria.and("status").is(status);
+        }
+        if (cursor != null) {
+            criteria = new Criteria().andOperator(criteria,
+                    cursor.toCriteria(APPLIED_AT,
+                            cursor.value() != null ? LocalDateTime.parse(cursor.value()) : null, Sort.Direction.DESC));
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, APPLIED_AT, "_id"))
+                .limit(limit);
+        return mongoTemplate.find(query, JobApplication.class);
+    }
+
+    @Override
+    public Page<DistinctApplicant> findDistinctApplicantsByJobId(String jobId, Pageable pageable) {
+        String collection = mongoTemplate.getCollectionName(JobApplication.class);
+
+        // Số đơn đã duyệt của ứng viên; status nằm ngoài $expr để dùng được index trên applications
+        AggregationOperation approvedLookup = context -> new Document("$lookup", new Document("from", collection)
+                .append("let", new Document("userId", "$_id"))
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("status", ApplicationStatus.APPROVED.name())
+                                .append("$expr", new Document("$eq", List.of("$userId", "$$userId")))),
+                        new Document("$count", "count")))
+                .append("as", "approved"));
+        AggregationOperation approvedCount = context -> new Document("$project", new Document("application", 1)
+                .append("approvedCount", new Document("$ifNull", List.of(
+                        new Document("$arrayElemAt", List.of("$approved.count", 0)), 0))));
+
+        List<AggregationOperation> pageStages = new ArrayList<>();
+        pageStages.add(Aggregation.sort(toApplicantSort(pageable.getSort())));
+        if (pageable.isPaged()) {
+            pageStages.add(Aggregation.skip(pageable.getOffset()));
+            pageStages.add(Aggregation.limit(pageable.getPageSize()));
+        }
+        pageStages.add(approvedLookup);
+        pageStages.add(approvedCount);
+
+        // Giữ đơn mới nhất của mỗi ứng viên, sau đó $facet đếm tổng và cắt trang trên cùng tập đã gom nhóm
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("jobId").is(jobId)),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, APPLIED_AT, "_id")),
+                Aggregation.group("userId").first(Aggregation.ROOT).as("application"),
+                Aggregation.facet(Aggregation.count().as("count")).as("total")
+                        .and(pageStages.toArray(AggregationOperation[]::new)).as("page"))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        Document result = mongoTemplate.aggregate(aggregation, collection, Document.class).getUniqueMappedResult();
+        if (result == null) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        List<Document> total = result.getList("total", Document.class, List.of());
+        long totalElements = total.isEmpty() ? 0 : ((Number) total.get(0).get("count")).longValue();
+        List<DistinctApplicant> content = result.getList("page", Document.class, List.of()).stream()
+                .map(document -> mongoTemplate.getConverter().read(DistinctApplicant.class, document))
+                .toList();
+        return new PageImpl<>(content, pageable, totalElements);
+    }
+
+    // Sắp xếp của Pageable áp lên đơn ứng tuyển đã gom; mặc định đơn nộp gần nhất trước, _id để thứ tự ổn định giữa các trang
+    private Sort toApplicantSort(Sort sort) {
+        Sort applicantSort = Sort.unsorted();
+        for (Sort.Order order : sort) {
+            applicantSort = applicantSort.and(Sort.by(order.getDirection(), "application." + order.getProperty()));
+        }
+        if (applicantSort.isUnsorted()) {
+            applicantSort = Sort.by(Sort.Direction.DESC, "application." + APPLIED_AT);
+        }
+        return applicantSort.and(Sort.by(Sort.Direction.ASC, "_id"));
+    }
+}
@@ -0,0 +1,10 @@
+package com.dan.job_service.repositories;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.dan.job_service.models.JobDetailView;
+
+@Repository
+public interface JobDetailViewRepository extends MongoRepository<JobDetailView, String>, JobDetailViewRepositoryCustom {
+}
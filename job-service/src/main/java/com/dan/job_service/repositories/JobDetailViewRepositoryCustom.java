@@ -0,0 +1,22 @@
+package com.dan.job_service.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.dan.job_service.models.JobDetailView;
+
+public interface JobDetailViewRepositoryCustom {
+    // Bản chiếu cho danh sách dạng thẻ: không đọc description, benefits và otherFiles (chỉ trang chi tiết cần)
+    List<JobDetailView> findSummariesByIds(Collection<String> ids);
+
+    // Đổi tên danh mục trên mọi bản chiếu thuộc danh mục (một lệnh updateMulti)
+    long updateCategoryName(String categoryId, String categoryName);
+
+    // Cập nhật thông tin chủ job và số job active trên mọi bản chiếu của chủ job đó
+    long updateOwner(String userId, String userName, String name, int sumJob);
+
+    long updateOwnerJobCount(String userId, int sumJob);
+
+    // Bỏ tên chủ job trên mọi bản chiếu của người dùng; bản chiếu thiếu tên sẽ được chiếu lại khi đọc
+    long clearOwner(String userId);
+}
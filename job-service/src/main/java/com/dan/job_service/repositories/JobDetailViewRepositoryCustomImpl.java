@@ -0,0 +1,67 @@
+package com.dan.job_service.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.dan.job_service.models.JobDetailView;
+
+public class JobDetailViewRepositoryCustomImpl implements JobDetailViewRepositoryCustom {
+    private static final String[] SUMMARY_FIELDS = {
+            "userId", "userName", "name", "sumJob", "categoryId", "categoryName", "title", "shortDescription",
+            "salaryMin", "salaryMax", "experienceLevel", "applicationDeadline", "status", "active", "contentUri",
+            "workingType", "workingForm", "file", "tags", "createdAt", "updatedAt",
+            "ownerLookupFailures", "ownerRetryAt"
+    };
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<JobDetailView> findSummariesByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Query query = new Query(Criteria.where("_id").in(ids));
+        query.fields().include(SUMMARY_FIELDS);
+        return mongoTemplate.find(query, JobDetailView.class);
+    }
+
+    @Override
+    public long updateCategoryName(String categoryId, String categoryName) {
+        Query query = new Query(Criteria.where("categoryId").is(categoryId));
+        return mongoTemplate.updateMulti(query, new Update().set("categoryName", categoryName), JobDetailView.class)
+                .getModifiedCount();
+    }
+
+    @Override
+    public long updateOwner(String userId, String userName, String name, int sumJob) {
+        Query query = new Query(Criteria.where("userId").is(userId));
+        Update update = new Update()
+                .set("userName", userName)
+                .set("name", name)
+                .set("sumJob", sumJob)
+                .unset("ownerLookupFailures")
+                .unset("ownerRetryAt");
+        return mongoTemplate.updateMulti(query, update, JobDetailView.class).getModifiedCount();
+    }
+
+    @Override
+    public long updateOwnerJobCount(String userId, int sumJob) {
+        Query query = new Query(Criteria.where("userId").is(userId));
+        return mongoTemplate.updateMulti(query, new Update().set("sumJob", sumJob), JobDetailView.class)
+                .getModifiedCount();
+    }
+
+    @Override
+    public long clearOwner(String userId) {
+        Query query = new Query(Criteria.where("userId").is(userId));
+        Update update = new Update().unset("userName").unset("name").unset("ownerRetryAt");
+        return mongoTemplate.updateMulti(query, update, JobDetailView.class).getModifiedCount();
+    }
+}
@@ -6,6 +6,5 @@ import org.springframework.stereotype.Repository;
 import com.dan.job_service.models.JobEmbedding;
 
 @Repository
-public interface JobEmbeddingRepository extends MongoRepository<JobEmbedding, String>{
-    
+public interface JobEmbeddingRepository extends MongoRepository<JobEmbedding, String>, JobEmbeddingRepositoryCustom {
 }
@@ -0,0 +1,14 @@
+package com.dan.job_service.repositories;
+
+import java.time.LocalDateTime;
+
+import com.dan.job_service.similarity.EmbeddingMatrix;
+
+public interface JobEmbeddingRepositoryCustom {
+    // Đọc Document thô và giải mã vector thẳng vào một mảng float[] liên tiếp;
+    // updatedAfter null thì nạp toàn bộ. Bản ghi dạng mảng cũ vẫn đọc được.
+    EmbeddingMatrix loadMatrix(LocalDateTime updatedAfter);
+
+    // Chuyển các bản ghi còn trường embedding dạng mảng sang vector nhị phân, trả về số bản ghi đã chuyển
+    long packLegacyEmbeddings(boolean quantize, int batchSize);
+}
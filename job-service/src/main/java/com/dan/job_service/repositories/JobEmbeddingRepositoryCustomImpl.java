@@ -0,0 +1,122 @@
+package com.dan.job_service.repositories;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.dan.job_service.models.JobEmbedding;
+import com.dan.job_service.similarity.EmbeddingMatrix;
+import com.dan.job_service.similarity.PackedVector;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+
+public class JobEmbeddingRepositoryCustomImpl implements JobEmbeddingRepositoryCustom {
+    private static final Logger log = LoggerFactory.getLogger(JobEmbeddingRepositoryCustomImpl.class);
+    private static final int READ_BATCH_SIZE = 1000;
+    private static final String LEGACY_FIELD = "embedding";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public EmbeddingMatrix loadMatrix(LocalDateTime updatedAfter) {
+        Document filter = new Document();
+        if (updatedAfter != null) {
+            filter.append("updated_at",
+                    new Document("$gt", mongoTemplate.getConverter().convertToMongoType(updatedAfter)));
+        }
+        Document projection = new Document("jobId", 1)
+                .append("vector", 1)
+                .append(LEGACY_FIELD, 1)
+                .append("updated_at", 1);
+
+        EmbeddingMatrix matrix = new EmbeddingMatrix();
+        try (MongoCursor<Document> cursor = collection().find(filter)
+                .projection(projection)
+                .batchSize(READ_BATCH_SIZE)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document document = cursor.next();
+                String jobId = document.getString("jobId");
+                if (jobId != null) {
+                    matrix.add(jobId, toLocalDateTime(document.get("updated_at")), decode(document, jobId));
+                }
+            }
+        }
+        return matrix;
+    }
+
+    @Override
+    public long packLegacyEmbeddings(boolean quantize, int batchSize) {
+        MongoCollection<Document> collection = collection();
+        List<WriteModel<Document>> batch = new ArrayList<>();
+        long packed = 0;
+        try (MongoCursor<Document> cursor = collection.find(new Document(LEGACY_FIELD, new Document("$exists", true)))
+                .projection(new Document(LEGACY_FIELD, 1))
+                .batchSize(batchSize)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document document = cursor.next();
+                Document update = new Document("$unset", new Document(LEGACY_FIELD, ""));
+                if (document.get(LEGACY_FIELD) instanceof List<?> values && !values.isEmpty()) {
+                    update.append("$set", new Document("vector", PackedVector.of(toNumbers(values), quantize).toDocument()));
+                }
+                // Chỉ ghi khi bản ghi vẫn còn dạng cũ, tránh đè vector recommend-service vừa ghi
+                batch.add(new UpdateOneModel<>(
+                        new Document("_id", document.get("_id")).append(LEGACY_FIELD, new Document("$exists", true)),
+                        update));
+                if (batch.size() >= batchSize) {
+                    packed += collection.bulkWrite(batch, new BulkWriteOptions().ordered(false)).getModifiedCount();
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            packed += collection.bulkWrite(batch, new BulkWriteOptions().ordered(false)).getModifiedCount();
+        }
+        return packed;
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(JobEmbedding.class));
+    }
+
+    private static PackedVector decode(Document document, String jobId) {
+        try {
+            Object vector = document.get("vector");
+            if (vector instanceof Document packed) {
+                return PackedVector.fromDocument(packed);
+            }
+            if (document.get(LEGACY_FIELD) instanceof List<?> values && !values.isEmpty()) {
+                return PackedVector.of(toNumbers(values), false);
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Bỏ qua embedding không hợp lệ của job {}: {}", jobId, e.getMessage());
+        }
+        return null;
+    }
+
+    private static List<Number> toNumbers(List<?> values) {
+        List<Number> numbers = new ArrayList<>(values.size());
+        for (Object value : values) {
+            numbers.add(value instanceof Number number ? number : null);
+        }
+        return numbers;
+    }
+
+    // Cùng quy ước múi giờ với MappingMongoConverter khi đọc Date thành LocalDateTime
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Date date ? LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()) : null;
+    }
+}
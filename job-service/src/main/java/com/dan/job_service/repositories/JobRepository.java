@@ -2,33 +2,44 @@ package com.dan.job_service.repositories;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import com.dan.job_service.dtos.enums.ApplicationStatus;
+import com.dan.job_service.dtos.projections.JobIdOnly;
+import com.dan.job_service.dtos.projections.UserJobCount;
+import com.dan.job_service.dtos.responses.JobsLast24HoursResponse;
 import com.dan.job_service.models.Job;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface JobRepository extends MongoRepository<Job, String> {
+public interface JobRepository extends MongoRepository<Job, String>, JobRepositoryCustom {
     Integer countByCategoryId(String categoryId);
 
-    List<Job> findByCreatedAtBetweenAndActiveTrue(LocalDateTime start, LocalDateTime end);
+    // Projection DTO: chỉ đọc id và title
+    List<JobsLast24HoursResponse> findSummariesByCreatedAtBetweenAndActiveTrue(LocalDateTime start, LocalDateTime end);
     Page<Job> findByActiveTrue(Pageable pageable);
+    List<Job> findByActiveTrue();
     Page<Job> findByCategoryIdAndActiveTrue(String categoryId, Pageable pageable);
-    Page<Job> findByTitleContainingIgnoreCaseAndActiveTrue(String title, Pageable pageable);
-    Page<Job> findByCategoryIdAndTitleContainingIgnoreCaseAndActiveTrue(String categoryId, String title, Pageable pageable);
+    Page<Job> findByCategoryIdInAndActiveTrue(Collection<String> categoryIds, Pageable pageable);
     // Thêm phương thức mới để đếm số job theo userId và active = true
     Integer countByUserIdAndActiveTrue(String userId);
-    Page<Job> findJobsByUserIdAndActiveTrue(String userId, Pageable pageable);
+
+    // Đếm số job active cho nhiều userId trong một lần truy vấn
+    @Aggregation(pipeline = {
+            "{ '$match': { 'userId': { '$in': ?0 }, 'active': true } }",
+            "{ '$group': { '_id': '$userId', 'count': { '$sum': 1 } } }"
+    })
+    List<UserJobCount> countActiveJobsByUserIds(Collection<String> userIds);
+    // Chỉ lấy id cho trang, nội dung thẻ đọc từ job_details
+    Page<JobIdOnly> findIdsByUserIdAndActiveTrue(String userId, Pageable pageable);
 
     // thêm phương thức để tìm kiếm công việc theo danh mục không truyền phân trang
     List<Job> findByCategoryIdAndActiveTrue(String categoryId);
-
-Page<Job> findByUserIdAndCategoryIdAndActiveTrue(String userId, String categoryId, Pageable pageable);
-    Page<Job> findByUserIdAndTitleContainingIgnoreCaseAndActiveTrue(String userId, String title, Pageable pageable);
-    Page<Job> findByUserIdAndCategoryIdAndTitleContainingIgnoreCaseAndActiveTrue(String userId, String categoryId, String title, Pageable pageable);
+    List<Job> findByCategoryIdInAndActiveTrue(Collection<String> categoryIds);
 
 }
@@ -0,0 +1,34 @@
+package com.dan.job_service.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.dan.job_service.dtos.enums.JobSortField;
+import com.dan.job_service.models.Job;
+
+public interface JobRepositoryCustom {
+    // Một trang _id của các job khớp điều kiện (kèm tổng số), nội dung đọc sau từ job_details
+    Page<String> searchIds(JobSearchSpec spec, Pageable pageable);
+
+    // Chỉ trả về _id của các job khớp điều kiện
+    List<String> searchIds(JobSearchSpec spec);
+
+    // Phân trang keyset: tối đa limit job nằm sau cursor (cursor null = trang đầu), không đếm tổng.
+    // Job trả về chỉ có _id và trường sắp xếp
+    List<Job> searchAfter(JobSearchSpec spec, JobSortField sortField, Sort.Direction direction,
+            KeysetCursor cursor, int limit);
+
+    // Tải nhiều job trong một truy vấn $in, chỉ đọc các trường được liệt kê (cùng _id)
+    List<Job> findAllByIdWithFields(Collection<String> ids, String... fields);
+
+    // Job cho danh sách dạng thẻ: bỏ description, benefits, requirements, skills và danh sách ảnh phụ
+    List<Job> findCardsByIds(Collection<String> ids);
+
+    // Vô hiệu hóa mọi job active thuộc các danh mục trong một lệnh updateMulti
+    long deactivateByCategoryIds(Collection<String> categoryIds, LocalDateTime deletedAt);
+}
@@ -0,0 +1,95 @@
+package com.dan.job_service.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.dan.job_service.dtos.enums.JobSortField;
+import com.dan.job_service.models.Job;
+
+public class JobRepositoryCustomImpl implements JobRepositoryCustom {
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, "createdAt");
+    private static final String[] CARD_FIELDS = {
+            "userId", "categoryId", "title", "shortDescription", "salaryMin", "salaryMax", "experienceLevel",
+            "applicationDeadline", "status", "active", "done", "workingType", "workingForm", "file",
+            "contentUri", "tags", "createdAt", "updatedAt"
+    };
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public Page<String> searchIds(JobSearchSpec spec, Pageable pageable) {
+        Query query = new Query(spec.toCriteria())
+                .with(pageable)
+                .with(pageable.getSort().isSorted() ? pageable.getSort() : DEFAULT_SORT);
+        query.fields().include("_id");
+        List<String> ids = mongoTemplate.find(query, Job.class).stream()
+                .map(Job::getId)
+                .toList();
+
+        return PageableExecutionUtils.getPage(ids, pageable,
+                () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), Job.class));
+    }
+
+    @Override
+    public List<String> searchIds(JobSearchSpec spec) {
+        Query query = new Query(spec.toCriteria());
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Job.class).stream()
+                .map(Job::getId)
+                .toList();
+    }
+
+    @Override
+    public List<Job> findAllByIdWithFields(Collection<String> ids, String... fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Query query = new Query(Criteria.where("_id").in(ids));
+        query.fields().include(fields);
+        return mongoTemplate.find(query, Job.class);
+    }
+
+    @Override
+    public List<Job> findCardsByIds(Collection<String> ids) {
+        return findAllByIdWithFields(ids, CARD_FIELDS);
+    }
+
+    @Override
+    public List<Job> searchAfter(JobSearchSpec spec, JobSortField sortField, Sort.Direction direction,
+            KeysetCursor cursor, int limit) {
+        Criteria criteria = spec.toCriteria();
+        if (cursor != null) {
+            Object value = sortField.parse(cursor.value());
+            criteria = new Criteria().andOperator(criteria,
+                    cursor.toCriteria(sortField.getField(), value, direction));
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(direction, sortField.getField(), "_id"))
+                .limit(limit);
+        // Chỉ cần id để tải job_details và giá trị sắp xếp để tạo cursor
+        query.fields().include(sortField.getField());
+        return mongoTemplate.find(query, Job.class);
+    }
+
+    @Override
+    public long deactivateByCategoryIds(Collection<String> categoryIds, LocalDateTime deletedAt) {
+        Query query = new Query(Criteria.where("categoryId").in(categoryIds).and("active").is(true));
+        Update update = new Update()
+                .set("active", false)
+                .set("status", false)
+                .set("deletedAt", deletedAt);
+        return mongoTemplate.updateMulti(query, update, Job.class).getModifiedCount();
+    }
+}
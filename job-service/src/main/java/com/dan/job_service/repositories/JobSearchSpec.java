@@ -0,0 +1,118 @@
+package com.dan.job_service.repositories;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import com.dan.job_service.dtos.enums.WorkingForm;
+import com.dan.job_service.dtos.enums.WorkingType;
+import com.dan.job_service.dtos.requets.JobSearchRequest;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+// Gom bất kỳ tập bộ lọc nào thành một truy vấn Mongo duy nhất.
+// Các compound index active_user_created_index / active_category_created_index trên Job xếp trường theo
+// quy tắc Equality - Sort - Range cho các bộ lọc này. Thứ tự điều kiện trong $and không ảnh hưởng
+// tới việc planner chọn index, các nhóm bên dưới chỉ để dễ đọc.
+@Getter
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class JobSearchSpec {
+    String userId;
+    String categoryId;
+    // Khi có giá trị thì thay cho categoryId (ví dụ: danh mục cùng toàn bộ danh mục con cháu)
+    Collection<String> categoryIds;
+    WorkingType workingType;
+    WorkingForm workingForm;
+    String experienceLevel;
+    Long salaryMin;
+    Long salaryMax;
+    LocalDate deadlineFrom;
+    LocalDate deadlineTo;
+    List<String> tags;
+    String title;
+    // Giới hạn kết quả trong tập id cho trước (ví dụ: kết quả từ chỉ mục tìm kiếm)
+    Collection<String> ids;
+
+    public static JobSearchSpec from(JobSearchRequest request) {
+        return JobSearchSpec.builder()
+                .userId(request.userId())
+                .categoryId(request.categoryId())
+                .workingType(request.workingType())
+                .workingForm(request.workingForm())
+                .experienceLevel(request.experienceLevel())
+                .salaryMin(request.salaryMin())
+                .salaryMax(request.salaryMax())
+                .deadlineFrom(request.deadlineFrom())
+                .deadlineTo(request.deadlineTo())
+                .tags(request.tags())
+                .title(request.title())
+                .build();
+    }
+
+    public Criteria toCriteria() {
+        List<Criteria> predicates = new ArrayList<>();
+
+        // Equality
+        predicates.add(Criteria.where("active").is(true));
+        if (hasText(userId)) {
+            predicates.add(Criteria.where("userId").is(userId));
+        }
+        if (categoryIds != null) {
+            predicates.add(Criteria.where("categoryId").in(categoryIds));
+        } else if (hasText(categoryId)) {
+            predicates.add(Criteria.where("categoryId").is(categoryId));
+        }
+        if (workingType != null) {
+            predicates.add(Criteria.where("workingType").is(workingType));
+        }
+        if (workingForm != null) {
+            predicates.add(Criteria.where("workingForm").is(workingForm));
+        }
+        if (hasText(experienceLevel)) {
+            predicates.add(Criteria.where("experienceLevel").is(experienceLevel));
+        }
+
+        // Range: khoảng lương giao nhau với khoảng người dùng chọn, hạn nộp hồ sơ
+        if (salaryMin != null) {
+            predicates.add(Criteria.where("salaryMax").gte(salaryMin));
+        }
+        if (salaryMax != null) {
+            predicates.add(Criteria.where("salaryMin").lte(salaryMax));
+        }
+        if (deadlineFrom != null || deadlineTo != null) {
+            Criteria deadline = Criteria.where("applicationDeadline");
+            if (deadlineFrom != null) {
+                deadline = deadline.gte(deadlineFrom);
+            }
+            if (deadlineTo != null) {
+                deadline = deadline.lte(deadlineTo);
+            }
+            predicates.add(deadline);
+        }
+
+        // Multikey và tập id
+        if (tags != null && !tags.isEmpty()) {
+            predicates.add(Criteria.where("tags").all(tags));
+        }
+        if (ids != null) {
+            predicates.add(Criteria.where("_id").in(ids));
+        } else if (hasText(title)) {
+            // Chỉ dùng khi chỉ mục tìm kiếm chưa sẵn sàng
+            predicates.add(Criteria.where("title").regex(Pattern.quote(title.trim()), "i"));
+        }
+
+        return new Criteria().andOperator(predicates);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
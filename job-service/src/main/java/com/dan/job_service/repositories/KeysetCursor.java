@@ -0,0 +1,55 @@
+package com.dan.job_service.repositories;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+// Cursor mờ (opaque) cho phân trang keyset: mã hóa (khóa sắp xếp, giá trị, _id) của phần tử cuối trang.
+// value null nghĩa là phần tử cuối trang không có giá trị khóa sắp xếp (trường null hoặc không tồn tại).
+public record KeysetCursor(String sortKey, String value, String id) {
+    private static final String SEPARATOR = "\n";
+    private static final String NULL_VALUE = "\u0000";
+
+    public String encode() {
+        String raw = sortKey + SEPARATOR + (value != null ? value : NULL_VALUE) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token, String expectedSortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length != 3 || !parts[0].equals(expectedSortKey)) {
+                throw new IllegalArgumentException("Cursor không hợp lệ");
+            }
+            return new KeysetCursor(parts[0], NULL_VALUE.equals(parts[1]) ? null : parts[1], parts[2]);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor không hợp lệ");
+        }
+    }
+
+    // (field, _id) nằm sau cursor theo chiều sắp xếp.
+    // Mongo xếp null/thiếu trường nhỏ hơn mọi giá trị: đứng đầu khi tăng dần, đứng cuối khi giảm dần,
+    // nên các phần tử không có khóa được nối vào đúng vị trí thay vì bị $gt/$lt bỏ qua.
+    public Criteria toCriteria(String field, Object typedValue, Sort.Direction direction) {
+        Object idValue = ObjectId.isValid(id) ? new ObjectId(id) : id;
+        Criteria idBeyond = direction.isAscending()
+                ? Criteria.where("_id").gt(idValue)
+                : Criteria.where("_id").lt(idValue);
+        Criteria tie = new Criteria().andOperator(Criteria.where(field).is(typedValue), idBeyond);
+
+        if (typedValue == null) {
+            // Tăng dần: hết nhóm null thì tới mọi phần tử có giá trị; giảm dần: nhóm null là nhóm cuối
+            return direction.isAscending()
+                    ? new Criteria().orOperator(tie, Criteria.where(field).ne(null))
+                    : tie;
+        }
+        if (direction.isAscending()) {
+            return new Criteria().orOperator(Criteria.where(field).gt(typedValue), tie);
+        }
+        return new Criteria().orOperator(Criteria.where(field).lt(typedValue), tie, Criteria.where(field).is(null));
+    }
+}
@@ -0,0 +1,17 @@
+package com.dan.job_service.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.dan.job_service.models.SavedSearch;
+
+@Repository
+public interface SavedSearchRepository extends MongoRepository<SavedSearch, String> {
+    List<SavedSearch> findByActiveTrue();
+    List<SavedSearch> findByUserIdAndActiveTrue(String userId);
+    Optional<SavedSearch> findByIdAndUserId(String id, String userId);
+    long countByUserIdAndActiveTrue(String userId);
+}
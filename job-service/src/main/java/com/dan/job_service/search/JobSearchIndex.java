@@ -0,0 +1,231 @@
+package com.dan.job_service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.dan.events.dtos.JobEvent;
+import com.dan.job_service.concurrent.ReloadBuffer;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.repositories.JobRepository;
+
+// Chỉ mục đảo ngược trong bộ nhớ cho các job đang active, xếp hạng theo BM25.
+// Các trường có trọng số khác nhau: title > tags > shortDescription > description.
+@Component
+public class JobSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(JobSearchIndex.class);
+
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float TAG_WEIGHT = 2.0f;
+    private static final float SHORT_DESCRIPTION_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReloadBuffer reloadBuffer = new ReloadBuffer();
+    // term -> (jobId -> tần suất có trọng số)
+    private final NavigableMap<String, Map<String, Float>> postings = new TreeMap<>();
+    private final Map<String, IndexedJob> documents = new HashMap<>();
+    private double totalLength = 0;
+    private volatile boolean ready = false;
+
+    private record IndexedJob(String id, Map<String, Float> terms, float length) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reloadBuffer.start();
+        try {
+            List<Job> jobs = jobRepository.findByActiveTrue().stream()
+                    .filter(job -> job.getDeletedAt() == null)
+                    .toList();
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                documents.clear();
+                totalLength = 0;
+                jobs.forEach(this::add);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.info("Đã lập chỉ mục tìm kiếm cho {} công việc", jobs.size());
+        } catch (Exception e) {
+            log.error("Lỗi khi lập chỉ mục tìm kiếm công việc: {}", e.getMessage(), e);
+        } finally {
+            reloadBuffer.finish();
+        }
+    }
+
+    @EventListener
+    public void onJobEvent(JobEvent event) {
+        Job job = event.getData();
+        if (job == null || job.getId() == null || reloadBuffer.deferIfLoading(() -> apply(job))) {
+            return;
+        }
+        apply(job);
+    }
+
+    private void apply(Job job) {
+        if (Boolean.TRUE.equals(job.getActive()) && job.getDeletedAt() == null) {
+            index(job);
+        } else {
+            remove(job.getId());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Job job) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(job.getId());
+            add(job);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String jobId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Trả về id các job khớp với tất cả từ khóa (từ cuối được khớp theo tiền tố), điểm cao nhất trước
+    public List<String> search(String query) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int docCount = documents.size();
+            if (docCount == 0) {
+                return List.of();
+            }
+            double avgLength = totalLength / docCount;
+
+            Map<String, Double> scores = null;
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean prefix = i == tokens.size() - 1;
+                Map<String, Double> tokenScores = scoreToken(tokens.get(i), prefix, docCount, avgLength);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    Map<String, Double> merged = new HashMap<>();
+                    for (Map.Entry<String, Double> entry : scores.entrySet()) {
+                        Double score = tokenScores.get(entry.getKey());
+                        if (score != null) {
+                            merged.put(entry.getKey(), entry.getValue() + score);
+                        }
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<Map.Entry<String, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()));
+            return ranked.stream().map(Map.Entry::getKey).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, Double> scoreToken(String token, boolean prefix, int docCount, double avgLength) {
+        Map<String, Double> tokenScores = new HashMap<>();
+        Map<String, Map<String, Float>> matchedTerms = prefix
+                ? postings.subMap(token, true, token + Character.MAX_VALUE, false)
+                : (postings.containsKey(token) ? Map.of(token, postings.get(token)) : Map.of());
+
+        for (Map<String, Float> termPostings : matchedTerms.values()) {
+            int df = termPostings.size();
+            double idf = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+            for (Map.Entry<String, Float> posting : termPostings.entrySet()) {
+                double tf = posting.getValue();
+                double length = documents.get(posting.getKey()).length();
+                double score = idf * (tf * (K1 + 1)) / (tf + K1 * (1 - B + B * length / avgLength));
+                // Một từ tiền tố có thể khớp nhiều term trong cùng job: lấy term khớp tốt nhất
+                tokenScores.merge(posting.getKey(), score, Math::max);
+            }
+        }
+        return tokenScores;
+    }
+
+    private void add(Job job) {
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, job.getTitle(), TITLE_WEIGHT);
+        addField(terms, job.getShortDescription(), SHORT_DESCRIPTION_WEIGHT);
+        addField(terms, job.getDescription(), DESCRIPTION_WEIGHT);
+        if (job.getTags() != null) {
+            job.getTags().forEach(tag -> addField(terms, tag, TAG_WEIGHT));
+        }
+
+        float length = 0;
+        for (Map.Entry<String, Float> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), key -> new HashMap<>()).put(job.getId(), term.getValue());
+            length += term.getValue();
+        }
+        documents.put(job.getId(), new IndexedJob(job.getId(), terms, length));
+        totalLength += length;
+    }
+
+    private void addField(Map<String, Float> terms, String text, float weight) {
+        for (String token : TextNormalizer.tokenize(text)) {
+            terms.merge(token, weight, Float::sum);
+        }
+    }
+
+    private void removeInternal(String jobId) {
+        IndexedJob existing = documents.remove(jobId);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.terms().keySet()) {
+            Map<String, Float> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(jobId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= existing.length();
+    }
+}
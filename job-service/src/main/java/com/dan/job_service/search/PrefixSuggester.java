@@ -0,0 +1,141 @@
+package com.dan.job_service.search;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Trie có trọng số cho gợi ý theo tiền tố. Mỗi nút lưu trọng số lớn nhất trong cây con
+// nên truy vấn top-K duyệt theo best-first và dừng ngay khi đủ K giá trị, không quét hết cây con.
+// Nhiều khóa có thể trỏ tới cùng một giá trị (ví dụ mỗi vị trí bắt đầu từ của một tiêu đề).
+public class PrefixSuggester {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+
+    private static final class Node {
+        final Map<Character, Node> children = new HashMap<>();
+        final Map<String, Long> values = new HashMap<>();
+        long maxWeight = 0;
+    }
+
+    private record Candidate(long weight, Node node, String value) {
+    }
+
+    // weight <= 0 tương đương xóa cặp (key, value)
+    public void put(String key, String value, long weight) {
+        if (weight <= 0) {
+            remove(key, value);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Deque<Node> path = new ArrayDeque<>();
+            Node node = root;
+            path.push(node);
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+                path.push(node);
+            }
+            node.values.put(value, weight);
+            refresh(path, key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key, String value) {
+        lock.writeLock().lock();
+        try {
+            Deque<Node> path = new ArrayDeque<>();
+            Node node = root;
+            path.push(node);
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.get(key.charAt(i));
+                if (node == null) {
+                    return;
+                }
+                path.push(node);
+            }
+            if (node.values.remove(value) == null) {
+                return;
+            }
+            refresh(path, key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root.children.clear();
+            root.values.clear();
+            root.maxWeight = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Trả về tối đa limit giá trị khác nhau có khóa bắt đầu bằng prefix, trọng số cao nhất trước
+    public List<String> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            if (node == null || limit <= 0) {
+                return List.of();
+            }
+
+            PriorityQueue<Candidate> queue = new PriorityQueue<>(
+                    Comparator.comparingLong(Candidate::weight).reversed()
+                            .thenComparing(candidate -> candidate.value() == null ? "" : candidate.value()));
+            queue.add(new Candidate(node.maxWeight, node, null));
+            Set<String> results = new LinkedHashSet<>();
+            while (!queue.isEmpty() && results.size() < limit) {
+                Candidate candidate = queue.poll();
+                if (candidate.node() == null) {
+                    results.add(candidate.value());
+                    continue;
+                }
+                candidate.node().values.forEach((value, weight) -> queue.add(new Candidate(weight, null, value)));
+                candidate.node().children.values()
+                        .forEach(child -> queue.add(new Candidate(child.maxWeight, child, null)));
+            }
+            return new ArrayList<>(results);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Cập nhật maxWeight từ nút lá ngược về gốc và cắt các nút rỗng
+    private void refresh(Deque<Node> path, String key) {
+        int depth = key.length();
+        Node child = null;
+        while (!path.isEmpty()) {
+            Node node = path.pop();
+            if (child != null && child.values.isEmpty() && child.children.isEmpty()) {
+                node.children.remove(key.charAt(depth));
+            }
+            long max = 0;
+            for (long weight : node.values.values()) {
+                max = Math.max(max, weight);
+            }
+            for (Node next : node.children.values()) {
+                max = Math.max(max, next.maxWeight);
+            }
+            node.maxWeight = max;
+            child = node;
+            depth--;
+        }
+    }
+}
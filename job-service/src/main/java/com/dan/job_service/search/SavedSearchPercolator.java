@@ -0,0 +1,215 @@
+package com.dan.job_service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.dan.job_service.cache.CategoryTreeCache;
+import com.dan.job_service.concurrent.ReloadBuffer;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.models.SavedSearch;
+import com.dan.job_service.repositories.SavedSearchRepository;
+
+// Chỉ mục ngược cho các tìm kiếm đã lưu (percolator): mỗi tìm kiếm được gắn vào đúng một khóa "neo"
+// là điều kiện chọn lọc nhất của nó (từ khóa > tag > danh mục > hình thức làm việc, còn lại là "*").
+// Khi có job mới chỉ cần sinh các khóa của job, lấy ứng viên trong các bucket tương ứng
+// rồi kiểm tra đầy đủ từng ứng viên, không phải duyệt qua mọi tìm kiếm đã lưu.
+// Giống bộ lọc categoryId của /get-all-jobs, tìm kiếm theo một danh mục khớp cả job thuộc danh mục con cháu.
+@Component
+public class SavedSearchPercolator {
+    private static final Logger log = LoggerFactory.getLogger(SavedSearchPercolator.class);
+    private static final String MATCH_ALL = "*";
+
+    @Autowired
+    private SavedSearchRepository savedSearchRepository;
+    @Autowired
+    private CategoryTreeCache categoryTreeCache;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReloadBuffer reloadBuffer = new ReloadBuffer();
+    private final Map<String, Map<String, CompiledQuery>> buckets = new HashMap<>();
+    private final Map<String, CompiledQuery> queriesById = new HashMap<>();
+
+    private record CompiledQuery(SavedSearch source, String anchor, Set<String> keywords, Set<String> tags) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reloadBuffer.start();
+        try {
+            List<SavedSearch> savedSearches = savedSearchRepository.findByActiveTrue();
+            lock.writeLock().lock();
+            try {
+                buckets.clear();
+                queriesById.clear();
+                savedSearches.forEach(this::add);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Đã nạp {} tìm kiếm đã lưu vào percolator", savedSearches.size());
+        } catch (Exception e) {
+            log.error("Lỗi khi nạp tìm kiếm đã lưu: {}", e.getMessage(), e);
+        } finally {
+            reloadBuffer.finish();
+        }
+    }
+
+    public void register(SavedSearch savedSearch) {
+        if (!reloadBuffer.deferIfLoading(() -> registerNow(savedSearch))) {
+            registerNow(savedSearch);
+        }
+    }
+
+    public void unregister(String savedSearchId) {
+        if (!reloadBuffer.deferIfLoading(() -> unregisterNow(savedSearchId))) {
+            unregisterNow(savedSearchId);
+        }
+    }
+
+    private void registerNow(SavedSearch savedSearch) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(savedSearch.getId());
+            if (savedSearch.isActive()) {
+                add(savedSearch);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unregisterNow(String savedSearchId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(savedSearchId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Tất cả tìm kiếm đã lưu khớp với job
+    public List<SavedSearch> match(Job job) {
+        Set<String> jobTokens = new HashSet<>();
+        jobTokens.addAll(TextNormalizer.tokenize(job.getTitle()));
+        jobTokens.addAll(TextNormalizer.tokenize(job.getShortDescription()));
+        Set<String> jobTags = new HashSet<>();
+        if (job.getTags() != null) {
+            for (String tag : job.getTags()) {
+                jobTokens.addAll(TextNormalizer.tokenize(tag));
+                jobTags.add(TextNormalizer.fold(tag.trim()));
+            }
+        }
+
+        List<String> keys = new ArrayList<>();
+        jobTokens.forEach(token -> keys.add("k:" + token));
+        jobTags.forEach(tag -> keys.add("t:" + tag));
+        // Danh mục của job và các danh mục tổ tiên
+        Set<String> jobCategories = new HashSet<>();
+        if (job.getCategoryId() != null) {
+            jobCategories.add(job.getCategoryId());
+            jobCategories.addAll(categoryTreeCache.ancestorIds(job.getCategoryId()));
+        }
+        jobCategories.forEach(categoryId -> keys.add("c:" + categoryId));
+        if (job.getWorkingType() != null) {
+            keys.add("wt:" + job.getWorkingType().name());
+        }
+        if (job.getWorkingForm() != null) {
+            keys.add("wf:" + job.getWorkingForm().name());
+        }
+        keys.add(MATCH_ALL);
+
+        lock.readLock().lock();
+        try {
+            List<SavedSearch> matches = new ArrayList<>();
+            for (String key : keys) {
+                Map<String, CompiledQuery> bucket = buckets.get(key);
+                if (bucket == null) {
+                    continue;
+                }
+                for (CompiledQuery query : bucket.values()) {
+                    if (verify(query, job, jobTokens, jobTags, jobCategories)) {
+                        matches.add(query.source());
+                    }
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean verify(CompiledQuery query, Job job, Set<String> jobTokens, Set<String> jobTags,
+            Set<String> jobCategories) {
+        SavedSearch search = query.source();
+        return jobTokens.containsAll(query.keywords())
+                && jobTags.containsAll(query.tags())
+                && (search.getCategoryId() == null || jobCategories.contains(search.getCategoryId()))
+                && (search.getWorkingType() == null || search.getWorkingType() == job.getWorkingType())
+                && (search.getWorkingForm() == null || search.getWorkingForm() == job.getWorkingForm())
+                && (search.getSalaryMin() == null || job.getSalaryMax() >= search.getSalaryMin())
+                && (search.getSalaryMax() == null || job.getSalaryMin() <= search.getSalaryMax());
+    }
+
+    private void add(SavedSearch savedSearch) {
+        Set<String> keywords = new HashSet<>(TextNormalizer.tokenize(savedSearch.getKeywords()));
+        Set<String> tags = new HashSet<>();
+        if (savedSearch.getTags() != null) {
+            savedSearch.getTags().stream()
+                    .filter(tag -> tag != null && !tag.isBlank())
+                    .forEach(tag -> tags.add(TextNormalizer.fold(tag.trim())));
+        }
+
+        CompiledQuery query = new CompiledQuery(savedSearch, anchor(savedSearch, keywords, tags), keywords, tags);
+        queriesById.put(savedSearch.getId(), query);
+        buckets.computeIfAbsent(query.anchor(), key -> new HashMap<>()).put(savedSearch.getId(), query);
+    }
+
+    // Từ khóa dài nhất thường ít phổ biến nhất nên được chọn làm neo
+    private static String anchor(SavedSearch savedSearch, Set<String> keywords, Set<String> tags) {
+        if (!keywords.isEmpty()) {
+            return "k:" + keywords.stream()
+                    .max(Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()))
+                    .get();
+        }
+        if (!tags.isEmpty()) {
+            return "t:" + tags.iterator().next();
+        }
+        if (savedSearch.getCategoryId() != null) {
+            return "c:" + savedSearch.getCategoryId();
+        }
+        if (savedSearch.getWorkingType() != null) {
+            return "wt:" + savedSearch.getWorkingType().name();
+        }
+        if (savedSearch.getWorkingForm() != null) {
+            return "wf:" + savedSearch.getWorkingForm().name();
+        }
+        return MATCH_ALL;
+    }
+
+    private void removeInternal(String savedSearchId) {
+        CompiledQuery existing = queriesById.remove(savedSearchId);
+        if (existing == null) {
+            return;
+        }
+        Map<String, CompiledQuery> bucket = buckets.get(existing.anchor());
+        if (bucket != null) {
+            bucket.remove(savedSearchId);
+            if (bucket.isEmpty()) {
+                buckets.remove(existing.anchor());
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.dan.job_service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.stereotype.Component;
+
+import com.dan.job_service.dtos.responses.PopularSearchResponse;
+import com.dan.job_service.dtos.responses.PositionCtrResponse;
+
+// Thống kê tìm kiếm dạng luồng, bộ nhớ cố định:
+// - Top-K câu truy vấn theo thuật toán Space-Saving với tối đa CAPACITY bộ đếm
+// - Số lần hiển thị và số lần click theo từng vị trí trong kết quả để tính CTR
+// Dữ liệu chỉ nằm trong bộ nhớ của từng instance, không đọc lại collection search_clicks:
+// số liệu về 0 sau mỗi lần khởi động lại và không cộng dồn giữa các instance.
+@Component
+public class SearchAnalytics {
+    private static final int CAPACITY = 1000;
+    public static final int MAX_POSITION = 50;
+
+    private final Map<String, Counter> counters = new HashMap<>();
+    // Sắp theo count tăng dần để lấy bộ đếm nhỏ nhất khi cần thay thế
+    private final TreeSet<Counter> byCount = new TreeSet<>(
+            Comparator.comparingLong((Counter counter) -> counter.count).thenComparing(counter -> counter.key));
+
+    private final AtomicLongArray impressions = new AtomicLongArray(MAX_POSITION + 1);
+    private final AtomicLongArray clicks = new AtomicLongArray(MAX_POSITION + 1);
+
+    private static final class Counter {
+        final String key;
+        String display;
+        long count;
+        long error;
+
+        Counter(String key) {
+            this.key = key;
+        }
+    }
+
+    // Một lượt tìm kiếm (trang đầu) hiển thị count kết quả bắt đầu từ offset
+    public void recordSearch(String query, long offset, int count) {
+        for (int i = 0; i < count; i++) {
+            long position = offset + i + 1;
+            impressions.incrementAndGet(bucket(position));
+        }
+        if (offset == 0) {
+            offer(query);
+        }
+    }
+
+    // Hiển thị chỉ được đếm cho tìm kiếm theo tiêu đề, nên click không kèm câu truy vấn
+    // (từ gợi ý, job tương tự, trang chủ...) bị bỏ qua để không thổi phồng CTR
+    public void recordClick(String searchQuery, Integer position) {
+        if (searchQuery != null && !searchQuery.isBlank() && position != null && position > 0) {
+            clicks.incrementAndGet(bucket(position));
+        }
+    }
+
+    public synchronized List<PopularSearchResponse> popularSearches(int limit) {
+        List<PopularSearchResponse> result = new ArrayList<>();
+        for (Counter counter : byCount.descendingSet()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(PopularSearchResponse.builder()
+                    .query(counter.display)
+                    .count(counter.count)
+                    .error(counter.error)
+                    .build());
+        }
+        return result;
+    }
+
+    public List<PositionCtrResponse> ctrByPosition() {
+        List<PositionCtrResponse> result = new ArrayList<>(MAX_POSITION);
+        for (int position = 1; position <= MAX_POSITION; position++) {
+            long shown = impressions.get(position);
+            long clicked = clicks.get(position);
+            result.add(PositionCtrResponse.builder()
+                    .position(position)
+                    .impressions(shown)
+                    .clicks(clicked)
+                    .ctr(shown > 0 ? (double) clicked / shown : 0)
+                    .build());
+        }
+        return result;
+    }
+
+    private synchronized void offer(String query) {
+        String key = String.join(" ", TextNormalizer.tokenize(query));
+        if (key.isEmpty()) {
+            return;
+        }
+
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            counter = new Counter(key);
+            if (counters.size() >= CAPACITY) {
+                // Thay bộ đếm nhỏ nhất, kế thừa count của nó làm sai số
+                Counter evicted = byCount.pollFirst();
+                counters.remove(evicted.key);
+                counter.count = evicted.count;
+                counter.error = evicted.count;
+            }
+            counters.put(key, counter);
+        } else {
+            byCount.remove(counter);
+        }
+        counter.display = query.trim();
+        counter.count++;
+        byCount.add(counter);
+    }
+
+    private static int bucket(long position) {
+        return (int) Math.min(position, MAX_POSITION);
+    }
+}
@@ -0,0 +1,247 @@
+package com.dan.job_service.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.dan.events.dtos.JobEvent;
+import com.dan.job_service.concurrent.ReloadBuffer;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.repositories.JobRepository;
+
+// Sửa lỗi chính tả theo thuật toán symmetric delete trên từ vựng của tiêu đề và tag các job active.
+// Mỗi từ được lưu kèm mọi biến thể xóa tối đa MAX_EDIT_DISTANCE ký tự (chỉ trên PREFIX_LENGTH ký tự đầu),
+// khi tra cứu chỉ cần sinh biến thể xóa của từ nhập vào và tra bảng băm, không duyệt toàn bộ từ vựng.
+@Component
+public class SpellingCorrector {
+    private static final Logger log = LoggerFactory.getLogger(SpellingCorrector.class);
+    private static final int MAX_EDIT_DISTANCE = 2;
+    private static final int PREFIX_LENGTH = 7;
+    private static final int MIN_TERM_LENGTH = 3;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // từ -> số job active chứa từ đó
+    private final Map<String, Integer> frequencies = new HashMap<>();
+    // biến thể xóa -> các từ sinh ra biến thể đó
+    private final Map<String, Set<String>> deletes = new HashMap<>();
+    private final Map<String, Set<String>> termsByJob = new HashMap<>();
+    private volatile boolean ready = false;
+    private final ReloadBuffer reloadBuffer = new ReloadBuffer();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reloadBuffer.start();
+        try {
+            List<Job> jobs = jobRepository.findByActiveTrue().stream()
+                    .filter(job -> job.getDeletedAt() == null)
+                    .toList();
+            lock.writeLock().lock();
+            try {
+                frequencies.clear();
+                deletes.clear();
+                termsByJob.clear();
+                jobs.forEach(this::put);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.info("Đã nạp {} từ vào bộ sửa lỗi chính tả", frequencies.size());
+        } catch (Exception e) {
+            log.error("Lỗi khi nạp bộ sửa lỗi chính tả: {}", e.getMessage(), e);
+        } finally {
+            reloadBuffer.finish();
+        }
+    }
+
+    @EventListener
+    public void onJobEvent(JobEvent event) {
+        Job job = event.getData();
+        if (job == null || job.getId() == null || reloadBuffer.deferIfLoading(() -> apply(job))) {
+            return;
+        }
+        apply(job);
+    }
+
+    private void apply(Job job) {
+        lock.writeLock().lock();
+        try {
+            if (Boolean.TRUE.equals(job.getActive()) && job.getDeletedAt() == null) {
+                put(job);
+            } else {
+                remove(job.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Trả về câu truy vấn đã sửa (không dấu), hoặc null nếu không có từ nào cần/có thể sửa
+    public String correct(String query) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            boolean changed = false;
+            List<String> corrected = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                String best = lookup(token);
+                if (best != null && !best.equals(token)) {
+                    changed = true;
+                    corrected.add(best);
+                } else {
+                    corrected.add(token);
+                }
+            }
+            return changed ? String.join(" ", corrected) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Từ gần nhất (khoảng cách nhỏ nhất, rồi phổ biến nhất) trong phạm vi MAX_EDIT_DISTANCE
+    private String lookup(String word) {
+        if (frequencies.containsKey(word) || word.length() < MIN_TERM_LENGTH || isNumeric(word)) {
+            return word;
+        }
+
+        String best = null;
+        int bestDistance = MAX_EDIT_DISTANCE + 1;
+        int bestFrequency = 0;
+        Set<String> checked = new HashSet<>();
+        for (String variant : deleteVariants(word)) {
+            Set<String> candidates = deletes.get(variant);
+            if (candidates == null) {
+                continue;
+            }
+            for (String candidate : candidates) {
+                if (!checked.add(candidate) || Math.abs(candidate.length() - word.length()) > MAX_EDIT_DISTANCE) {
+                    continue;
+                }
+                int distance = distance(word, candidate, Math.min(bestDistance, MAX_EDIT_DISTANCE));
+                if (distance > MAX_EDIT_DISTANCE) {
+                    continue;
+                }
+                int frequency = frequencies.get(candidate);
+                if (distance < bestDistance || (distance == bestDistance && frequency > bestFrequency)) {
+                    best = candidate;
+                    bestDistance = distance;
+                    bestFrequency = frequency;
+                }
+            }
+        }
+        return best;
+    }
+
+    private void put(Job job) {
+        remove(job.getId());
+        Set<String> terms = new HashSet<>();
+        TextNormalizer.tokenize(job.getTitle()).forEach(terms::add);
+        if (job.getTags() != null) {
+            job.getTags().forEach(tag -> terms.addAll(TextNormalizer.tokenize(tag)));
+        }
+        terms.removeIf(term -> term.length() < MIN_TERM_LENGTH || isNumeric(term));
+
+        termsByJob.put(job.getId(), terms);
+        for (String term : terms) {
+            if (frequencies.merge(term, 1, Integer::sum) == 1) {
+                deleteVariants(term).forEach(variant ->
+                        deletes.computeIfAbsent(variant, key -> new HashSet<>()).add(term));
+            }
+        }
+    }
+
+    private void remove(String jobId) {
+        Set<String> terms = termsByJob.remove(jobId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            if (frequencies.merge(term, -1, Integer::sum) <= 0) {
+                frequencies.remove(term);
+                for (String variant : deleteVariants(term)) {
+                    Set<String> candidates = deletes.get(variant);
+                    if (candidates != null) {
+                        candidates.remove(term);
+                        if (candidates.isEmpty()) {
+                            deletes.remove(variant);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Bản thân tiền tố và mọi biến thể xóa 1..MAX_EDIT_DISTANCE ký tự của nó
+    private static Set<String> deleteVariants(String term) {
+        String prefix = term.length() > PREFIX_LENGTH ? term.substring(0, PREFIX_LENGTH) : term;
+        Set<String> variants = new LinkedHashSet<>();
+        variants.add(prefix);
+        List<String> frontier = List.of(prefix);
+        for (int distance = 1; distance <= MAX_EDIT_DISTANCE; distance++) {
+            List<String> next = new ArrayList<>();
+            for (String current : frontier) {
+                for (int i = 0; i < current.length(); i++) {
+                    String variant = current.substring(0, i) + current.substring(i + 1);
+                    if (variants.add(variant)) {
+                        next.add(variant);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return variants;
+    }
+
+    // Khoảng cách Damerau-Levenshtein (optimal string alignment), trả về max + 1 khi vượt ngưỡng
+    private static int distance(String a, String b, int max) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int rowMin = Integer.MAX_VALUE;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, d[i][j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static boolean isNumeric(String term) {
+        return term.chars().allMatch(Character::isDigit);
+    }
+}
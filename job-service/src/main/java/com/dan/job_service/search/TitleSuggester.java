@@ -0,0 +1,140 @@
+package com.dan.job_service.search;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.dan.events.dtos.JobEvent;
+import com.dan.job_service.concurrent.ReloadBuffer;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.repositories.JobRepository;
+
+// Gợi ý tiêu đề công việc khi người dùng đang gõ. Các tiêu đề giống nhau sau khi chuẩn hóa
+// được gộp lại, trọng số là số job active đang dùng tiêu đề đó.
+// Mỗi vị trí bắt đầu từ đều là một khóa nên "java" vẫn gợi ý được "Lập trình viên Java".
+@Component
+public class TitleSuggester {
+    private static final Logger log = LoggerFactory.getLogger(TitleSuggester.class);
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private final PrefixSuggester suggester = new PrefixSuggester();
+    // jobId -> khóa tiêu đề đã chuẩn hóa
+    private final Map<String, String> titleKeysByJob = new HashMap<>();
+    // khóa tiêu đề -> tiêu đề hiển thị và số job
+    private final Map<String, TitleStats> titles = new ConcurrentHashMap<>();
+    private volatile boolean ready = false;
+    private final ReloadBuffer reloadBuffer = new ReloadBuffer();
+
+    private static final class TitleStats {
+        volatile String display;
+        int count;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reloadBuffer.start();
+        try {
+            List<Job> jobs = jobRepository.findByActiveTrue().stream()
+                    .filter(job -> job.getDeletedAt() == null)
+                    .toList();
+            synchronized (this) {
+                suggester.clear();
+                titleKeysByJob.clear();
+                titles.clear();
+                jobs.forEach(this::put);
+            }
+            ready = true;
+            log.info("Đã nạp {} tiêu đề vào bộ gợi ý", titles.size());
+        } catch (Exception e) {
+            log.error("Lỗi khi nạp bộ gợi ý tiêu đề: {}", e.getMessage(), e);
+        } finally {
+            reloadBuffer.finish();
+        }
+    }
+
+    @EventListener
+    public void onJobEvent(JobEvent event) {
+        Job job = event.getData();
+        if (job == null || job.getId() == null || reloadBuffer.deferIfLoading(() -> apply(job))) {
+            return;
+        }
+        apply(job);
+    }
+
+    private synchronized void apply(Job job) {
+        if (Boolean.TRUE.equals(job.getActive()) && job.getDeletedAt() == null) {
+            put(job);
+        } else {
+            remove(job.getId());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<String> suggest(String query, int limit) {
+        String prefix = String.join(" ", TextNormalizer.tokenize(query));
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        return suggester.suggest(prefix, limit).stream()
+                .map(key -> {
+                    TitleStats stats = titles.get(key);
+                    return stats != null ? stats.display : null;
+                })
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private void put(Job job) {
+        String key = String.join(" ", TextNormalizer.tokenize(job.getTitle()));
+        if (key.equals(titleKeysByJob.get(job.getId()))) {
+            titles.get(key).display = job.getTitle().trim();
+            return;
+        }
+        remove(job.getId());
+        if (key.isEmpty()) {
+            return;
+        }
+
+        titleKeysByJob.put(job.getId(), key);
+        TitleStats stats = titles.computeIfAbsent(key, k -> new TitleStats());
+        stats.display = job.getTitle().trim();
+        stats.count++;
+        reweight(key, stats.count);
+    }
+
+    private void remove(String jobId) {
+        String key = titleKeysByJob.remove(jobId);
+        if (key == null) {
+            return;
+        }
+        TitleStats stats = titles.get(key);
+        stats.count--;
+        if (stats.count <= 0) {
+            titles.remove(key);
+        }
+        reweight(key, stats.count);
+    }
+
+    private void reweight(String key, int count) {
+        String[] words = key.split(" ");
+        int offset = 0;
+        for (String word : words) {
+            suggester.put(key.substring(offset), key, count);
+            offset += word.length() + 1;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.dan.job_service.services;
 import java.util.List;
 
 public interface HashtagService {
-    List<String> searchHashtags(String keyword);
+    // Top-K hashtag bắt đầu bằng keyword (không phân biệt dấu), phổ biến nhất trước
+    List<String> searchHashtags(String keyword, int limit);
 
 }
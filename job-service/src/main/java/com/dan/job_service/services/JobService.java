@@ -1,16 +1,23 @@
 package com.dan.job_service.services;
 
+import com.dan.job_service.dtos.enums.JobSortField;
 import com.dan.job_service.dtos.requets.JobRequest;
+import com.dan.job_service.dtos.requets.JobSearchRequest;
+import com.dan.job_service.dtos.responses.CursorPage;
+import com.dan.job_service.dtos.responses.DuplicateClusterResponse;
 import com.dan.job_service.dtos.responses.JobApplicationApplied;
 import com.dan.job_service.dtos.responses.JobDetail;
+import com.dan.job_service.dtos.responses.JobFacets;
 import com.dan.job_service.dtos.responses.JobsLast24HoursResponse;
 import com.dan.job_service.dtos.responses.ResponseMessage;
 import com.dan.job_service.models.Job;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 public interface JobService {
     ResponseMessage create(JobRequest jobRequest, String username);
@@ -23,10 +30,34 @@ public interface JobService {
 
     List<JobsLast24HoursResponse> getJobsPostedLast24Hours();
 
-    Page<JobDetail> getAll(String categoryId, String title, String userId, Pageable pageable); // Updated for pagination and filtering
+    Page<JobDetail> getAll(JobSearchRequest search, Pageable pageable); // Updated for pagination and filtering
+
+    // Số lượng job theo từng giá trị bộ lọc cho cùng bộ lọc của getAll
+    JobFacets getFacets(JobSearchRequest search);
+
+    // Gợi ý tiêu đề theo tiền tố khi người dùng đang gõ
+    List<String> suggestTitles(String query, int limit);
+
+    // Từ khóa đã sửa lỗi chính tả, null nếu không có gợi ý
+    String suggestCorrection(String title);
+
+    // Các job active gần nhất với job đã cho theo embedding (cosine)
+    List<JobDetail> getSimilarJobs(String id, int limit);
+
+    // Các cụm tin tuyển dụng gần trùng trong số job active, cụm lớn nhất trước
+    List<DuplicateClusterResponse> getDuplicateClusters(int limit);
 
     Page<JobDetail> getJobsByUserId(String username, Pageable pageable);
 
+    // Phân trang theo cursor (keyset), không đếm tổng số phần tử
+    CursorPage<JobDetail> getAllByCursor(JobSearchRequest search, JobSortField sortField, Sort.Direction direction,
+            String cursor, int size);
+
+    CursorPage<JobDetail> getJobsByUserIdByCursor(String username, JobSortField sortField, Sort.Direction direction,
+            String cursor, int size);
+
+    CursorPage<JobApplicationApplied> getAppliedJobsByCursor(String username, String status, String cursor, int size);
+
     ResponseMessage userUpdateJob(String id, JobRequest jobRequest, String username);
 
     Page<Job> getJobsCategoryId(String categoryId, Pageable pageable);
@@ -41,8 +72,8 @@ public interface JobService {
 
     ResponseMessage testEmJob();
 
-    // xóa công việc nếu danh mục của nó bị xóa
-    void deleteJobsByCategoryId(String categoryId);
+    // xóa công việc nếu danh mục của nó bị xóa (truyền cả cây con của danh mục)
+    void deleteJobsByCategoryIds(Collection<String> categoryIds);
 
     ResponseMessage updateJobStatus(String jobId, Boolean status, String username);
 
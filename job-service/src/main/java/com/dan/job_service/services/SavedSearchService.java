@@ -0,0 +1,14 @@
+package com.dan.job_service.services;
+
+import java.util.List;
+
+import com.dan.job_service.dtos.requets.SavedSearchRequest;
+import com.dan.job_service.dtos.responses.ResponseMessage;
+import com.dan.job_service.models.SavedSearch;
+
+public interface SavedSearchService {
+    SavedSearch create(SavedSearchRequest request, String username);
+    SavedSearch update(String id, SavedSearchRequest request, String username);
+    ResponseMessage delete(String id, String username);
+    List<SavedSearch> getMySavedSearches(String username);
+}
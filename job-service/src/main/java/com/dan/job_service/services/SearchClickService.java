@@ -1,8 +1,19 @@
 package com.dan.job_service.services;
 
+import java.util.List;
+
 import com.dan.job_service.dtos.requets.SearchClickRequest;
+import com.dan.job_service.dtos.responses.PopularSearchResponse;
+import com.dan.job_service.dtos.responses.PositionCtrResponse;
 import com.dan.job_service.models.SearchClick;
 
 public interface SearchClickService {
     SearchClick saveSearchClick(SearchClickRequest request, String username);
+
+    // Ghi nhận một trang kết quả tìm kiếm đã hiển thị (để tính CTR theo vị trí)
+    void recordSearch(String query, long offset, int resultCount);
+
+    List<PopularSearchResponse> getPopularSearches(int limit);
+
+    List<PositionCtrResponse> getCtrByPosition();
 }
@@ -1,25 +1,39 @@
 package com.dan.job_service.services.impls;
 
+import com.dan.job_service.cache.CategoryTreeCache;
 import com.dan.job_service.dtos.requets.CategoryRequest;
 import com.dan.job_service.dtos.responses.CategoryResponse;
 import com.dan.job_service.dtos.responses.ResponseMessage;
 import com.dan.job_service.models.Category;
+import com.dan.job_service.readmodel.JobDetailProjector;
 import com.dan.job_service.repositories.CategoryRepository;
 import com.dan.job_service.repositories.JobRepository;
 import com.dan.job_service.services.CategoryService;
 import com.dan.job_service.services.JobService;
 
 import org.apache.kafka.common.errors.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 public class CategoryServiceImpl implements CategoryService {
+    private static final Logger log = LoggerFactory.getLogger(CategoryServiceImpl.class);
+
     @Autowired
     private CategoryRepository categoryRepository;
     @Autowired
@@ -27,6 +41,43 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Autowired
     private JobService jobService;
+    @Autowired
+    private CategoryTreeCache categoryTreeCache;
+    @Autowired
+    private JobDetailProjector jobDetailProjector;
+
+    // Tính lại ancestors cho dữ liệu cũ chỉ có parentId
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillAncestors() {
+        try {
+            List<Category> categories = categoryRepository.findAll();
+            Map<String, Category> categoriesById = new HashMap<>();
+            categories.forEach(category -> categoriesById.put(category.getId(), category));
+
+            List<Category> changed = new ArrayList<>();
+            for (Category category : categories) {
+                List<String> ancestors = new ArrayList<>();
+                String parentId = category.getParentId();
+                // Dừng khi gặp vòng lặp hoặc cha không tồn tại
+                while (parentId != null && categoriesById.containsKey(parentId) && !ancestors.contains(parentId)
+                        && !parentId.equals(category.getId())) {
+                    ancestors.add(0, parentId);
+                    parentId = categoriesById.get(parentId).getParentId();
+                }
+                if (!ancestors.equals(category.getAncestors())) {
+                    category.setAncestors(ancestors);
+                    changed.add(category);
+                }
+            }
+            if (!changed.isEmpty()) {
+                categoryRepository.saveAll(changed);
+                categoryTreeCache.rebuild();
+            }
+            log.info("Đã cập nhật ancestors cho {} danh mục", changed.size());
+        } catch (Exception e) {
+            log.error("Lỗi khi cập nhật ancestors cho danh mục: {}", e.getMessage(), e);
+        }
+    }
 
     @Override
     public ResponseMessage create(CategoryRequest categoryRequest) {
@@ -37,8 +88,10 @@ public class CategoryServiceImpl implements CategoryService {
                     .createdAt(LocalDateTime.now())
                     .updatedAt(LocalDateTime.now())
                     .parentId(categoryRequest.parentId())
+                    .ancestors(ancestorsOf(categoryRequest.parentId()))
                     .build();
             categoryRepository.save(category);
+            categoryTreeCache.rebuild();
             return ResponseMessage.builder()
                     .status(200)
                     .message("Thêm danh mục thành công")
@@ -53,13 +106,33 @@ public class CategoryServiceImpl implements CategoryService {
         try {
             Category category = categoryRepository.findById(id)
                     .orElseThrow(() -> new ResourceNotFoundException("Danh mục không tồn tại"));
-            
+
+            List<String> oldAncestors = category.getAncestors() != null ? category.getAncestors() : List.of();
+            List<String> newAncestors = oldAncestors;
+            boolean parentChanged = !Objects.equals(category.getParentId(), categoryRequest.parentId());
+            if (parentChanged) {
+                newAncestors = ancestorsOf(categoryRequest.parentId());
+                if (id.equals(categoryRequest.parentId()) || newAncestors.contains(id)) {
+                    throw new IllegalArgumentException("Không thể chuyển danh mục vào chính cây con của nó");
+                }
+            }
+
+            boolean renamed = !Objects.equals(category.getName(), categoryRequest.name());
             category.setName(categoryRequest.name());
             category.setDescription(categoryRequest.description());
             category.setUpdatedAt(LocalDateTime.now());
             category.setParentId(categoryRequest.parentId());
-            
+            category.setAncestors(newAncestors);
+
             categoryRepository.save(category);
+            if (parentChanged) {
+                // Cập nhật đường dẫn của toàn bộ con cháu trong một lệnh
+                categoryRepository.replaceAncestorPrefix(id, oldAncestors, newAncestors);
+            }
+            categoryTreeCache.rebuild();
+            if (renamed) {
+                jobDetailProjector.onCategoryRenamed(id, category.getName());
+            }
             
             return ResponseMessage.builder()
                     .status(200)
@@ -70,6 +143,11 @@ public class CategoryServiceImpl implements CategoryService {
                     .status(404)
                     .message(e.getMessage())
                     .build();
+        } catch (IllegalArgumentException e) {
+            return ResponseMessage.builder()
+                    .status(400)
+                    .message(e.getMessage())
+                    .build();
         } catch (Exception e) {
             return ResponseMessage.builder()
                     .status(500)
@@ -81,13 +159,13 @@ public class CategoryServiceImpl implements CategoryService {
     @Override
     public ResponseMessage delete(String id) {
         return categoryRepository.findById(id).map(category -> {
-            category.setDeletedAt(LocalDateTime.now());
-            categoryRepository.save(category);
-            deleteChildrenCategories(id);
-            // xóa tất cả các công việc liên quản đến danh mục này
-            jobService.deleteJobsByCategoryId(id);
-           
-            
+            // Lấy cả cây con trước khi đánh dấu xóa, rồi xóa danh mục và công việc theo lô
+            List<String> subtreeIds = categoryRepository.findSubtreeIds(id);
+            categoryRepository.markSubtreeDeleted(id, LocalDateTime.now());
+            categoryTreeCache.rebuild();
+            // xóa tất cả các công việc liên quản đến danh mục này và các danh mục con
+            jobService.deleteJobsByCategoryIds(subtreeIds);
+
             return ResponseMessage.builder()
                     .status(200)
                     .message("Xóa danh mục thành công")
@@ -97,17 +175,17 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     public CategoryResponse getCategoryById(String id) {
-        return categoryRepository.findById(id)
+        return categoryTreeCache.get(id)
             .map(this::fromCategoryToCategoryResponse)
             .orElseThrow(() -> new RuntimeException("Danh mục không tồn tại"));
     }
 
     @Override
     public List<CategoryResponse> getCategoriesByParentId(String parentId) {
-        categoryRepository.findById(parentId)
+        categoryTreeCache.get(parentId)
             .orElseThrow(() -> new ResourceNotFoundException("Danh mục không tồn tại"));
-        
-        return categoryRepository.findByParentId(parentId)
+
+        return categoryTreeCache.children(parentId)
             .stream()
             .map(this::fromCategoryToCategoryResponse)
             .toList();
@@ -116,20 +194,16 @@ public class CategoryServiceImpl implements CategoryService {
 
     private CategoryResponse fromCategoryToCategoryResponse(Category category) {
         String parentId = category.getParentId();
-        Category pCategory = null;
-        if (parentId != null) {
-            pCategory = categoryRepository.findById(parentId)
-                    .orElse(null);
-        }
+        Category pCategory = parentId != null ? categoryTreeCache.get(parentId).orElse(null) : null;
 
         // Get child categories
-        List<CategoryResponse> childCategories = categoryRepository.findByParentId(category.getId())
+        List<CategoryResponse> childCategories = categoryTreeCache.children(category.getId())
                 .stream()
                 .map(childCategory -> CategoryResponse.builder()
                         .id(childCategory.getId())
                         .name(childCategory.getName())
                         .description(childCategory.getDescription())
-                        .totalJob(jobRepository.countByCategoryId(childCategory.getId()))
+                        .totalJob(categoryTreeCache.countJobs(childCategory.getId()))
                         .build())
                 .toList();
 
@@ -141,73 +215,63 @@ public class CategoryServiceImpl implements CategoryService {
                         .id(pCategory.getId())
                         .name(pCategory.getName())
                         .description(pCategory.getDescription())
-                        .totalJob(jobRepository.countByCategoryId(pCategory.getId()))
+                        .totalJob(categoryTreeCache.countJobs(pCategory.getId()))
                         .build() : null)
-                .totalJob(jobRepository.countByCategoryId(category.getId()))
+                .totalJob(categoryTreeCache.countJobsInSubtree(category.getId()))
                 .childrens(childCategories)
                 .build();
     }
 
-    private void deleteChildrenCategories(String parentCategoryId) {
-        List<Category> childrenCategories = categoryRepository.findByParentId(parentCategoryId);
-        childrenCategories.forEach(childCategory -> {
-            childCategory.setDeletedAt(LocalDateTime.now());
-            categoryRepository.save(childCategory);
-            jobService.deleteJobsByCategoryId(childCategory.getId());
-
-        });
+    private List<String> ancestorsOf(String parentId) {
+        if (parentId == null || parentId.isEmpty()) {
+            return List.of();
+        }
+        Category parent = categoryRepository.findById(parentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Danh mục cha không tồn tại"));
+        List<String> ancestors = new ArrayList<>(parent.getAncestors() != null ? parent.getAncestors() : List.of());
+        ancestors.add(parent.getId());
+        return ancestors;
     }
 
-   @Override
+    @Override
     public Page<CategoryResponse> getAllCategories(String keyword, Pageable pageable) {
-        Page<Category> categories;
-
         // Nếu có keyword, tìm theo tên và chưa xóa; nếu không, lấy tất cả chưa xóa
-        if (keyword != null && !keyword.trim().isEmpty()) {
-            categories = categoryRepository.findAllByNameContainingIgnoreCaseAndDeletedAtNullAndParentIdNull(keyword, pageable);
-        } else {
-            categories = categoryRepository.findByDeletedAtNullAndParentIdNull(pageable);
-        }
+        String normalizedKeyword = keyword != null && !keyword.trim().isEmpty()
+                ? keyword.toLowerCase(Locale.ROOT) : null;
+        List<Category> roots = categoryTreeCache.categories().stream()
+                .filter(category -> category.getDeletedAt() == null && category.getParentId() == null)
+                .filter(category -> normalizedKeyword == null
+                        || (category.getName() != null && category.getName().toLowerCase(Locale.ROOT).contains(normalizedKeyword)))
+                .toList();
 
-        return categories.map(category -> {
+        int from = (int) Math.min(pageable.getOffset(), roots.size());
+        int to = Math.min(from + pageable.getPageSize(), roots.size());
+        List<CategoryResponse> content = roots.subList(from, to).stream().map(category -> {
             // Lấy danh mục con chưa xóa
-            List<CategoryResponse> childCategories = categoryRepository.findByParentIdAndDeletedAtNull(category.getId())
+            List<CategoryResponse> childCategories = categoryTreeCache.children(category.getId())
                 .stream()
+                .filter(child -> child.getDeletedAt() == null)
                 .map(child -> CategoryResponse.builder()
                     .id(child.getId())
                     .name(child.getName())
                     .description(child.getDescription())
                     .deletedAt(child.getDeletedAt())
-                    .totalJob(jobRepository.countByCategoryId(child.getId()))
+                    .totalJob(categoryTreeCache.countJobs(child.getId()))
                     .build())
                 .toList();
 
-            // Lấy danh mục cha nếu có và chưa bị xóa
-            CategoryResponse parentCategoryResponse = null;
-            if (category.getParentId() != null) {
-                parentCategoryResponse = categoryRepository.findById(category.getParentId())
-                    .filter(parent -> parent.getDeletedAt() == null)
-                    .map(parent -> CategoryResponse.builder()
-                        .id(parent.getId())
-                        .name(parent.getName())
-                        .description(parent.getDescription())
-                        .deletedAt(parent.getDeletedAt())
-                        .totalJob(jobRepository.countByCategoryId(parent.getId()))
-                        .build())
-                    .orElse(null);
-            }
-
             // Trả về dữ liệu danh mục chính
             return CategoryResponse.builder()
                 .id(category.getId())
                 .name(category.getName())
                 .description(category.getDescription())
                 .deletedAt(category.getDeletedAt())
-                .parent(parentCategoryResponse)
-                .totalJob(jobRepository.countByCategoryId(category.getId()))
+                .totalJob(categoryTreeCache.countJobsInSubtree(category.getId()))
                 .childrens(childCategories)
                 .build();
-        });
+        }).toList();
+
+        return new PageImpl<>(content, pageable, roots.size());
     }
 
 }
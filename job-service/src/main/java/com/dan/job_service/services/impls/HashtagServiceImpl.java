@@ -1,29 +1,208 @@
 package com.dan.job_service.services.impls;
 
+import com.dan.events.dtos.JobEvent;
+import com.dan.job_service.concurrent.ReloadBuffer;
 import com.dan.job_service.models.Hashtag;
+import com.dan.job_service.models.Job;
 import com.dan.job_service.repositories.HashtagRepository;
+import com.dan.job_service.repositories.JobRepository;
+import com.dan.job_service.search.PrefixSuggester;
+import com.dan.job_service.search.TextNormalizer;
 import com.dan.job_service.services.HashtagService;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 @Service // Đánh dấu đây là một Spring Service Bean
 @RequiredArgsConstructor // Tự động tạo constructor cho các trường final
 public class HashtagServiceImpl implements HashtagService {
+    private static final Logger log = LoggerFactory.getLogger(HashtagServiceImpl.class);
 
     // Tiêm (Inject) HashtagRepository để sử dụng
     private final HashtagRepository hashtagRepository;
+    private final JobRepository jobRepository;
+
+    // Chỉ mục tiền tố trong bộ nhớ: khóa là tag đã bỏ dấu, trọng số = số job active dùng tag + 1
+    private final PrefixSuggester suggester = new PrefixSuggester();
+    // khóa tag -> tag hiển thị (đã có trong collection hashtag)
+    private final Map<String, String> displays = new ConcurrentHashMap<>();
+    private final Map<String, Integer> usage = new HashMap<>();
+    private final Map<String, Set<String>> tagKeysByJob = new HashMap<>();
+    private volatile boolean ready = false;
+    private final ReloadBuffer reloadBuffer = new ReloadBuffer();
+
+    // Truy vấn Mongo và ghi hashtag mới nằm ngoài lock của chỉ mục; JobEvent đến trong lúc nạp được giữ lại rồi áp sau
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reloadBuffer.start();
+        try {
+            List<Hashtag> hashtags = hashtagRepository.findAll();
+            List<Job> activeJobs = jobRepository.findByActiveTrue();
+            // Bổ sung vào collection các tag đang dùng trong job nhưng chưa từng được lưu
+            List<Hashtag> missing = new ArrayList<>();
+            synchronized (this) {
+                suggester.clear();
+                displays.clear();
+                usage.clear();
+                tagKeysByJob.clear();
+
+                hashtags.forEach(hashtag -> register(hashtag.getTag()));
+                for (Job job : activeJobs) {
+                    for (String tag : distinctTags(job)) {
+                        if (register(tag)) {
+                            missing.add(Hashtag.builder().tag(tag.trim()).build());
+                        }
+                    }
+                    putJob(job);
+                }
+                ready = true;
+            }
+            persist(missing);
+            log.info("Đã nạp {} hashtag vào bộ gợi ý, bổ sung {} hashtag mới", displays.size(), missing.size());
+        } catch (Exception e) {
+            log.error("Lỗi khi nạp hashtag: {}", e.getMessage(), e);
+        } finally {
+            reloadBuffer.finish();
+        }
+    }
+
+    // Nạp lúc khởi động thất bại (Mongo chưa sẵn sàng...) thì thử lại định kỳ cho tới khi thành công
+    @Scheduled(fixedDelayString = "${hashtags.reload-retry-interval-ms:30000}",
+            initialDelayString = "${hashtags.reload-retry-interval-ms:30000}")
+    public void retryLoad() {
+        if (!ready) {
+            load();
+        }
+    }
+
+    // Giữ chỉ mục và collection hashtag đồng bộ mỗi khi job được lưu
+    @EventListener
+    public void onJobEvent(JobEvent event) {
+        Job job = event.getData();
+        if (job == null || job.getId() == null || reloadBuffer.deferIfLoading(() -> apply(job))) {
+            return;
+        }
+        apply(job);
+    }
+
+    // Cập nhật chỉ mục trong lock, tag mới được ghi vào collection sau khi nhả lock
+    private void apply(Job job) {
+        List<Hashtag> created = new ArrayList<>();
+        synchronized (this) {
+            if (!ready) {
+                return;
+            }
+            if (Boolean.TRUE.equals(job.getActive()) && job.getDeletedAt() == null) {
+                distinctTags(job).stream()
+                        .filter(this::register)
+                        .forEach(tag -> created.add(Hashtag.builder().tag(tag.trim()).build()));
+                putJob(job);
+            } else {
+                removeJob(job.getId());
+            }
+        }
+        persist(created);
+    }
 
     @Override
-    public List<String> searchHashtags(String keyword) {
-        // Gọi phương thức từ repository để tìm kiếm các đối tượng Hashtag
-        List<Hashtag> hashtags = hashtagRepository.findByTagContainingIgnoreCase(keyword);
-
-        // để trả về cho controller.
-        return hashtags.stream()
-                       .map(Hashtag::getTag)
-                       .collect(Collectors.toList());
+    public List<String> searchHashtags(String keyword, int limit) {
+        if (!ready) {
+            // Chưa nạp được chỉ mục: truy vấn tiền tố neo "^" trên index unique của tag (phân biệt hoa thường),
+            // Mongo chỉ duyệt đoạn index khớp tiền tố chứ không quét toàn bộ collection
+            String prefix = "^" + Pattern.quote(keyword.trim());
+            return hashtagRepository.findByTagRegex(prefix, PageRequest.of(0, limit)).stream()
+                    .map(Hashtag::getTag)
+                    .toList();
+        }
+        // Chỉ trả về top-K theo độ phổ biến, không quét toàn bộ collection
+        return suggester.suggest(key(keyword), limit).stream()
+                .map(displays::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // Trả về true nếu là tag mới
+    private boolean register(String tag) {
+        String key = key(tag);
+        if (key.isEmpty() || displays.containsKey(key)) {
+            return false;
+        }
+        displays.put(key, tag.trim());
+        reweight(key);
+        return true;
+    }
+
+    // Ghi từng tag để một tag đã tồn tại (instance khác vừa ghi) không làm hỏng các tag còn lại
+    private void persist(List<Hashtag> hashtags) {
+        for (Hashtag hashtag : hashtags) {
+            try {
+                hashtagRepository.save(hashtag);
+            } catch (DuplicateKeyException e) {
+                log.debug("Hashtag {} đã tồn tại", hashtag.getTag());
+            } catch (Exception e) {
+                log.error("Lỗi khi lưu hashtag {}: {}", hashtag.getTag(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void putJob(Job job) {
+        Set<String> keys = new LinkedHashSet<>();
+        distinctTags(job).forEach(tag -> keys.add(key(tag)));
+        keys.remove("");
+
+        Set<String> previous = tagKeysByJob.put(job.getId(), keys);
+        if (previous != null) {
+            previous.stream().filter(key -> !keys.contains(key)).forEach(key -> changeUsage(key, -1));
+        }
+        keys.stream().filter(key -> previous == null || !previous.contains(key)).forEach(key -> changeUsage(key, 1));
+    }
+
+    private void removeJob(String jobId) {
+        Set<String> previous = tagKeysByJob.remove(jobId);
+        if (previous != null) {
+            previous.forEach(key -> changeUsage(key, -1));
+        }
+    }
+
+    private void changeUsage(String key, int delta) {
+        usage.merge(key, delta, Integer::sum);
+        if (usage.get(key) <= 0) {
+            usage.remove(key);
+        }
+        reweight(key);
+    }
+
+    private void reweight(String key) {
+        suggester.put(key, key, usage.getOrDefault(key, 0) + 1L);
+    }
+
+    private static Set<String> distinctTags(Job job) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (job.getTags() != null) {
+            job.getTags().stream()
+                    .filter(tag -> tag != null && !tag.isBlank())
+                    .forEach(tags::add);
+        }
+        return tags;
+    }
+
+    private static String key(String tag) {
+        return tag == null ? "" : TextNormalizer.fold(tag.trim());
     }
 }
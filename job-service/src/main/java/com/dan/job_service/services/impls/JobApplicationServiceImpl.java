@@ -1,8 +1,11 @@
 package com.dan.job_service.services.impls;
 
 import com.dan.events.dtos.RecentActivityApplicationMessage;
+import com.dan.job_service.concurrent.FanOutScope;
 import com.dan.job_service.controllers.JobApplicationController;
 import com.dan.job_service.dtos.enums.ApplicationStatus;
+import com.dan.job_service.dtos.projections.DistinctApplicant;
+import com.dan.job_service.dtos.projections.UserApplicationCount;
 import com.dan.job_service.dtos.requets.JobApplicationRequest;
 import com.dan.job_service.dtos.responses.JobApplicationResponse;
 import com.dan.job_service.dtos.responses.JobApplicationDetailResponse;
@@ -15,6 +18,7 @@ import com.dan.job_service.dtos.responses.UserProfileDetail;
 import com.dan.job_service.dtos.responses.UserProfileDetailResponse;
 import com.dan.job_service.http_clients.IdentityServiceClient;
 import com.dan.job_service.http_clients.ProfileServiceClient;
+import com.dan.job_service.http_clients.UserBatchResolver;
 import com.dan.job_service.models.Job;
 import com.dan.job_service.models.JobApplication;
 import com.dan.job_service.repositories.JobApplicationRepository;
@@ -29,11 +33,14 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.slf4j.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -43,7 +50,11 @@ public class JobApplicationServiceImpl implements JobApplicationService {
     private final JobRepository jobRepository;
     private final IdentityServiceClient identityServiceClient;
     private final ProfileServiceClient profileServiceClient;
+    private final UserBatchResolver userBatchResolver;
     private static final Logger logger = LoggerFactory.getLogger(JobApplicationController.class);
+    private static final int PROFILE_FETCH_PARALLELISM = 8;
+    private static final Duration PROFILE_FETCH_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration REMOTE_CALL_TIMEOUT = Duration.ofSeconds(10);
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
     @Override
@@ -121,15 +132,22 @@ public class JobApplicationServiceImpl implements JobApplicationService {
             }
 
             Page<JobApplication> jobApplications = jobApplicationRepository.findByUserId(user.getId(), pageable);
+            if (jobApplications.isEmpty()) {
+                return new PageImpl<>(List.of(), pageable, jobApplications.getTotalElements());
+            }
+
+            // Mọi đơn trên trang đều của cùng một ứng viên: hồ sơ và số đơn đã duyệt chỉ lấy một lần,
+            // các job lấy bằng một lần findAllById
+            UserProfileDetailResponse userProfile = profileServiceClient.getProfileByUserId(user.getId());
+            long countApplied = countAppliedSuccess(user.getId());
+            Map<String, Job> jobs = findJobsByIds(jobApplications.getContent());
 
             List<JobApplicationResponse> responseList = jobApplications.getContent().stream()
                     .map(application -> {
-                        Job job = jobRepository.findById(application.getJobId())
-                                .orElseThrow(() -> new RuntimeException("Không tìm thấy công việc"));
-
-                        UserProfileDetailResponse userProfile = profileServiceClient
-                                .getProfileByUserId(application.getUserId());
-                        long countApplied = countAppliedSuccess(user.getId());
+                        Job job = jobs.get(application.getJobId());
+                        if (job == null) {
+                            throw new RuntimeException("Không tìm thấy công việc");
+                        }
 
                         return JobApplicationResponse.builder()
                                 .id(application.getId())
@@ -171,13 +189,24 @@ public class JobApplicationServiceImpl implements JobApplicationService {
         }
 
         Page<JobApplication> jobApplications = jobApplicationRepository.findByJobId(jobId, pageable);
+        // Làm giàu theo trang: người dùng qua một lần gọi hàng loạt, hồ sơ gọi song song,
+        // số đơn đã duyệt của mọi ứng viên trong một lần $group; mỗi dòng chỉ còn ghép dữ liệu trong bộ nhớ
+        Set<String> applicantIds = jobApplications.getContent().stream()
+                .map(JobApplication::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, UserDetailToCreateJob> users = userBatchResolver.loadAll(applicantIds);
+        Map<String, UserProfileDetailResponse> profiles = fetchProfiles(applicantIds,
+                profileServiceClient::getProfileByUserId);
+        Map<String, Long> approvedCounts = countApprovedByUserIds(applicantIds);
 
         List<JobApplicationResponse> responseList = jobApplications.getContent().stream()
                 .map(application -> {
-                    UserDetailToCreateJob user = identityServiceClient.getUserById(application.getUserId());
-                    UserProfileDetailResponse userProfile = profileServiceClient
-                            .getProfileByUserId(application.getUserId());
-                    long countApplied = countAppliedSuccess(application.getUserId());
+                    UserDetailToCreateJob user = users.getOrDefault(application.getUserId(),
+                            new UserDetailToCreateJob());
+                    UserProfileDetailResponse userProfile = profiles.getOrDefault(application.getUserId(),
+                            new UserProfileDetailResponse());
+                    long countApplied = approvedCounts.getOrDefault(application.getUserId(), 0L);
 
                     return JobApplicationResponse.builder()
                             .id(application.getId())
@@ -252,32 +281,28 @@ public class JobApplicationServiceImpl implements JobApplicationService {
         jobRepository.findById(jobId)
                 .orElseThrow(() -> new RuntimeException("Không tìm thấy công việc với ID: " + jobId));
 
-        Page<JobApplication> jobApplications = jobApplicationRepository.findByJobId(jobId, pageable);
-
-        if (jobApplications.isEmpty()) {
+        // Mỗi ứng viên một dòng, tổng số ứng viên và số đơn đã duyệt lấy trong cùng một lần aggregate
+        Page<DistinctApplicant> applicants = jobApplicationRepository.findDistinctApplicantsByJobId(jobId, pageable);
+        if (applicants.getTotalElements() == 0) {
             throw new ResourceNotFoundException("Không tìm thấy đơn ứng tuyển cho công việc với ID: " + jobId);
         }
 
-        // --- PHẦN THAY ĐỔI BẮT ĐẦU TỪ ĐÂY ---
-
-        // Sử dụng một Set để lưu trữ các userId đã được xử lý
-        Set<String> seenUserIds = new HashSet<>();
+        Set<String> applicantIds = applicants.getContent().stream()
+                .map(DistinctApplicant::getUserId)
+                .collect(Collectors.toSet());
+        Map<String, UserProfileDetail> profiles = fetchProfiles(applicantIds,
+                profileServiceClient::getPublicProfileByUserId);
 
-        List<JobApplicationProfileResponse> responseList = jobApplications.getContent().stream()
-                // Lọc danh sách, chỉ giữ lại những application có userId chưa xuất hiện
-                .filter(application -> seenUserIds.add(application.getUserId()))
-
-                // Ánh xạ những application đã được lọc
-                .map(application -> {
-                    UserProfileDetail userProfile = profileServiceClient
-                            .getPublicProfileByUserId(application.getUserId());
-
-                    Integer totalCountJobDone = jobApplicationRepository.countByUserIdAndStatus(application.getUserId(),
-                            ApplicationStatus.APPROVED);
+        List<JobApplicationProfileResponse> responseList = applicants.getContent().stream()
+                .map(applicant -> {
+                    JobApplication application = applicant.getApplication();
+                    // Không lấy được hồ sơ thì vẫn giữ dòng với hồ sơ trống, để trang không ít dòng hơn tổng số báo về
+                    UserProfileDetail userProfile = profiles.getOrDefault(applicant.getUserId(),
+                            new UserProfileDetail());
 
                     return JobApplicationProfileResponse.builder()
                             .id(application.getId())
-                            .userId(userProfile.getUserId())
+                            .userId(applicant.getUserId())
                             .name(userProfile.getName())
                             .enabled(userProfile.isEnabled())
                             .email(userProfile.getEmail())
@@ -291,18 +316,62 @@ public class JobApplicationServiceImpl implements JobApplicationService {
                             .offerSkill(application.getOfferSkill())
                             .offerSalary(application.getOfferSalary())
                             .status(application.getStatus())
-                            .totalCountJobDone(totalCountJobDone)
+                            .totalCountJobDone((int) applicant.getApprovedCount())
                             .build();
                 })
                 .collect(Collectors.toList());
 
-        // Lưu ý: Tổng số phần tử trả về có thể khác với tổng số phần tử ban đầu
-        // sau khi đã lọc. Chúng ta sẽ tạo Page mới với số lượng thực tế.
+        return new PageImpl<>(responseList, pageable, applicants.getTotalElements());
+    }
 
-        logger.info("Total elements after filtering: {}", responseList);
-        return new PageImpl<>(responseList, pageable, jobApplications.getTotalElements());
-        // Nếu bạn muốn totalElements phản ánh số lượng sau khi lọc, bạn cần
-        // một truy vấn khác để đếm số lượng userId duy nhất.
+    private Map<String, Job> findJobsByIds(List<JobApplication> applications) {
+        Set<String> jobIds = applications.stream()
+                .map(JobApplication::getJobId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Job> jobs = new HashMap<>();
+        jobRepository.findAllById(jobIds).forEach(job -> jobs.put(job.getId(), job));
+        return jobs;
+    }
+
+    private Map<String, Long> countApprovedByUserIds(Set<String> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return jobApplicationRepository.countApprovedByUserIds(userIds).stream()
+                .collect(Collectors.toMap(UserApplicationCount::getUserId, UserApplicationCount::getCount));
+    }
+
+    // profile-service chưa có API lấy hàng loạt: gọi song song trên virtual thread, giới hạn số lời gọi đồng thời.
+    // Lỗi của từng hồ sơ chỉ được ghi log để không hủy các lời gọi còn lại trong scope
+    private <T> Map<String, T> fetchProfiles(Set<String> userIds, Function<String, T> loader) {
+        Map<String, T> profiles = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return profiles;
+        }
+
+        Map<String, FanOutScope.Subtask<T>> subtasks = new HashMap<>();
+        try (FanOutScope scope = FanOutScope.open(PROFILE_FETCH_TIMEOUT, PROFILE_FETCH_PARALLELISM)) {
+            for (String userId : userIds) {
+                subtasks.put(userId, scope.fork(() -> {
+                    try {
+                        return loader.apply(userId);
+                    } catch (Exception e) {
+                        logger.error("Lỗi khi lấy hồ sơ cho userId {}: {}", userId, e.getMessage(), e);
+                        return null;
+                    }
+                }));
+            }
+            scope.join();
+        }
+
+        subtasks.forEach((userId, subtask) -> {
+            T profile = subtask.get();
+            if (profile != null) {
+                profiles.put(userId, profile);
+            }
+        });
+        return profiles;
     }
 
     @Override
@@ -318,9 +387,18 @@ public class JobApplicationServiceImpl implements JobApplicationService {
         Job job = jobRepository.findById(application.getJobId())
                 .orElseThrow(() -> new RuntimeException("Không tìm thấy công việc"));
 
-        // Get client info
-        UserDetailToCreateJob clientUser = identityServiceClient.getUserById(job.getUserId());
-        UserDetailToCreateJob freelancerUser = identityServiceClient.getUserById(application.getUserId());
+        // Lấy thông tin khách hàng và freelancer song song
+        UserDetailToCreateJob clientUser;
+        UserDetailToCreateJob freelancerUser;
+        try (FanOutScope scope = FanOutScope.open(REMOTE_CALL_TIMEOUT)) {
+            FanOutScope.Subtask<UserDetailToCreateJob> client = scope
+                    .fork(() -> identityServiceClient.getUserById(job.getUserId()));
+            FanOutScope.Subtask<UserDetailToCreateJob> freelancer = scope
+                    .fork(() -> identityServiceClient.getUserById(application.getUserId()));
+            scope.join();
+            clientUser = client.get();
+            freelancerUser = freelancer.get();
+        }
 
         return JobApplicationDetailResponse.builder()
                 .id(application.getId())
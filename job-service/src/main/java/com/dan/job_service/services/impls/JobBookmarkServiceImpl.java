@@ -1,5 +1,8 @@
 package com.dan.job_service.services.impls;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -63,8 +66,18 @@ public class JobBookmarkServiceImpl implements JobBookmarkService{
     public Page<Job> getBookmarks(String username, Pageable pageable) {
         String userId = identityServiceClient.getUserByUsername(username).getId();
         Page<JobBookmark> jobBookmarks = jobBookmarkRepository.findByUserIdAndActiveTrue(userId, pageable);
-        
-        return jobBookmarks.map(jobBookmark -> jobRepository.findById(jobBookmark.getJobId())
-                .orElseThrow(() -> new RuntimeException("Job not found with ID: " + jobBookmark.getJobId())));
+
+        // Cả trang trong một truy vấn $in chỉ đọc các trường của thẻ, giữ thứ tự của bookmark
+        Map<String, Job> jobs = new HashMap<>();
+        jobRepository.findCardsByIds(jobBookmarks.getContent().stream().map(JobBookmark::getJobId).toList())
+                .forEach(job -> jobs.put(job.getId(), job));
+
+        return jobBookmarks.map(jobBookmark -> {
+            Job job = jobs.get(jobBookmark.getJobId());
+            if (job == null) {
+                throw new RuntimeException("Job not found with ID: " + jobBookmark.getJobId());
+            }
+            return job;
+        });
     }
 }
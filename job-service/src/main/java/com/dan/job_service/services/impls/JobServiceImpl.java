@@ -1,8 +1,15 @@
 package com.dan.job_service.services.impls;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.dan.job_service.dtos.responses.JobsLast24HoursResponse;
@@ -14,6 +21,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,16 +31,29 @@ import com.dan.events.dtos.EventAddJobDataForRecommend;
 import com.dan.events.dtos.JobEvent;
 import com.dan.events.dtos.RecentActivityJobMessage;
 import com.dan.events.dtos.RecentActivityRevenueMessage;
+import com.dan.job_service.dtos.enums.JobSortField;
+import com.dan.job_service.dtos.projections.JobIdOnly;
 import com.dan.job_service.dtos.requets.JobRequest;
+import com.dan.job_service.dtos.requets.JobSearchRequest;
+import com.dan.job_service.dtos.responses.CursorPage;
+import com.dan.job_service.dtos.responses.DuplicateClusterResponse;
 import com.dan.job_service.dtos.responses.JobApplicationApplied;
 import com.dan.job_service.dtos.responses.JobDetail;
+import com.dan.job_service.dtos.responses.JobFacets;
 import com.dan.job_service.dtos.responses.ResponseMessage;
 import com.dan.job_service.dtos.responses.UserDetailToCreateJob;
+import com.dan.job_service.cache.CategoryTreeCache;
+import com.dan.job_service.concurrent.FanOutScope;
+import com.dan.job_service.catalog.ActiveJobCatalog;
 import com.dan.job_service.http_clients.IdentityServiceClient;
+import com.dan.job_service.http_clients.UserBatchResolver;
 import com.dan.job_service.models.Category;
 import com.dan.job_service.models.Job;
 import com.dan.job_service.repositories.CategoryRepository;
 import com.dan.job_service.repositories.JobRepository;
+import com.dan.job_service.repositories.JobSearchSpec;
+import com.dan.job_service.repositories.KeysetCursor;
+import com.dan.job_service.repositories.JobApplicationRepositoryCustomImpl;
 import com.dan.job_service.repositories.JobProgressRepository;
 import com.dan.job_service.services.DateFormatter;
 import com.dan.job_service.services.JobService;
@@ -42,11 +64,25 @@ import com.dan.job_service.repositories.JobApplicationRepository;
 import com.dan.job_service.repositories.JobEmbeddingRepository;
 import com.dan.job_service.models.JobApplication;
 import com.dan.job_service.models.JobEmbedding;
+import com.dan.job_service.search.JobSearchIndex;
+import com.dan.job_service.dedup.DuplicateJobDetector;
+import com.dan.job_service.models.JobDetailView;
+import com.dan.job_service.readmodel.JobDetailProjector;
+import com.dan.job_service.repositories.JobDetailViewRepository;
+import com.dan.job_service.similarity.HnswIndex;
+import com.dan.job_service.similarity.SimilarJobIndex;
+import com.dan.job_service.search.SpellingCorrector;
+import com.dan.job_service.search.TitleSuggester;
 import org.springframework.web.multipart.MultipartFile;
 
 @Service
 public class JobServiceImpl implements JobService {
     private static final Logger log = LoggerFactory.getLogger(JobServiceImpl.class);
+    // Upload file nằm trong scope nên hạn chót rộng hơn các lời gọi tra cứu
+    private static final Duration JOB_CREATE_TIMEOUT = Duration.ofSeconds(60);
+    private static final String[] APPLIED_JOB_FIELDS = {
+            "title", "shortDescription", "salaryMin", "salaryMax", "applicationDeadline", "done"
+    };
 
     @Autowired
     private JobRepository jobRepository;
@@ -66,22 +102,66 @@ public class JobServiceImpl implements JobService {
     private JobEmbeddingRepository jobEmbeddingRepository;
     @Autowired
     private FileServiceClient fileServiceClient;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+    @Autowired
+    private ActiveJobCatalog activeJobCatalog;
+    @Autowired
+    private CategoryTreeCache categoryTreeCache;
+    @Autowired
+    private TitleSuggester titleSuggester;
+    @Autowired
+    private SpellingCorrector spellingCorrector;
+    @Autowired
+    private SimilarJobIndex similarJobIndex;
+    @Autowired
+    private DuplicateJobDetector duplicateJobDetector;
+    @Autowired
+    private JobDetailViewRepository jobDetailViewRepository;
+    @Autowired
+    private JobDetailProjector jobDetailProjector;
+    @Autowired
+    private UserBatchResolver userBatchResolver;
 
     @Override
     @Transactional
     public ResponseMessage create(JobRequest jobRequest, String username) {
         try {
-            Category category = categoryRepository
-                    .findById(jobRequest.categoryId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy danh mục"));
-
-            UserDetailToCreateJob user = identityServiceClient.getUserByUsername(username);
-            String userId = user.getId();
-
             if (jobRequest.salaryMin() > jobRequest.salaryMax()) {
                 throw new RuntimeException("Lương tối thiểu không được lớn hơn lương tối đa");
             }
 
+            // Danh mục, người dùng và upload file không phụ thuộc nhau: chạy song song trong một scope
+            MultipartFile file = jobRequest.file();
+            List<MultipartFile> otherFiles = jobRequest.otherFiles();
+            FanOutScope.Subtask<Category> categoryTask;
+            FanOutScope.Subtask<UserDetailToCreateJob> userTask;
+            FanOutScope.Subtask<String> fileTask = null;
+            FanOutScope.Subtask<List<String>> otherFilesTask = null;
+            try (FanOutScope scope = FanOutScope.open(JOB_CREATE_TIMEOUT)) {
+                categoryTask = scope.fork(() -> categoryRepository
+                        .findById(jobRequest.categoryId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy danh mục")));
+                userTask = scope.fork(() -> identityServiceClient.getUserByUsername(username));
+                if (file != null && !file.isEmpty()) {
+                    fileTask = scope.fork(() -> fileServiceClient.uploadFile(file).get("fileCode"));
+                }
+                if (otherFiles != null && !otherFiles.isEmpty()) {
+                    otherFilesTask = scope.fork(() -> fileServiceClient.uploadMultipleFilesForJob(otherFiles));
+                }
+                scope.join();
+            } catch (RuntimeException e) {
+                deleteUploadedFiles(fileTask != null ? fileTask.getIfSucceeded() : null,
+                        otherFilesTask != null ? otherFilesTask.getIfSucceeded() : null);
+                throw e;
+            }
+
+            Category category = categoryTask.get();
+            UserDetailToCreateJob user = userTask.get();
+            String userId = user.getId();
+
             Job newJob = Job.builder()
                     .userId(userId)
                     .categoryId(category.getId())
@@ -102,18 +182,18 @@ public class JobServiceImpl implements JobService {
                     .workingType(jobRequest.workingType())
                     .workingForm(jobRequest.workingForm())
                     .build();
-
-            MultipartFile file = jobRequest.file();
-            if (file != null && !file.isEmpty()) {
-                Map<String, String> res = fileServiceClient.uploadFile(file);
-                String fileCode = res.get("fileCode");
-                newJob.setFile(fileCode);
+            if (fileTask != null) {
+                newJob.setFile(fileTask.get());
             }
-
-            if (jobRequest.otherFiles() != null && !jobRequest.otherFiles().isEmpty()) {
-                List<MultipartFile> otherFiles = jobRequest.otherFiles();
-                List<String> fileCodes = fileServiceClient.uploadMultipleFilesForJob(otherFiles);
-                newJob.setOtherImageCodes(fileCodes);
+            if (otherFilesTask != null) {
+                newJob.setOtherImageCodes(otherFilesTask.get());
+            }
+            try {
+                checkDuplicate(newJob);
+            } catch (RuntimeException e) {
+                // File đã upload song song trước khi biết tin bị từ chối
+                deleteUploadedFiles(newJob.getFile(), newJob.getOtherImageCodes());
+                throw e;
             }
 
             Job savedJob = jobRepository.save(newJob);
@@ -128,7 +208,7 @@ public class JobServiceImpl implements JobService {
 
             JobEmbedding jobEmbedding = JobEmbedding.builder()
                     .jobId(savedJob.getId())
-                    .embedding(List.of()) // Giả sử bạn sẽ cập nhật embedding sau
+                    // vector để trống, recommend-service sẽ tính và ghi sau
                     .updatedAt(LocalDateTime.now())
                     .build();
 
@@ -139,6 +219,7 @@ public class JobServiceImpl implements JobService {
                     .data(savedJob)
                     .build();
             kafkaTemplate.send("job_created", jobEvent);
+            eventPublisher.publishEvent(jobEvent);
 
             kafkaTemplate.send("create_recent_activity_job", RecentActivityJobMessage.builder()
                     .userId(user.getId())
@@ -179,6 +260,7 @@ public class JobServiceImpl implements JobService {
             existingJob.setWorkingType(jobRequest.workingType());
             existingJob.setWorkingForm(jobRequest.workingForm());
             existingJob.setStatus(jobRequest.status() != null ? jobRequest.status() : existingJob.getStatus());
+            Boolean wasActive = existingJob.getActive();
             existingJob.setActive(jobRequest.active() != null ? jobRequest.active() : existingJob.getActive());
             existingJob.setTags(jobRequest.tags() != null ? jobRequest.tags() : existingJob.getTags());
             existingJob.setDone(jobRequest.done() != null ? jobRequest.done() : existingJob.getDone());
@@ -191,6 +273,10 @@ public class JobServiceImpl implements JobService {
             } else {
                 existingJob.setDescription(existingJob.getDescription());
             }
+            existingJob.setDuplicateOf(null);
+            if (Boolean.TRUE.equals(existingJob.getActive())) {
+                checkDuplicate(existingJob);
+            }
 
             if (jobRequest.file() != null && !jobRequest.file().isEmpty()) {
                 String existingFileCode = existingJob.getFile();
@@ -224,6 +310,7 @@ public class JobServiceImpl implements JobService {
             } else {
                 kafkaTemplate.send("job_updated_without_description_change", jobEvent);
             }
+            publishJobChanged(changeType(wasActive, existingJob), existingJob);
 
             return new ResponseMessage(200, "Cập nhật công việc thành công");
         } catch (Exception e) {
@@ -259,10 +346,16 @@ public class JobServiceImpl implements JobService {
             existingJob.setUpdatedAt(LocalDateTime.now());
             existingJob.setWorkingType(jobRequest.workingType());
             existingJob.setWorkingForm(jobRequest.workingForm());
+            Boolean wasActive = existingJob.getActive();
             existingJob.setActive(jobRequest.active() != null ? jobRequest.active() : existingJob.getActive());
             existingJob.setDone(jobRequest.done() != null ? jobRequest.done() : existingJob.getDone());
             existingJob.setTags(jobRequest.tags() != null ? jobRequest.tags() : existingJob.getTags());
+            existingJob.setDuplicateOf(null);
+            if (Boolean.TRUE.equals(existingJob.getActive())) {
+                checkDuplicate(existingJob);
+            }
             jobRepository.save(existingJob);
+            publishJobChanged(changeType(wasActive, existingJob), existingJob);
 
             return new ResponseMessage(200, "Cập nhật công việc thành công");
         } catch (Exception e) {
@@ -274,9 +367,8 @@ public class JobServiceImpl implements JobService {
     @Override
     public Page<Job> getJobsCategoryId(String categoryId, Pageable pageable) {
         if (categoryId != null && !categoryId.isEmpty()) {
-            categoryRepository.findById(categoryId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy danh mục"));
-            return jobRepository.findByCategoryIdAndActiveTrue(categoryId, pageable);
+            // Gồm cả công việc thuộc các danh mục con cháu
+            return jobRepository.findByCategoryIdInAndActiveTrue(findCategorySubtree(categoryId), pageable);
         } else {
             return jobRepository.findByActiveTrue(pageable);
         }
@@ -310,6 +402,7 @@ public class JobServiceImpl implements JobService {
                     .build();
 
             kafkaTemplate.send("job_deleted", jobEvent);
+            eventPublisher.publishEvent(jobEvent);
 
             return new ResponseMessage(200, "Xóa công việc thành công");
         } catch (Exception e) {
@@ -321,17 +414,20 @@ public class JobServiceImpl implements JobService {
     @Override
     public JobDetail getJobById(String id, String username) {
         try {
-            Job job = jobRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Không tìm thấy công việc"));
+            // Trang chi tiết là nơi duy nhất đọc đầy đủ description, benefits, otherFiles
+            List<JobDetail> details = findJobDetailsInOrder(List.of(id), false);
+            if (details.isEmpty()) {
+                throw new RuntimeException("Không tìm thấy công việc");
+            }
 
             if (username != null) {
                 UserDetailToCreateJob user = identityServiceClient.getUserByUsername(username);
                 kafkaTemplate.send("job_get_job_by_id", EventAddJobDataForRecommend.builder()
                         .userId(user.getId())
-                        .jobId(job.getId())
+                        .jobId(id)
                         .build());
             }
-            return fromJobToJobDetail(job);
+            return details.get(0);
         } catch (Exception e) {
             log.error("Lỗi lấy chi tiết công việc ID {}: {}", id, e.getMessage(), e);
             throw e;
@@ -345,74 +441,278 @@ public class JobServiceImpl implements JobService {
             LocalDateTime yesterday = now.minusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
             LocalDateTime today = now.withHour(0).withMinute(0).withSecond(0).withNano(0);
 
-            List<Job> jobs = jobRepository.findByCreatedAtBetweenAndActiveTrue(yesterday, today);
-            return jobs.stream()
-                    .map(JobsLast24HoursResponse::fromJobToJobLast24Hours)
-                    .collect(Collectors.toList());
+            return jobRepository.findSummariesByCreatedAtBetweenAndActiveTrue(yesterday, today);
         } catch (Exception e) {
             log.error("Lỗi lấy danh sách công việc 24h: {}", e.getMessage(), e);
             throw e;
         }
     }
 
-   @Override
-public Page<JobDetail> getAll(String categoryId, String title, String userId, Pageable pageable) {
-    try {
-        log.info("Lấy danh sách công việc với categoryId: {}, title: {}, userId: {}, pageable: {}", 
-                categoryId, title, userId, pageable);
-        Page<Job> jobsPage;
+    @Override
+    public Page<JobDetail> getAll(JobSearchRequest search, Pageable pageable) {
+        try {
+            log.info("Lấy danh sách công việc với bộ lọc: {}, pageable: {}", search, pageable);
+
+            JobSearchSpec spec = toSearchSpec(search);
+            Page<String> idsPage;
+            if (activeJobCatalog.isReady() && activeJobCatalog.supports(spec)) {
+                // Lọc + sắp xếp trên catalog trong bộ nhớ, chỉ tải các job của trang hiện tại
+                idsPage = searchByCatalog(spec, pageable);
+            } else if (spec.getIds() != null && pageable.getSort().isUnsorted()) {
+                idsPage = searchByIndex(spec, pageable);
+            } else {
+                // Có sắp xếp tường minh thì Mongo sắp trên tập kết quả, nếu không giữ thứ tự liên quan (BM25)
+                idsPage = jobRepository.searchIds(spec, pageable);
+            }
 
-        // Kiểm tra categoryId có tồn tại không
-        if (categoryId != null && !categoryId.isEmpty()) {
-            categoryRepository.findById(categoryId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy danh mục"));
+            // Trang id -> một truy vấn trên job_details, chỉ các trường của thẻ
+            List<JobDetail> jobDetails = findJobDetailsInOrder(idsPage.getContent(), true);
+
+            log.info("Số lượng công việc tìm thấy: {}", idsPage.getTotalElements());
+            return new PageImpl<>(jobDetails, pageable, idsPage.getTotalElements());
+        } catch (Exception e) {
+            log.error("Lỗi lấy danh sách công việc: {}", e.getMessage(), e);
+            throw e;
         }
+    }
 
-        // Kết hợp các điều kiện lọc
-        if (userId != null && !userId.isEmpty()) {
-            if (categoryId != null && !categoryId.isEmpty() && title != null && !title.isEmpty()) {
-                jobsPage = jobRepository.findByUserIdAndCategoryIdAndTitleContainingIgnoreCaseAndActiveTrue(
-                        userId, categoryId, title, pageable);
-            } else if (categoryId != null && !categoryId.isEmpty()) {
-                jobsPage = jobRepository.findByUserIdAndCategoryIdAndActiveTrue(userId, categoryId, pageable);
-            } else if (title != null && !title.isEmpty()) {
-                jobsPage = jobRepository.findByUserIdAndTitleContainingIgnoreCaseAndActiveTrue(userId, title, pageable);
-            } else {
-                jobsPage = jobRepository.findJobsByUserIdAndActiveTrue(userId, pageable);
+    @Override
+    public JobFacets getFacets(JobSearchRequest search) {
+        try {
+            log.info("Thống kê facet với bộ lọc: {}", search);
+            JobSearchSpec spec = toSearchSpec(search);
+            if (!activeJobCatalog.isReady() || !activeJobCatalog.supports(spec)) {
+                throw new RuntimeException("Dữ liệu thống kê bộ lọc chưa sẵn sàng, vui lòng thử lại sau");
             }
-        } else {
-            if (categoryId != null && !categoryId.isEmpty() && title != null && !title.isEmpty()) {
-                jobsPage = jobRepository.findByCategoryIdAndTitleContainingIgnoreCaseAndActiveTrue(categoryId, title, pageable);
-            } else if (categoryId != null && !categoryId.isEmpty()) {
-                jobsPage = jobRepository.findByCategoryIdAndActiveTrue(categoryId, pageable);
-            } else if (title != null && !title.isEmpty()) {
-                jobsPage = jobRepository.findByTitleContainingIgnoreCaseAndActiveTrue(title, pageable);
-            } else {
-                jobsPage = jobRepository.findByActiveTrue(pageable);
+            return activeJobCatalog.facets(spec);
+        } catch (Exception e) {
+            log.error("Lỗi thống kê facet: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<String> suggestTitles(String query, int limit) {
+        if (query == null || query.isBlank() || !titleSuggester.isReady()) {
+            return List.of();
+        }
+        return titleSuggester.suggest(query, limit);
+    }
+
+    @Override
+    public String suggestCorrection(String title) {
+        if (title == null || title.isBlank() || !spellingCorrector.isReady()) {
+            return null;
+        }
+        String corrected = spellingCorrector.correct(title);
+        if (corrected != null) {
+            log.info("Gợi ý sửa từ khóa '{}' thành '{}'", title, corrected);
+        }
+        return corrected;
+    }
+
+    @Override
+    public List<DuplicateClusterResponse> getDuplicateClusters(int limit) {
+        if (!duplicateJobDetector.isReady()) {
+            throw new RuntimeException("Chỉ mục phát hiện tin trùng chưa sẵn sàng, vui lòng thử lại sau");
+        }
+        List<List<String>> clusters = duplicateJobDetector.clusters().stream().limit(limit).toList();
+        Map<String, Job> jobsById = jobRepository
+                .findAllById(clusters.stream().flatMap(List::stream).toList()).stream()
+                .collect(Collectors.toMap(Job::getId, job -> job));
+
+        return clusters.stream()
+                .map(cluster -> DuplicateClusterResponse.builder()
+                        .size(cluster.size())
+                        .jobs(cluster.stream()
+                                .map(jobsById::get)
+                                .filter(Objects::nonNull)
+                                .map(job -> DuplicateClusterResponse.Item.builder()
+                                        .jobId(job.getId())
+                                        .title(job.getTitle())
+                                        .userId(job.getUserId())
+                                        .duplicateOf(job.getDuplicateOf())
+                                        .createdAt(job.getCreatedAt())
+                                        .build())
+                                .toList())
+                        .build())
+                .toList();
+    }
+
+    // Dọn các file đã upload khi tạo công việc thất bại; lỗi khi xóa chỉ ghi log
+    private void deleteUploadedFiles(String fileCode, List<String> otherFileCodes) {
+        List<String> fileCodes = new ArrayList<>();
+        if (fileCode != null) {
+            fileCodes.add(fileCode);
+        }
+        if (otherFileCodes != null) {
+            fileCodes.addAll(otherFileCodes);
+        }
+        for (String code : fileCodes) {
+            try {
+                fileServiceClient.deleteFileByFileCode(code);
+            } catch (Exception e) {
+                log.warn("Không xóa được file {} sau khi tạo công việc thất bại: {}", code, e.getMessage());
             }
         }
+    }
 
-        List<JobDetail> jobDetails = jobsPage.getContent().stream()
-                .map(this::fromJobToJobDetail)
-                .collect(Collectors.toList());
+    // Cùng nhà tuyển dụng đăng lại tin gần trùng với tin đang active thì từ chối;
+    // khác nhà tuyển dụng thì vẫn cho đăng nhưng đánh dấu duplicateOf để admin xem xét
+    private void checkDuplicate(Job job) {
+        List<DuplicateJobDetector.Match> matches = duplicateJobDetector.findDuplicates(job);
+        if (matches.isEmpty()) {
+            return;
+        }
+        for (DuplicateJobDetector.Match match : matches) {
+            if (Objects.equals(match.userId(), job.getUserId())) {
+                throw new RuntimeException("Tin tuyển dụng gần trùng với công việc đang hoạt động của bạn (ID "
+                        + match.jobId() + "), hãy cập nhật tin cũ thay vì đăng lại");
+            }
+        }
+        DuplicateJobDetector.Match best = matches.get(0);
+        job.setDuplicateOf(best.jobId());
+        log.warn("Tin tuyển dụng '{}' gần trùng với công việc {} (độ giống {})",
+                job.getTitle(), best.jobId(), String.format("%.2f", best.similarity()));
+    }
 
-        log.info("Số lượng công việc tìm thấy: {}", jobsPage.getTotalElements());
-        return new PageImpl<>(jobDetails, pageable, jobsPage.getTotalElements());
-    } catch (Exception e) {
-        log.error("Lỗi lấy danh sách công việc: {}", e.getMessage(), e);
-        throw e;
+    @Override
+    public List<JobDetail> getSimilarJobs(String id, int limit) {
+        if (!similarJobIndex.isReady()) {
+            throw new RuntimeException("Chỉ mục job tương tự chưa sẵn sàng, vui lòng thử lại sau");
+        }
+        List<String> similarIds = similarJobIndex.findSimilar(id, limit).stream()
+                .map(HnswIndex.Neighbor::key)
+                .toList();
+        // job_details không giữ job đã xóa, chỉ cần lọc job bị tắt
+        return findJobDetailsInOrder(similarIds, true).stream()
+                .filter(detail -> Boolean.TRUE.equals(detail.getActive()))
+                .toList();
+    }
+
+    // Lọc danh mục theo cả cây con; tìm theo tiêu đề qua chỉ mục trong bộ nhớ thay vì quét regex trên collection
+    private JobSearchSpec toSearchSpec(JobSearchRequest search) {
+        JobSearchSpec spec = JobSearchSpec.from(search);
+        if (search.categoryId() != null && !search.categoryId().isEmpty()) {
+            spec = spec.toBuilder().categoryIds(findCategorySubtree(search.categoryId())).build();
+        }
+        if (search.hasTitle() && jobSearchIndex.isReady()) {
+            spec = spec.toBuilder().ids(jobSearchIndex.search(search.title())).build();
+        }
+        return spec;
+    }
+
+    private List<String> findCategorySubtree(String categoryId) {
+        List<String> subtreeIds = categoryTreeCache.subtreeIds(categoryId);
+        if (subtreeIds.isEmpty()) {
+            throw new ResourceNotFoundException("Không tìm thấy danh mục");
+        }
+        return subtreeIds;
+    }
+
+    private Page<String> searchByCatalog(JobSearchSpec spec, Pageable pageable) {
+        JobSortField sortField = null;
+        Sort.Direction direction = Sort.Direction.DESC;
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(null);
+        if (order != null) {
+            sortField = JobSortField.fromField(order.getProperty());
+            direction = order.getDirection();
+        }
+
+        ActiveJobCatalog.CatalogPage page = activeJobCatalog.query(spec, sortField, direction,
+                pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(page.ids(), pageable, page.total());
+    }
+
+    private Page<String> searchByIndex(JobSearchSpec spec, Pageable pageable) {
+        List<String> rankedIds = spec.getIds().stream().toList();
+        if (!rankedIds.isEmpty()) {
+            // Các bộ lọc còn lại chạy trên tập id đã khớp, chỉ lấy _id
+            Set<String> matchedIds = new HashSet<>(jobRepository.searchIds(spec));
+            rankedIds = rankedIds.stream().filter(matchedIds::contains).toList();
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        return new PageImpl<>(rankedIds.subList(from, to), pageable, rankedIds.size());
+    }
+
+    @Override
+    public CursorPage<JobDetail> getAllByCursor(JobSearchRequest search, JobSortField sortField,
+            Sort.Direction direction, String cursor, int size) {
+        JobSearchSpec spec = toSearchSpec(search);
+        return findJobsAfter(spec, sortField, direction, cursor, size);
+    }
+
+    @Override
+    public CursorPage<JobDetail> getJobsByUserIdByCursor(String username, JobSortField sortField,
+            Sort.Direction direction, String cursor, int size) {
+        String userId = identityServiceClient.getUserByUsername(username).getId();
+        return findJobsAfter(JobSearchSpec.builder().userId(userId).build(), sortField, direction, cursor, size);
+    }
+
+    private CursorPage<JobDetail> findJobsAfter(JobSearchSpec spec, JobSortField sortField,
+            Sort.Direction direction, String cursor, int size) {
+        // Cursor gắn với cả trường và chiều sắp xếp, không dùng lẫn giữa các kiểu sắp xếp
+        String sortKey = sortField.name() + ":" + direction.name();
+        KeysetCursor after = cursor == null || cursor.isEmpty() ? null : KeysetCursor.decode(cursor, sortKey);
+
+        // Lấy dư một phần tử để biết còn trang sau mà không cần count
+        List<Job> jobs = jobRepository.searchAfter(spec, sortField, direction, after, size + 1);
+        boolean hasNext = jobs.size() > size;
+        if (hasNext) {
+            jobs = jobs.subList(0, size);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            Job last = jobs.get(jobs.size() - 1);
+            nextCursor = new KeysetCursor(sortKey, sortField.format(last), last.getId()).encode();
+        }
+
+        return CursorPage.<JobDetail>builder()
+                .content(fromJobsToJobDetails(jobs))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    public CursorPage<JobApplicationApplied> getAppliedJobsByCursor(String username, String status, String cursor,
+            int size) {
+        String userId = identityServiceClient.getUserByUsername(username).getId();
+        String sortKey = JobApplicationRepositoryCustomImpl.APPLIED_AT;
+        KeysetCursor after = cursor == null || cursor.isEmpty() ? null : KeysetCursor.decode(cursor, sortKey);
+
+        List<JobApplication> applications = jobApplicationRepository.findByUserIdAfter(userId, status, after, size + 1);
+        boolean hasNext = applications.size() > size;
+        if (hasNext) {
+            applications = applications.subList(0, size);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            JobApplication last = applications.get(applications.size() - 1);
+            String appliedAt = last.getAppliedAt() != null ? last.getAppliedAt().toString() : null;
+            nextCursor = new KeysetCursor(sortKey, appliedAt, last.getId()).encode();
+        }
+
+        return CursorPage.<JobApplicationApplied>builder()
+                .content(toAppliedJobs(applications))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
     }
-}
 
     @Override
     public Page<JobDetail> getJobsByUserId(String username, Pageable pageable) {
         String userId = identityServiceClient.getUserByUsername(username).getId();
-        Page<Job> jobsPage = jobRepository.findJobsByUserIdAndActiveTrue(userId, pageable);
-        List<JobDetail> jobDetails = jobsPage.getContent().stream()
-                .map(this::fromJobToJobDetail)
-                .collect(Collectors.toList());
+        Page<String> idsPage = jobRepository.findIdsByUserIdAndActiveTrue(userId, pageable).map(JobIdOnly::getId);
+        List<JobDetail> jobDetails = findJobDetailsInOrder(idsPage.getContent(), true);
 
-        return new PageImpl<>(jobDetails, pageable, jobsPage.getTotalElements());
+        return new PageImpl<>(jobDetails, pageable, idsPage.getTotalElements());
     }
 
 @Override
@@ -428,10 +728,28 @@ public Page<JobApplicationApplied> getAppliedJobs(String username, Pageable page
             userApplications = jobApplicationRepository.findByUserId(userId, pageable);
         }
 
-        List<JobApplicationApplied> appliedJobs = userApplications.getContent()
-            .stream()
+        List<JobApplicationApplied> appliedJobs = toAppliedJobs(userApplications.getContent());
+
+        return new PageImpl<>(appliedJobs, pageable, userApplications.getTotalElements());
+    } catch (Exception e) {
+        log.error("Error getting applied jobs for user {}: {}", username, e.getMessage(), e);
+        throw e;
+    }
+}
+
+
+    // Một truy vấn $in cho cả trang, chỉ đọc các trường JobApplicationApplied cần
+    private List<JobApplicationApplied> toAppliedJobs(List<JobApplication> applications) {
+        Set<String> jobIds = applications.stream()
+                .map(JobApplication::getJobId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Job> jobs = jobRepository.findAllByIdWithFields(jobIds, APPLIED_JOB_FIELDS).stream()
+                .collect(Collectors.toMap(Job::getId, job -> job));
+
+        return applications.stream()
             .map(application -> {
-                Job job = jobRepository.findById(application.getJobId()).orElse(null);
+                Job job = jobs.get(application.getJobId());
                 if (job == null) return null;
                 return JobApplicationApplied.builder()
                         .id(job.getId())
@@ -446,79 +764,78 @@ public Page<JobApplicationApplied> getAppliedJobs(String username, Pageable page
             })
             .filter(dto -> dto != null)
             .collect(Collectors.toList());
-
-        return new PageImpl<>(appliedJobs, pageable, userApplications.getTotalElements());
-    } catch (Exception e) {
-        log.error("Error getting applied jobs for user {}: {}", username, e.getMessage(), e);
-        throw e;
     }
-}
 
+    // Thông báo thay đổi job cho các thành phần trong cùng tiến trình (chỉ mục tìm kiếm...)
+    private void publishJobChanged(String eventType, Job job) {
+        eventPublisher.publishEvent(JobEvent.builder()
+                .eventType(eventType)
+                .data(job)
+                .build());
+    }
 
-    private JobDetail fromJobToJobDetail(Job job) {
-        String userName = "Không xác định";
+    // ACTIVATE khi job chuyển từ không active sang active: với tìm kiếm đã lưu, job bật lại cũng là job mới
+    private static String changeType(Boolean wasActive, Job job) {
+        return !Boolean.TRUE.equals(wasActive) && Boolean.TRUE.equals(job.getActive()) ? "ACTIVATE" : "UPDATE";
+    }
 
-        String name = "Không xác định"; // Khởi tạo name
-        Integer sumJob = 0; // Khởi tạo sumJob
-        if (job.getUserId() != null) {
-            try {
-                log.info("Đang tìm người dùng với userId: {}", job.getUserId());
-                UserDetailToCreateJob user = identityServiceClient.getUserById(job.getUserId());
-                if (user.getName() != null && !user.getName().isEmpty()) {
-                    userName = user.getUsername();
-                    name = user.getName(); // Cập nhật name từ user
-                    log.info("userName được đặt thành: {}", userName);
-                } else {
-                    log.warn("Tên người dùng trống cho userId: {}", job.getUserId());
-                }
-                // Đếm số job của userId này
-                sumJob = jobRepository.countByUserIdAndActiveTrue(job.getUserId());
-                log.info("Số lượng job của userId {}: {}", job.getUserId(), sumJob);
-            } catch (Exception e) {
-                log.error("Lỗi khi lấy thông tin người dùng hoặc đếm job cho userId {}: {}", job.getUserId(),
-                        e.getMessage(), e);
-            }
-        } else {
-            log.warn("userId của công việc {} là null", job.getId());
+    // Đọc từ read model job_details (một truy vấn), giữ thứ tự id đầu vào.
+    // Job chưa có bản chiếu, hoặc bản chiếu thiếu thông tin chủ job và đã hết thời gian chờ thử lại, thì chiếu lại từ jobs
+    // (job đã xóa mềm được dựng để trả về nhưng không ghi lại vào job_details).
+    // summary = true cho danh sách: không đọc description, benefits, otherFiles
+    private List<JobDetail> findJobDetailsInOrder(List<String> ids, boolean summary) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
-
-        String categoryName = "Không xác định";
-        if (job.getCategoryId() != null) {
-            try {
-                Category category = categoryRepository.findById(job.getCategoryId())
-                        .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy danh mục"));
-                categoryName = category.getName();
-            } catch (Exception e) {
-                log.warn("Không thể lấy thông tin danh mục cho categoryId {}: {}", job.getCategoryId(), e.getMessage());
-            }
+        Map<String, JobDetailView> views = new HashMap<>();
+        (summary ? jobDetailViewRepository.findSummariesByIds(ids) : jobDetailViewRepository.findAllById(ids))
+                .forEach(view -> views.put(view.getId(), view));
+        List<String> missing = ids.stream()
+                .filter(id -> !jobDetailProjector.isComplete(views.get(id)))
+                .toList();
+        if (!missing.isEmpty()) {
+            List<Job> jobs = new ArrayList<>();
+            jobRepository.findAllById(missing).forEach(jobs::add);
+            jobDetailProjector.project(jobs, views).forEach(view -> views.put(view.getId(), view));
         }
+        return ids.stream()
+                .map(views::get)
+                .filter(Objects::nonNull)
+                .map(view -> toJobDetail(view, summary))
+                .collect(Collectors.toList());
+    }
 
+    private List<JobDetail> fromJobsToJobDetails(List<Job> jobs) {
+        return findJobDetailsInOrder(jobs.stream().map(Job::getId).toList(), true);
+    }
+
+    private JobDetail toJobDetail(JobDetailView view, boolean summary) {
         return JobDetail.builder()
-                .id(job.getId())
-                .userName(userName)
-                .name(name)
-                .categoryName(categoryName)
-                .categoryId(job.getCategoryId())
-                .userId(job.getUserId())
-                .title(job.getTitle())
-                .shortDescription(job.getShortDescription())
-                .description(job.getDescription())
-                .salaryMin(job.getSalaryMin())
-                .salaryMax(job.getSalaryMax())
-                .experienceLevel(job.getExperienceLevel())
-                .benefits(job.getBenefits())
-                .applicationDeadline(job.getApplicationDeadline())
-                .status(job.getStatus())
-                .active(job.getActive())
-                .file(job.getFile())
-                .otherFiles(job.getOtherImageCodes()) // <-- DÒNG MÃ ĐÃ ĐƯỢC THÊM VÀO
-                .tags(job.getTags()) // Thêm trường tags
-                .createdAt(dateFormatter.formatDate(job.getCreatedAt()))
-                .updatedAt(dateFormatter.formatDate(job.getUpdatedAt()))
-                .contentUri(job.getContentUri())
-                .workingType(job.getWorkingType())
-                .workingForm(job.getWorkingForm())
-                .sumJob(sumJob) // Gán số lượng job vào đây
+                .id(view.getId())
+                .userName(view.getUserName() != null ? view.getUserName() : "Không xác định")
+                .name(view.getName() != null ? view.getName() : "Không xác định")
+                .categoryName(view.getCategoryName() != null ? view.getCategoryName() : "Không xác định")
+                .categoryId(view.getCategoryId())
+                .userId(view.getUserId())
+                .title(view.getTitle())
+                .shortDescription(view.getShortDescription())
+                .description(summary ? null : view.getDescription())
+                .salaryMin(view.getSalaryMin())
+                .salaryMax(view.getSalaryMax())
+                .experienceLevel(view.getExperienceLevel())
+                .benefits(summary ? null : view.getBenefits())
+                .applicationDeadline(view.getApplicationDeadline())
+                .status(view.getStatus())
+                .active(view.getActive())
+                .file(view.getFile())
+                .otherFiles(summary ? null : view.getOtherFiles())
+                .tags(view.getTags())
+                .createdAt(dateFormatter.formatDate(view.getCreatedAt()))
+                .updatedAt(dateFormatter.formatDate(view.getUpdatedAt()))
+                .contentUri(view.getContentUri())
+                .workingType(view.getWorkingType())
+                .workingForm(view.getWorkingForm())
+                .sumJob(view.getSumJob() != null ? view.getSumJob() : 0)
                 .build();
     }
 
@@ -545,6 +862,7 @@ public Page<JobApplicationApplied> getAppliedJobs(String username, Pageable page
             job.setDone(true);
             job.setUpdatedAt(LocalDateTime.now());
             jobRepository.save(job);
+            publishJobChanged("UPDATE", job);
 
             log.info("Job {} đã được đánh dấu hoàn thành bởi user {}", jobId, username);
 
@@ -556,8 +874,16 @@ public Page<JobApplicationApplied> getAppliedJobs(String username, Pageable page
 
             List<JobApplication> applications = jobApplicationRepository.findByJobIdAndStatus(jobId, ApplicationStatus.APPROVED);
 
+            // Các ứng viên được lấy cùng lúc thay vì tuần tự từng người
+            Map<String, UserDetailToCreateJob> applicants = userBatchResolver.loadAll(applications.stream()
+                    .map(JobApplication::getUserId)
+                    .toList());
+
             applications.forEach(application -> {
-                UserDetailToCreateJob applicationUser = identityServiceClient.getUserById(application.getUserId());
+                UserDetailToCreateJob applicationUser = applicants.get(application.getUserId());
+                if (applicationUser == null) {
+                    throw new RuntimeException("Không tìm thấy người dùng với ID: " + application.getUserId());
+                }
 
                 kafkaTemplate.send("create_recent_activity_revenue", RecentActivityRevenueMessage.builder()
                     .userId(application.getUserId())
@@ -593,6 +919,7 @@ public Page<JobApplicationApplied> getAppliedJobs(String username, Pageable page
             job.setDone(false);
             job.setUpdatedAt(LocalDateTime.now());
             jobRepository.save(job);
+            publishJobChanged("UPDATE", job);
 
             log.info("Job {} đã được hủy đánh dấu hoàn thành bởi user {}", jobId, username);
             return new ResponseMessage(200, "Hủy đánh dấu công việc hoàn thành thành công");
@@ -621,22 +948,27 @@ public Page<JobApplicationApplied> getAppliedJobs(String username, Pageable page
     }
 
     @Override
-    public void deleteJobsByCategoryId(String categoryId) {
+    public void deleteJobsByCategoryIds(Collection<String> categoryIds) {
         try {
-            List<Job> jobs = jobRepository.findByCategoryIdAndActiveTrue(categoryId);
+            if (categoryIds.isEmpty()) {
+                return;
+            }
+            List<Job> jobs = jobRepository.findByCategoryIdInAndActiveTrue(categoryIds);
             if (jobs.isEmpty()) {
-                log.info("Không có công việc nào thuộc danh mục {}", categoryId);
+                log.info("Không có công việc nào thuộc danh mục {}", categoryIds);
                 return;
             }
+            LocalDateTime deletedAt = LocalDateTime.now();
+            long modified = jobRepository.deactivateByCategoryIds(categoryIds, deletedAt);
             for (Job job : jobs) {
                 job.setActive(false);
                 job.setStatus(false);
-                job.setDeletedAt(LocalDateTime.now());
-                jobRepository.save(job);
+                job.setDeletedAt(deletedAt);
+                publishJobChanged("DELETE", job);
             }
-            log.info("Đã xóa tất cả công việc thuộc danh mục {}", categoryId);
+            log.info("Đã xóa {} công việc thuộc danh mục {}", modified, categoryIds);
         } catch (Exception e) {
-            log.error("Lỗi khi xóa công việc theo danh mục {}: {}", categoryId, e.getMessage(), e);
+            log.error("Lỗi khi xóa công việc theo danh mục {}: {}", categoryIds, e.getMessage(), e);
             throw e;
         }
     }
@@ -651,6 +983,7 @@ public ResponseMessage updateJobStatus(String jobId, Boolean status, String user
     job.setStatus(status);
     job.setUpdatedAt(LocalDateTime.now());
     jobRepository.save(job);
+    publishJobChanged("UPDATE", job);
     return new ResponseMessage(200, "Cập nhật trạng thái status thành công");
 }
 
@@ -663,9 +996,16 @@ public ResponseMessage updateJobStatus(String jobId, Boolean status, String user
         if (!user.getId().equals(job.getUserId())) {
             throw new RuntimeException("Bạn không phải là người tạo công việc này");
         }
+        Boolean wasActive = job.getActive();
         job.setActive(active);
+        // Bật lại tin đã tắt cũng là đăng tin: trong lúc tắt có thể đã có tin gần trùng khác được đăng
+        if (!Boolean.TRUE.equals(wasActive) && Boolean.TRUE.equals(active)) {
+            job.setDuplicateOf(null);
+            checkDuplicate(job);
+        }
         job.setUpdatedAt(LocalDateTime.now());
         jobRepository.save(job);
+        publishJobChanged(changeType(wasActive, job), job);
         return new ResponseMessage(200, "Cập nhật trạng thái active thành công");
     }
 
@@ -673,24 +1013,7 @@ public ResponseMessage updateJobStatus(String jobId, Boolean status, String user
     public Page<JobApplicationApplied> getAppliedConfirmedJobs(String userId, Pageable pageable) {
         Page<JobApplication> userApplications = jobApplicationRepository.findByUserIdAndStatus(userId, ApplicationStatus.APPROVED, pageable);
         
-        List<JobApplicationApplied> appliedJobs = userApplications.getContent()
-            .stream()
-            .map(application -> {
-                Job job = jobRepository.findById(application.getJobId()).orElse(null);
-                if (job == null) return null;
-                return JobApplicationApplied.builder()
-                        .id(job.getId())
-                        .title(job.getTitle())
-                        .shortDescription(job.getShortDescription())
-                        .salaryMin(job.getSalaryMin())
-                        .salaryMax(job.getSalaryMax())
-                        .applicationDeadline(job.getApplicationDeadline())
-                        .done(job.getDone())
-                        .status(application.getStatus() != null ? application.getStatus().toString() : null)
-                        .build();
-            })
-            .filter(dto -> dto != null)
-            .collect(Collectors.toList());
+        List<JobApplicationApplied> appliedJobs = toAppliedJobs(userApplications.getContent());
 
         return new PageImpl<>(appliedJobs, pageable, userApplications.getTotalElements());
     }
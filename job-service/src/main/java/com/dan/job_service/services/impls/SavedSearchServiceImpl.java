@@ -0,0 +1,147 @@
+package com.dan.job_service.services.impls;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.apache.kafka.common.errors.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import com.dan.events.dtos.JobEvent;
+import com.dan.events.dtos.SavedSearchMatchEvent;
+import com.dan.job_service.dtos.requets.SavedSearchRequest;
+import com.dan.job_service.dtos.responses.ResponseMessage;
+import com.dan.job_service.http_clients.IdentityServiceClient;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.models.SavedSearch;
+import com.dan.job_service.repositories.SavedSearchRepository;
+import com.dan.job_service.search.SavedSearchPercolator;
+import com.dan.job_service.services.SavedSearchService;
+
+@Service
+public class SavedSearchServiceImpl implements SavedSearchService {
+    private static final Logger log = LoggerFactory.getLogger(SavedSearchServiceImpl.class);
+    private static final int MAX_SAVED_SEARCHES_PER_USER = 20;
+    // Số kết quả khớp tối đa trong một message Kafka
+    private static final int MATCH_BATCH_SIZE = 500;
+
+    @Autowired
+    private SavedSearchRepository savedSearchRepository;
+    @Autowired
+    private SavedSearchPercolator savedSearchPercolator;
+    @Autowired
+    private IdentityServiceClient identityServiceClient;
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Override
+    public SavedSearch create(SavedSearchRequest request, String username) {
+        String userId = identityServiceClient.getUserByUsername(username).getId();
+        if (savedSearchRepository.countByUserIdAndActiveTrue(userId) >= MAX_SAVED_SEARCHES_PER_USER) {
+            throw new RuntimeException("Bạn chỉ được lưu tối đa " + MAX_SAVED_SEARCHES_PER_USER + " tìm kiếm");
+        }
+
+        SavedSearch savedSearch = SavedSearch.builder()
+                .userId(userId)
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        apply(savedSearch, request);
+        SavedSearch saved = savedSearchRepository.save(savedSearch);
+        savedSearchPercolator.register(saved);
+        log.info("Người dùng {} đã lưu tìm kiếm {}", username, saved.getId());
+        return saved;
+    }
+
+    @Override
+    public SavedSearch update(String id, SavedSearchRequest request, String username) {
+        String userId = identityServiceClient.getUserByUsername(username).getId();
+        SavedSearch savedSearch = savedSearchRepository.findByIdAndUserId(id, userId)
+                .filter(SavedSearch::isActive)
+                .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy tìm kiếm đã lưu"));
+
+        apply(savedSearch, request);
+        savedSearch.setUpdatedAt(LocalDateTime.now());
+        SavedSearch saved = savedSearchRepository.save(savedSearch);
+        savedSearchPercolator.register(saved);
+        return saved;
+    }
+
+    @Override
+    public ResponseMessage delete(String id, String username) {
+        String userId = identityServiceClient.getUserByUsername(username).getId();
+        SavedSearch savedSearch = savedSearchRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy tìm kiếm đã lưu"));
+
+        savedSearch.setActive(false);
+        savedSearch.setUpdatedAt(LocalDateTime.now());
+        savedSearchRepository.save(savedSearch);
+        savedSearchPercolator.unregister(id);
+        return ResponseMessage.builder()
+                .status(200)
+                .message("Xóa tìm kiếm đã lưu thành công")
+                .build();
+    }
+
+    @Override
+    public List<SavedSearch> getMySavedSearches(String username) {
+        String userId = identityServiceClient.getUserByUsername(username).getId();
+        return savedSearchRepository.findByUserIdAndActiveTrue(userId);
+    }
+
+    // Mỗi job mới hoặc vừa được bật active lại được đối chiếu với mọi tìm kiếm đã lưu trong một lần, kết quả gửi theo lô
+    @EventListener
+    public void onJobEvent(JobEvent event) {
+        Job job = event.getData();
+        boolean becameActive = "CREATE".equals(event.getEventType()) || "ACTIVATE".equals(event.getEventType());
+        if (!becameActive || job == null || !Boolean.TRUE.equals(job.getActive()) || job.getDeletedAt() != null) {
+            return;
+        }
+        try {
+            List<SavedSearchMatchEvent.Match> matches = savedSearchPercolator.match(job).stream()
+                    .filter(savedSearch -> !savedSearch.getUserId().equals(job.getUserId()))
+                    .map(savedSearch -> SavedSearchMatchEvent.Match.builder()
+                            .savedSearchId(savedSearch.getId())
+                            .userId(savedSearch.getUserId())
+                            .name(savedSearch.getName())
+                            .build())
+                    .toList();
+            for (int from = 0; from < matches.size(); from += MATCH_BATCH_SIZE) {
+                kafkaTemplate.send("saved_search_matched", job.getId(), SavedSearchMatchEvent.builder()
+                        .jobId(job.getId())
+                        .jobTitle(job.getTitle())
+                        .matches(matches.subList(from, Math.min(from + MATCH_BATCH_SIZE, matches.size())))
+                        .build());
+            }
+            if (!matches.isEmpty()) {
+                log.info("Job {} khớp với {} tìm kiếm đã lưu", job.getId(), matches.size());
+            }
+        } catch (Exception e) {
+            // Không để lỗi thông báo làm hỏng việc tạo job
+            log.error("Lỗi đối chiếu tìm kiếm đã lưu cho job {}: {}", job.getId(), e.getMessage(), e);
+        }
+    }
+
+    private static void apply(SavedSearch savedSearch, SavedSearchRequest request) {
+        if (request.salaryMin() != null && request.salaryMax() != null && request.salaryMin() > request.salaryMax()) {
+            throw new RuntimeException("Lương tối thiểu không được lớn hơn lương tối đa");
+        }
+        savedSearch.setName(request.name());
+        savedSearch.setKeywords(blankToNull(request.keywords()));
+        savedSearch.setCategoryId(blankToNull(request.categoryId()));
+        savedSearch.setSalaryMin(request.salaryMin());
+        savedSearch.setSalaryMax(request.salaryMax());
+        savedSearch.setWorkingType(request.workingType());
+        savedSearch.setWorkingForm(request.workingForm());
+        savedSearch.setTags(request.tags() != null ? request.tags() : List.of());
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
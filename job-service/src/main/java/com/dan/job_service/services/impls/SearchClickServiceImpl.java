@@ -1,19 +1,24 @@
 package com.dan.job_service.services.impls;
 
 import com.dan.job_service.dtos.requets.SearchClickRequest;
+import com.dan.job_service.dtos.responses.PopularSearchResponse;
+import com.dan.job_service.dtos.responses.PositionCtrResponse;
 import com.dan.job_service.http_clients.IdentityServiceClient;
 import com.dan.job_service.models.SearchClick;
 import com.dan.job_service.repositories.SearchClickRepository;
+import com.dan.job_service.search.SearchAnalytics;
 import com.dan.job_service.services.SearchClickService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class SearchClickServiceImpl implements SearchClickService {
     private final SearchClickRepository searchClickRepository;
     private final IdentityServiceClient identityServiceClient;
+    private final SearchAnalytics searchAnalytics;
 
     @Override
     public SearchClick saveSearchClick(SearchClickRequest request, String username) {
@@ -25,7 +30,26 @@ public class SearchClickServiceImpl implements SearchClickService {
             .positionInResults(request.positionInResults())
             .timestamp(request.timestamp() != null ? request.timestamp() : LocalDateTime.now())
             .build();
-            
+
+        // Cập nhật bộ đếm trong bộ nhớ ngay khi có click
+        searchAnalytics.recordClick(request.searchQuery(), request.positionInResults());
         return searchClickRepository.save(searchClick);
     }
+
+    @Override
+    public void recordSearch(String query, long offset, int resultCount) {
+        if (query != null && !query.isBlank()) {
+            searchAnalytics.recordSearch(query, offset, resultCount);
+        }
+    }
+
+    @Override
+    public List<PopularSearchResponse> getPopularSearches(int limit) {
+        return searchAnalytics.popularSearches(limit);
+    }
+
+    @Override
+    public List<PositionCtrResponse> getCtrByPosition() {
+        return searchAnalytics.ctrByPosition();
+    }
 }
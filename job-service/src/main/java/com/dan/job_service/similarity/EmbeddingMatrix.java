@@ -0,0 +1,81 @@
+package com.dan.job_service.similarity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Toàn bộ vector của một lần nạp nằm liên tiếp trong một mảng float[] (hàng i ở [i*dim, (i+1)*dim)),
+// thay vì mỗi vector là một List<Float> với hàng trăm đối tượng Float.
+// Bản ghi chưa có vector (job mới, recommend-service chưa tính) vẫn được giữ để theo dõi phiên bản.
+public class EmbeddingMatrix {
+    private static final int INITIAL_ROWS = 256;
+
+    private final List<String> jobIds = new ArrayList<>();
+    private final List<LocalDateTime> updatedAts = new ArrayList<>();
+    // Vị trí hàng trong data, -1 nếu bản ghi không có vector hợp lệ
+    private int[] rows = new int[INITIAL_ROWS];
+    private float[] norms = new float[INITIAL_ROWS];
+    private float[] data = new float[0];
+    private int dimension = -1;
+    private int vectorCount = 0;
+
+    public void add(String jobId, LocalDateTime updatedAt, PackedVector vector) {
+        int index = jobIds.size();
+        jobIds.add(jobId);
+        updatedAts.add(updatedAt);
+        if (index == rows.length) {
+            rows = Arrays.copyOf(rows, rows.length * 2);
+            norms = Arrays.copyOf(norms, norms.length * 2);
+        }
+        rows[index] = -1;
+        if (vector == null || vector.getDim() == 0) {
+            return;
+        }
+        if (dimension == -1) {
+            dimension = vector.getDim();
+            data = new float[INITIAL_ROWS * dimension];
+        } else if (vector.getDim() != dimension) {
+            return;
+        }
+        if ((vectorCount + 1) * dimension > data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        vector.copyTo(data, vectorCount * dimension);
+        rows[index] = vectorCount++;
+        norms[index] = vector.getNorm();
+    }
+
+    public int size() {
+        return jobIds.size();
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    public String jobId(int index) {
+        return jobIds.get(index);
+    }
+
+    public LocalDateTime updatedAt(int index) {
+        return updatedAts.get(index);
+    }
+
+    public boolean hasVector(int index) {
+        return rows[index] >= 0;
+    }
+
+    public float norm(int index) {
+        return norms[index];
+    }
+
+    // Bản sao của hàng, null nếu bản ghi không có vector
+    public float[] row(int index) {
+        int row = rows[index];
+        if (row < 0) {
+            return null;
+        }
+        return Arrays.copyOfRange(data, row * dimension, (row + 1) * dimension);
+    }
+}
@@ -0,0 +1,43 @@
+package com.dan.job_service.similarity;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.dan.job_service.repositories.JobEmbeddingRepository;
+
+// Chuyển các bản ghi job_embeddings còn lưu mảng double sang vector nhị phân khi khởi động.
+// Chạy lại nhiều lần không sao: bản ghi đã chuyển không còn trường embedding.
+@Component
+public class EmbeddingMigration {
+    private static final Logger log = LoggerFactory.getLogger(EmbeddingMigration.class);
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private JobEmbeddingRepository jobEmbeddingRepository;
+
+    @Value("${embeddings.pack-legacy-on-startup:true}")
+    private boolean enabled;
+    @Value("${embeddings.int8-quantization:false}")
+    private boolean quantize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void packLegacyEmbeddings() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long packed = jobEmbeddingRepository.packLegacyEmbeddings(quantize, BATCH_SIZE);
+            if (packed > 0) {
+                log.info("Đã chuyển {} embedding sang dạng nhị phân ({})", packed,
+                        quantize ? PackedVector.INT8 : PackedVector.FLOAT32);
+            }
+        } catch (Exception e) {
+            log.error("Lỗi khi chuyển embedding sang dạng nhị phân: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.dan.job_service.similarity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+// Đồ thị HNSW (Hierarchical Navigable Small World) cho tìm kiếm láng giềng gần đúng theo cosine.
+// Vector được chuẩn hóa khi thêm nên khoảng cách = 1 - tích vô hướng.
+// Cập nhật một khóa = đánh dấu nút cũ đã xóa và thêm nút mới; nút đã xóa vẫn dùng để điều hướng
+// nhưng không bao giờ được trả về.
+public class HnswIndex {
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random = new Random(42);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<String, Integer> nodeByKey = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private int entryPoint = -1;
+    private int dimension = -1;
+
+    private static final class Node {
+        final String key;
+        final float[] vector;
+        final int[][] neighbors;
+        final int[] neighborCounts;
+
+        Node(String key, float[] vector, int level, int m, int maxM0) {
+            this.key = key;
+            this.vector = vector;
+            this.neighbors = new int[level + 1][];
+            this.neighborCounts = new int[level + 1];
+            for (int layer = 0; layer <= level; layer++) {
+                neighbors[layer] = new int[(layer == 0 ? maxM0 : m) + 1];
+            }
+        }
+
+        int level() {
+            return neighbors.length - 1;
+        }
+    }
+
+    public record Neighbor(String key, float similarity) {
+    }
+
+    private record Scored(int node, float distance) {
+    }
+
+    public HnswIndex(int m, int efConstruction) {
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(m);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Số nút đã xóa mềm còn nằm trong đồ thị
+    public int deletedCount() {
+        lock.readLock().lock();
+        try {
+            return deleted.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String key) {
+        lock.readLock().lock();
+        try {
+            return nodeByKey.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Bỏ qua vector rỗng hoặc khác số chiều với các vector đã có; trả về false nếu không thêm được
+    public boolean add(String key, float[] vector) {
+        float[] normalized = normalize(vector);
+        if (normalized == null) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (dimension == -1) {
+                dimension = normalized.length;
+            } else if (dimension != normalized.length) {
+                return false;
+            }
+            removeInternal(key);
+
+            int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+            int id = nodes.size();
+            Node node = new Node(key, normalized, level, m, maxM0);
+            nodes.add(node);
+            nodeByKey.put(key, id);
+
+            if (entryPoint == -1) {
+                entryPoint = id;
+                return true;
+            }
+
+            int current = entryPoint;
+            int topLevel = nodes.get(entryPoint).level();
+            for (int layer = topLevel; layer > level; layer--) {
+                current = greedyClosest(normalized, current, layer);
+            }
+            for (int layer = Math.min(level, topLevel); layer >= 0; layer--) {
+                List<Scored> candidates = searchLayer(normalized, List.of(current), efConstruction, layer);
+                List<Scored> selected = selectNeighbors(candidates, layer == 0 ? maxM0 : m);
+                for (Scored neighbor : selected) {
+                    link(id, neighbor.node(), layer);
+                    link(neighbor.node(), id, layer);
+                }
+                current = candidates.get(0).node();
+            }
+            if (level > topLevel) {
+                entryPoint = id;
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // k láng giềng gần nhất của vector đã lưu cho key (không gồm chính nó) thỏa filter
+    public List<Neighbor> neighborsOf(String key, int k, int ef, Predicate<String> filter) {
+        lock.readLock().lock();
+        try {
+            Integer id = nodeByKey.get(key);
+            if (id == null) {
+                return List.of();
+            }
+            return search(nodes.get(id).vector, k, ef, candidate -> !candidate.equals(key) && filter.test(candidate));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Neighbor> search(float[] query, int k, int ef, Predicate<String> filter) {
+        if (entryPoint == -1) {
+            return List.of();
+        }
+        int current = entryPoint;
+        for (int layer = nodes.get(entryPoint).level(); layer > 0; layer--) {
+            current = greedyClosest(query, current, layer);
+        }
+
+        List<Neighbor> results = new ArrayList<>(k);
+        for (Scored scored : searchLayer(query, List.of(current), Math.max(ef, k), 0)) {
+            Node node = nodes.get(scored.node());
+            if (!deleted.get(scored.node()) && filter.test(node.key)) {
+                results.add(new Neighbor(node.key, 1 - scored.distance()));
+                if (results.size() == k) {
+                    break;
+                }
+            }
+        }
+        return results;
+    }
+
+    private int greedyClosest(float[] query, int start, int layer) {
+        int current = start;
+        float currentDistance = distance(query, nodes.get(current).vector);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            Node node = nodes.get(current);
+            for (int i = 0; i < node.neighborCounts[layer]; i++) {
+                int candidate = node.neighbors[layer][i];
+                float candidateDistance = distance(query, nodes.get(candidate).vector);
+                if (candidateDistance < currentDistance) {
+                    current = candidate;
+                    currentDistance = candidateDistance;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Trả về tối đa ef nút gần nhất trên một tầng, sắp tăng dần theo khoảng cách
+    private List<Scored> searchLayer(float[] query, List<Integer> entryPoints, int ef, int layer) {
+        BitSet visited = new BitSet(nodes.size());
+        PriorityQueue<Scored> candidates = new PriorityQueue<>(Comparator.comparingDouble(Scored::distance));
+        PriorityQueue<Scored> results = new PriorityQueue<>(
+                Comparator.comparingDouble(Scored::distance).reversed());
+        for (int entry : entryPoints) {
+            Scored scored = new Scored(entry, distance(query, nodes.get(entry).vector));
+            visited.set(entry);
+            candidates.add(scored);
+            results.add(scored);
+        }
+
+        while (!candidates.isEmpty()) {
+            Scored closest = candidates.poll();
+            if (closest.distance() > results.peek().distance() && results.size() >= ef) {
+                break;
+            }
+            Node node = nodes.get(closest.node());
+            if (layer > node.level()) {
+                continue;
+            }
+            for (int i = 0; i < node.neighborCounts[layer]; i++) {
+                int neighbor = node.neighbors[layer][i];
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                float neighborDistance = distance(query, nodes.get(neighbor).vector);
+                if (results.size() < ef || neighborDistance < results.peek().distance()) {
+                    Scored scored = new Scored(neighbor, neighborDistance);
+                    candidates.add(scored);
+                    results.add(scored);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+
+        List<Scored> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparingDouble(Scored::distance));
+        return sorted;
+    }
+
+    // Heuristic chọn láng giềng của HNSW: ưu tiên các hướng đa dạng thay vì chỉ lấy gần nhất
+    private List<Scored> selectNeighbors(List<Scored> candidates, int max) {
+        List<Scored> selected = new ArrayList<>(max);
+        for (Scored candidate : candidates) {
+            if (selected.size() >= max) {
+                break;
+            }
+            float[] vector = nodes.get(candidate.node()).vector;
+            boolean diverse = true;
+            for (Scored chosen : selected) {
+                if (distance(vector, nodes.get(chosen.node()).vector) < candidate.distance()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate);
+            }
+        }
+        // Bù thêm các ứng viên gần nhất nếu heuristic loại quá nhiều
+        for (Scored candidate : candidates) {
+            if (selected.size() >= max) {
+                break;
+            }
+            if (!selected.contains(candidate)) {
+                selected.add(candidate);
+            }
+        }
+        return selected;
+    }
+
+    private void link(int from, int to, int layer) {
+        Node node = nodes.get(from);
+        int max = layer == 0 ? maxM0 : m;
+        node.neighbors[layer][node.neighborCounts[layer]++] = to;
+        if (node.neighborCounts[layer] <= max) {
+            return;
+        }
+
+        // Vượt quá số cạnh cho phép: chọn lại tập láng giềng
+        List<Scored> candidates = new ArrayList<>(node.neighborCounts[layer]);
+        for (int i = 0; i < node.neighborCounts[layer]; i++) {
+            int neighbor = node.neighbors[layer][i];
+            candidates.add(new Scored(neighbor, distance(node.vector, nodes.get(neighbor).vector)));
+        }
+        candidates.sort(Comparator.comparingDouble(Scored::distance));
+        List<Scored> selected = selectNeighbors(candidates, max);
+        Arrays.fill(node.neighbors[layer], 0);
+        for (int i = 0; i < selected.size(); i++) {
+            node.neighbors[layer][i] = selected.get(i).node();
+        }
+        node.neighborCounts[layer] = selected.size();
+    }
+
+    private void removeInternal(String key) {
+        Integer id = nodeByKey.remove(key);
+        if (id != null) {
+            deleted.set(id);
+        }
+    }
+
+    private static float distance(float[] a, float[] b) {
+        float dot = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return 1 - dot;
+    }
+
+    private static float[] normalize(float[] vector) {
+        if (vector == null || vector.length == 0) {
+            return null;
+        }
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm == 0) {
+            return null;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] * scale;
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,121 @@
+package com.dan.job_service.similarity;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+
+// Vector embedding lưu dạng nhị phân thay cho mảng BSON double:
+// { dtype: "float32" | "int8", dim, norm, scale (chỉ int8), data: BinData }
+// float32 là little-endian 4 byte/chiều; int8 là 1 byte/chiều, giá trị gốc = q * scale.
+// norm là chuẩn L2 của vector gốc (trước lượng tử hóa) để tính cosine không cần duyệt lại.
+public final class PackedVector {
+    public static final String FLOAT32 = "float32";
+    public static final String INT8 = "int8";
+
+    private final String dtype;
+    private final int dim;
+    private final float norm;
+    private final float scale;
+    private final byte[] data;
+
+    private PackedVector(String dtype, int dim, float norm, float scale, byte[] data) {
+        this.dtype = dtype;
+        this.dim = dim;
+        this.norm = norm;
+        this.scale = scale;
+        this.data = data;
+    }
+
+    public static PackedVector of(float[] values, boolean quantize) {
+        double sumSquares = 0;
+        float maxAbs = 0;
+        for (float value : values) {
+            sumSquares += (double) value * value;
+            maxAbs = Math.max(maxAbs, Math.abs(value));
+        }
+        float norm = (float) Math.sqrt(sumSquares);
+
+        if (quantize) {
+            float scale = maxAbs > 0 ? maxAbs / 127f : 1f;
+            byte[] data = new byte[values.length];
+            for (int i = 0; i < values.length; i++) {
+                // Làm tròn nửa về số chẵn và chặn [-127, 127] giống np.rint/np.clip trong vector_codec.py
+                data[i] = (byte) Math.max(-127, Math.min(127, Math.rint(values[i] / scale)));
+            }
+            return new PackedVector(INT8, values.length, norm, scale, data);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(values);
+        return new PackedVector(FLOAT32, values.length, norm, 1f, buffer.array());
+    }
+
+    // Chuyển từ mảng số dạng cũ (List<Double> khi đọc Document thô)
+    public static PackedVector of(List<? extends Number> values, boolean quantize) {
+        float[] vector = new float[values.size()];
+        for (int i = 0; i < vector.length; i++) {
+            Number value = values.get(i);
+            vector[i] = value != null ? value.floatValue() : 0f;
+        }
+        return of(vector, quantize);
+    }
+
+    public static PackedVector fromDocument(Document document) {
+        String dtype = document.getString("dtype");
+        Object data = document.get("data");
+        if (dtype == null || !(data instanceof Binary binary)) {
+            throw new IllegalArgumentException("Vector nhị phân không hợp lệ");
+        }
+        int dim = document.getInteger("dim", INT8.equals(dtype) ? binary.length() : binary.length() / Float.BYTES);
+        float norm = ((Number) document.get("norm", 0d)).floatValue();
+        float scale = ((Number) document.get("scale", 1d)).floatValue();
+        PackedVector vector = new PackedVector(dtype, dim, norm, scale, binary.getData());
+        int expectedBytes = INT8.equals(dtype) ? dim : dim * Float.BYTES;
+        if ((!FLOAT32.equals(dtype) && !INT8.equals(dtype)) || vector.data.length != expectedBytes) {
+            throw new IllegalArgumentException("Vector nhị phân không hợp lệ: dtype=" + dtype + ", dim=" + dim);
+        }
+        return vector;
+    }
+
+    public Document toDocument() {
+        Document document = new Document("dtype", dtype)
+                .append("dim", dim)
+                .append("norm", (double) norm);
+        if (INT8.equals(dtype)) {
+            document.append("scale", (double) scale);
+        }
+        return document.append("data", new Binary(data));
+    }
+
+    // Giải mã thẳng vào mảng đích, không tạo đối tượng trung gian
+    public void copyTo(float[] target, int offset) {
+        if (INT8.equals(dtype)) {
+            for (int i = 0; i < dim; i++) {
+                target[offset + i] = data[i] * scale;
+            }
+        } else {
+            ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(target, offset, dim);
+        }
+    }
+
+    public float[] toArray() {
+        float[] values = new float[dim];
+        copyTo(values, 0);
+        return values;
+    }
+
+    public String getDtype() {
+        return dtype;
+    }
+
+    public int getDim() {
+        return dim;
+    }
+
+    public float getNorm() {
+        return norm;
+    }
+}
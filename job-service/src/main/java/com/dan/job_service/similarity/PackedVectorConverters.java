@@ -0,0 +1,34 @@
+package com.dan.job_service.similarity;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+// Ánh xạ PackedVector <-> Document con khi đọc/ghi entity qua Spring Data
+public final class PackedVectorConverters {
+    private PackedVectorConverters() {
+    }
+
+    public static List<Converter<?, ?>> all() {
+        return List.of(new PackedVectorWriter(), new PackedVectorReader());
+    }
+
+    @WritingConverter
+    public static class PackedVectorWriter implements Converter<PackedVector, Document> {
+        @Override
+        public Document convert(PackedVector source) {
+            return source.toDocument();
+        }
+    }
+
+    @ReadingConverter
+    public static class PackedVectorReader implements Converter<Document, PackedVector> {
+        @Override
+        public PackedVector convert(Document source) {
+            return PackedVector.fromDocument(source);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.dan.job_service.similarity;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.dan.job_service.catalog.ActiveJobCatalog;
+import com.dan.job_service.repositories.JobEmbeddingRepository;
+
+// Chỉ mục ANN trên vector job_embeddings do recommend-service ghi.
+// Nạp toàn bộ khi khởi động, sau đó định kỳ lấy các embedding có updated_at mới hơn mốc đã thấy.
+@Component
+public class SimilarJobIndex {
+    private static final Logger log = LoggerFactory.getLogger(SimilarJobIndex.class);
+    private static final int M = 16;
+    private static final int EF_CONSTRUCTION = 100;
+    private static final int MIN_EF_SEARCH = 64;
+    // Lùi mốc thời gian một chút để không bỏ sót bản ghi ghi cùng lúc với lần quét trước
+    private static final long WATERMARK_OVERLAP_SECONDS = 60;
+    // Tỷ lệ nút đã xóa mềm vượt ngưỡng này thì dựng lại đồ thị
+    private static final double MAX_DELETED_RATIO = 0.3;
+
+    @Autowired
+    private JobEmbeddingRepository jobEmbeddingRepository;
+    @Autowired
+    private ActiveJobCatalog activeJobCatalog;
+
+    private volatile HnswIndex index = new HnswIndex(M, EF_CONSTRUCTION);
+    private volatile boolean ready = false;
+    // jobId -> updatedAt của embedding đã đưa vào đồ thị
+    private final Map<String, LocalDateTime> indexedVersions = new HashMap<>();
+    private LocalDateTime watermark;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        try {
+            EmbeddingMatrix embeddings = jobEmbeddingRepository.loadMatrix(null);
+            HnswIndex rebuilt = new HnswIndex(M, EF_CONSTRUCTION);
+            indexedVersions.clear();
+            watermark = null;
+            for (int i = 0; i < embeddings.size(); i++) {
+                apply(rebuilt, embeddings, i);
+            }
+            index = rebuilt;
+            ready = true;
+            log.info("Đã dựng chỉ mục job tương tự với {} vector", rebuilt.size());
+        } catch (Exception e) {
+            log.error("Lỗi khi dựng chỉ mục job tương tự: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${similar-jobs.refresh-interval-ms:30000}",
+            initialDelayString = "${similar-jobs.refresh-interval-ms:30000}")
+    public synchronized void refresh() {
+        if (!ready) {
+            return;
+        }
+        try {
+            EmbeddingMatrix changed = jobEmbeddingRepository.loadMatrix(
+                    watermark == null ? null : watermark.minusSeconds(WATERMARK_OVERLAP_SECONDS));
+            int applied = 0;
+            for (int i = 0; i < changed.size(); i++) {
+                if (!Objects.equals(indexedVersions.get(changed.jobId(i)), changed.updatedAt(i))) {
+                    apply(index, changed, i);
+                    applied++;
+                }
+            }
+            if (applied > 0) {
+                log.info("Đã cập nhật {} vector vào chỉ mục job tương tự", applied);
+            }
+            if (index.deletedCount() > index.size() * MAX_DELETED_RATIO) {
+                load();
+            }
+        } catch (Exception e) {
+            log.error("Lỗi khi cập nhật chỉ mục job tương tự: {}", e.getMessage(), e);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Top-k job active gần nhất theo cosine, rỗng nếu job chưa có embedding
+    public List<HnswIndex.Neighbor> findSimilar(String jobId, int k) {
+        return index.neighborsOf(jobId, k, Math.max(MIN_EF_SEARCH, k * 4),
+                candidate -> !activeJobCatalog.isReady() || activeJobCatalog.contains(candidate));
+    }
+
+    private void apply(HnswIndex target, EmbeddingMatrix embeddings, int row) {
+        String jobId = embeddings.jobId(row);
+        LocalDateTime updatedAt = embeddings.updatedAt(row);
+        indexedVersions.put(jobId, updatedAt);
+        if (updatedAt != null && (watermark == null || updatedAt.isAfter(watermark))) {
+            watermark = updatedAt;
+        }
+        if (!embeddings.hasVector(row) || !target.add(jobId, embeddings.row(row))) {
+            // Vector rỗng (job mới chưa được tính embedding) hoặc sai số chiều
+            target.remove(jobId);
+        }
+    }
+}
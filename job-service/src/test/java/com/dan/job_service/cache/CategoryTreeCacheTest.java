@@ -0,0 +1,101 @@
+package com.dan.job_service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dan.job_service.models.Category;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.repositories.CategoryRepository;
+import com.dan.job_service.repositories.JobRepository;
+
+class CategoryTreeCacheTest {
+	private CategoryTreeCache cache;
+	private CategoryRepository categoryRepository;
+	private JobRepository jobRepository;
+
+	@BeforeEach
+	void setUp() {
+		cache = new CategoryTreeCache();
+		categoryRepository = mock(CategoryRepository.class);
+		jobRepository = mock(JobRepository.class);
+		ReflectionTestUtils.setField(cache, "categoryRepository", categoryRepository);
+		ReflectionTestUtils.setField(cache, "jobRepository", jobRepository);
+	}
+
+	@Test
+	void overlappingRebuildsPublishTheLatestTree() throws Exception {
+		Category root = Category.builder().id("root").name("IT").build();
+		Category added = Category.builder().id("added").name("Java").parentId("root").build();
+		// Đã nạp xong, để các lần đọc bên dưới không tự kích hoạt load()
+		ReflectionTestUtils.setField(cache, "ready", true);
+		CountDownLatch firstReading = new CountDownLatch(1);
+		CountDownLatch releaseFirst = new CountDownLatch(1);
+		AtomicInteger reads = new AtomicInteger();
+		when(categoryRepository.findAll()).thenAnswer(invocation -> {
+			if (reads.incrementAndGet() == 1) {
+				// Lần rebuild đầu đọc dữ liệu cũ rồi chậm lại trước khi công bố
+				firstReading.countDown();
+				releaseFirst.await();
+				return List.of(root);
+			}
+			return List.of(root, added);
+		});
+
+		Thread first = new Thread(cache::rebuild);
+		first.start();
+		firstReading.await();
+		Thread second = new Thread(cache::rebuild);
+		second.start();
+		Thread.sleep(100);
+		assertThat(reads.get()).isEqualTo(1);
+
+		releaseFirst.countDown();
+		first.join();
+		second.join();
+
+		assertThat(cache.subtreeIds("root")).containsExactly("root", "added");
+		assertThat(reads.get()).isEqualTo(2);
+	}
+
+	@Test
+	void failedLoadIsNotRetriedOnEveryCall() {
+		when(categoryRepository.findAll()).thenThrow(new RuntimeException("mongo down"));
+
+		cache.load();
+		for (int i = 0; i < 5; i++) {
+			assertThat(cache.categories()).isEmpty();
+			assertThat(cache.countJobs("c1")).isZero();
+		}
+
+		verify(categoryRepository, times(1)).findAll();
+		assertThat(cache.isReady()).isFalse();
+	}
+
+	@Test
+	void loadsTreeAndCountsActiveJobs() {
+		Category root = Category.builder().id("root").name("IT").build();
+		Category child = Category.builder().id("child").name("Java").parentId("root").build();
+		when(categoryRepository.findAll()).thenReturn(List.of(root, child));
+		when(jobRepository.findByActiveTrue()).thenReturn(List.of(
+				Job.builder().id("j1").categoryId("child").active(true).build(),
+				Job.builder().id("j2").categoryId("root").active(true).build()));
+
+		assertThat(cache.subtreeIds("root")).containsExactly("root", "child");
+		assertThat(cache.ancestorIds("child")).containsExactly("root");
+		assertThat(cache.ancestorIds("root")).isEmpty();
+		assertThat(cache.countJobs("child")).isEqualTo(1);
+		assertThat(cache.countJobsInSubtree("root")).isEqualTo(2);
+		assertThat(cache.isReady()).isTrue();
+	}
+}
@@ -0,0 +1,176 @@
+package com.dan.job_service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+class LruTtlCacheTest {
+
+	@Test
+	void concurrentMissesShareOneLoad() throws Exception {
+		LruTtlCache<String, String> cache = new LruTtlCache<>(10, 60_000);
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		int callers = 8;
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < callers; i++) {
+				results.add(executor.submit(() -> cache.get("u1", key -> {
+					loads.incrementAndGet();
+					await(release);
+					return "user " + key;
+				})));
+			}
+			waitUntil(() -> cache.coalescedCount() == callers - 1);
+			release.countDown();
+
+			for (Future<String> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("user u1");
+			}
+		}
+
+		assertThat(loads).hasValue(1);
+		assertThat(cache.missCount()).isEqualTo(callers);
+		assertThat(cache.getIfPresent("u1")).isEqualTo("user u1");
+	}
+
+	@Test
+	void invalidateDuringLoadKeepsStaleValueOutOfCache() throws Exception {
+		LruTtlCache<String, String> cache = new LruTtlCache<>(10, 60_000);
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+			Future<String> result = executor.submit(() -> cache.get("u1", key -> {
+				loading.countDown();
+				await(release);
+				return "tên cũ";
+			}));
+			await(loading);
+			cache.invalidate("u1");
+			release.countDown();
+
+			// Người gọi vẫn nhận giá trị đã tải, nhưng lần đọc sau phải tải lại
+			assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("tên cũ");
+		}
+
+		assertThat(cache.getIfPresent("u1")).isNull();
+		assertThat(cache.get("u1", key -> "tên mới")).isEqualTo("tên mới");
+	}
+
+	@Test
+	void failedLoadReachesWaitersAndIsNotCached() throws Exception {
+		LruTtlCache<String, String> cache = new LruTtlCache<>(10, 60_000);
+		CountDownLatch release = new CountDownLatch(1);
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < 2; i++) {
+				results.add(executor.submit(() -> cache.get("u1", key -> {
+					await(release);
+					throw new IllegalStateException("identity-service lỗi");
+				})));
+			}
+			waitUntil(() -> cache.coalescedCount() == 1);
+			release.countDown();
+
+			for (Future<String> result : results) {
+				assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+						.hasCauseInstanceOf(IllegalStateException.class);
+			}
+		}
+
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void generationCheckedPutSkipsValueLoadedBeforeInvalidate() {
+		LruTtlCache<String, String> cache = new LruTtlCache<>(10, 60_000);
+		long before = cache.generation();
+		cache.invalidate("u1");
+
+		cache.put("u1", "stale", before);
+		assertThat(cache.getIfPresent("u1")).isNull();
+
+		cache.put("u1", "fresh", cache.generation());
+		assertThat(cache.getIfPresent("u1")).isEqualTo("fresh");
+	}
+
+	@Test
+	void evictsLeastRecentlyUsed() {
+		LruTtlCache<String, String> cache = new LruTtlCache<>(2, 60_000);
+		cache.put("a", "A");
+		cache.put("b", "B");
+		cache.getIfPresent("a");
+		cache.put("c", "C");
+
+		assertThat(cache.getIfPresent("b")).isNull();
+		assertThat(cache.getIfPresent("a")).isEqualTo("A");
+		assertThat(cache.evictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void expiredAndNullValuesAreNotServed() {
+		LruTtlCache<String, String> expiring = new LruTtlCache<>(10, 0);
+		expiring.put("a", "A");
+		assertThat(expiring.getIfPresent("a")).isNull();
+
+		LruTtlCache<String, String> cache = new LruTtlCache<>(10, 60_000);
+		AtomicInteger loads = new AtomicInteger();
+		cache.get("missing", key -> {
+			loads.incrementAndGet();
+			return null;
+		});
+		cache.get("missing", key -> {
+			loads.incrementAndGet();
+			return null;
+		});
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void invalidateIfRemovesMatchingValues() {
+		LruTtlCache<String, String> cache = new LruTtlCache<>(10, 60_000);
+		cache.put("id:u1", "an");
+		cache.put("username:an", "an");
+		cache.put("id:u2", "binh");
+
+		cache.invalidateIf("an"::equals);
+
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.getIfPresent("id:u2")).isEqualTo("binh");
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			if (!latch.await(5, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("Hết thời gian chờ");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			if (System.nanoTime() > deadline) {
+				throw new AssertionError("Điều kiện không thành lập trong 5 giây");
+			}
+			Thread.sleep(5);
+		}
+	}
+}
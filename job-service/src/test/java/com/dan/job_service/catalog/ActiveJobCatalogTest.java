@@ -0,0 +1,110 @@
+package com.dan.job_service.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dan.events.dtos.JobEvent;
+import com.dan.job_service.dtos.enums.JobSortField;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.repositories.JobRepository;
+import com.dan.job_service.repositories.JobSearchSpec;
+
+class ActiveJobCatalogTest {
+	private ActiveJobCatalog catalog;
+	private JobRepository jobRepository;
+
+	@BeforeEach
+	void setUp() {
+		catalog = new ActiveJobCatalog();
+		jobRepository = mock(JobRepository.class);
+		ReflectionTestUtils.setField(catalog, "jobRepository", jobRepository);
+	}
+
+	@Test
+	void loadSkipsSoftDeletedJobs() {
+		Job deleted = job("2", 1);
+		deleted.setDeletedAt(LocalDateTime.now());
+		when(jobRepository.findByActiveTrue()).thenReturn(List.of(job("1", 1), deleted));
+
+		catalog.load();
+
+		assertThat(catalog.isReady()).isTrue();
+		assertThat(catalog.contains("1")).isTrue();
+		assertThat(catalog.contains("2")).isFalse();
+	}
+
+	@Test
+	void eventDuringLoadIsAppliedAfterSwap() {
+		when(jobRepository.findByActiveTrue()).thenAnswer(invocation -> {
+			catalog.onJobEvent(JobEvent.builder().eventType("CREATE").data(job("2", 2)).build());
+			return List.of(job("1", 1));
+		});
+
+		catalog.load();
+
+		assertThat(catalog.contains("1")).isTrue();
+		assertThat(catalog.contains("2")).isTrue();
+	}
+
+	@Test
+	void defaultOrderIsNewestFirst() {
+		catalog.onJobEvent(event(job("old", 1)));
+		catalog.onJobEvent(event(job("new", 3)));
+		catalog.onJobEvent(event(job("mid", 2)));
+
+		ActiveJobCatalog.CatalogPage page = catalog.query(JobSearchSpec.builder().build(), null, null, 0, 10);
+
+		assertThat(page.ids()).containsExactly("new", "mid", "old");
+		assertThat(page.total()).isEqualTo(3);
+	}
+
+	@Test
+	void sortsBySalaryThenIdInBothDirections() {
+		long[] salaries = {30, 10, 20, 10, 50, 20, 40};
+		for (int i = 0; i < salaries.length; i++) {
+			Job job = job("j" + i, 1);
+			job.setSalaryMax(salaries[i]);
+			catalog.onJobEvent(event(job));
+		}
+		JobSearchSpec all = JobSearchSpec.builder().build();
+
+		assertThat(catalog.query(all, JobSortField.SALARY_MAX, Sort.Direction.ASC, 0, 10).ids())
+				.containsExactly("j1", "j3", "j2", "j5", "j0", "j6", "j4");
+		assertThat(catalog.query(all, JobSortField.SALARY_MAX, Sort.Direction.DESC, 1, 3).ids())
+				.containsExactly("j6", "j0", "j5");
+	}
+
+	@Test
+	void missingDeadlineSortsFirstAscending() {
+		Job withDeadline = job("a", 1);
+		withDeadline.setApplicationDeadline(LocalDate.of(2025, 6, 1));
+		catalog.onJobEvent(event(withDeadline));
+		catalog.onJobEvent(event(job("b", 1)));
+
+		assertThat(catalog.query(JobSearchSpec.builder().build(), JobSortField.APPLICATION_DEADLINE,
+				Sort.Direction.ASC, 0, 10).ids()).containsExactly("b", "a");
+	}
+
+	private static JobEvent event(Job job) {
+		return JobEvent.builder().eventType("CREATE").data(job).build();
+	}
+
+	private static Job job(String id, int day) {
+		return Job.builder()
+				.id(id)
+				.title("Job " + id)
+				.active(true)
+				.createdAt(LocalDateTime.of(2025, 1, day, 0, 0))
+				.build();
+	}
+}
@@ -0,0 +1,147 @@
+package com.dan.job_service.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class FanOutScopeTest {
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void joinReturnsAllResults() {
+		try (FanOutScope scope = FanOutScope.open(Duration.ofSeconds(5))) {
+			FanOutScope.Subtask<Integer> a = scope.fork(() -> 1);
+			FanOutScope.Subtask<String> b = scope.fork(() -> "hai");
+			scope.join();
+
+			assertThat(a.get()).isEqualTo(1);
+			assertThat(b.get()).isEqualTo("hai");
+		}
+	}
+
+	@Test
+	void firstFailureCancelsSiblingsAndIsRethrown() throws Exception {
+		CountDownLatch siblingStarted = new CountDownLatch(1);
+		AtomicBoolean siblingInterrupted = new AtomicBoolean();
+		FanOutScope.Subtask<String> slow;
+
+		long started = System.nanoTime();
+		try (FanOutScope scope = FanOutScope.open(Duration.ofSeconds(30))) {
+			slow = scope.fork(() -> {
+				siblingStarted.countDown();
+				try {
+					Thread.sleep(30_000);
+					return "xong";
+				} catch (InterruptedException e) {
+					siblingInterrupted.set(true);
+					throw e;
+				}
+			});
+			assertThat(siblingStarted.await(5, TimeUnit.SECONDS)).isTrue();
+			scope.fork(() -> {
+				throw new IllegalStateException("identity-service lỗi");
+			});
+
+			assertThatThrownBy(scope::join)
+					.isInstanceOf(IllegalStateException.class)
+					.hasMessage("identity-service lỗi");
+		}
+
+		// close() chờ tác vụ bị hủy dừng hẳn, không đợi hết 30 giây
+		assertThat(System.nanoTime() - started).isLessThan(TimeUnit.SECONDS.toNanos(5));
+		assertThat(siblingInterrupted).isTrue();
+		assertThat(slow.getIfSucceeded()).isNull();
+	}
+
+	@Test
+	void deadlineCancelsRunningTasks() throws Exception {
+		CountDownLatch slowStarted = new CountDownLatch(1);
+		AtomicBoolean interrupted = new AtomicBoolean();
+		FanOutScope.Subtask<String> fast;
+
+		try (FanOutScope scope = FanOutScope.open(Duration.ofMillis(300))) {
+			fast = scope.fork(() -> "nhanh");
+			scope.fork(() -> {
+				slowStarted.countDown();
+				try {
+					Thread.sleep(30_000);
+				} catch (InterruptedException e) {
+					interrupted.set(true);
+				}
+				return null;
+			});
+			assertThat(slowStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+			assertThatThrownBy(scope::join)
+					.isInstanceOf(RuntimeException.class)
+					.hasMessageContaining("Quá thời gian");
+		}
+
+		assertThat(interrupted).isTrue();
+		// Kết quả đã xong trước hạn vẫn dùng được để dọn dẹp
+		assertThat(fast.getIfSucceeded()).isEqualTo("nhanh");
+	}
+
+	@Test
+	void maxConcurrencyLimitsRunningTasks() {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger peak = new AtomicInteger();
+		List<FanOutScope.Subtask<Integer>> subtasks = new ArrayList<>();
+
+		try (FanOutScope scope = FanOutScope.open(Duration.ofSeconds(10), 3)) {
+			for (int i = 0; i < 20; i++) {
+				int value = i;
+				subtasks.add(scope.fork(() -> {
+					peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+					Thread.sleep(10);
+					running.decrementAndGet();
+					return value;
+				}));
+			}
+			scope.join();
+		}
+
+		assertThat(peak.get()).isBetween(1, 3);
+		assertThat(subtasks).extracting(FanOutScope.Subtask::get).hasSize(20);
+	}
+
+	@Test
+	void subtasksSeeTheOpeningThreadsRequestContext() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader("Authorization", "Bearer A");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+		try (FanOutScope scope = FanOutScope.open(Duration.ofSeconds(5))) {
+			FanOutScope.Subtask<String> header = scope.fork(() -> ((ServletRequestAttributes) RequestContextHolder
+					.getRequestAttributes()).getRequest().getHeader("Authorization"));
+			scope.join();
+
+			assertThat(header.get()).isEqualTo("Bearer A");
+		}
+	}
+
+	@Test
+	void forkAfterCloseIsRejected() {
+		FanOutScope scope = FanOutScope.open(Duration.ofSeconds(1));
+		scope.close();
+
+		assertThatThrownBy(() -> scope.fork(() -> 1)).isInstanceOf(IllegalStateException.class);
+	}
+}
@@ -0,0 +1,49 @@
+package com.dan.job_service.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ReloadBufferTest {
+	@Test
+	void changesAreAppliedDirectlyWhenNotLoading() {
+		ReloadBuffer buffer = new ReloadBuffer();
+
+		assertThat(buffer.deferIfLoading(() -> { })).isFalse();
+	}
+
+	@Test
+	void deferredChangesReplayInArrivalOrder() {
+		ReloadBuffer buffer = new ReloadBuffer();
+		List<String> applied = new ArrayList<>();
+
+		buffer.start();
+		assertThat(buffer.deferIfLoading(() -> applied.add("a"))).isTrue();
+		assertThat(buffer.deferIfLoading(() -> applied.add("b"))).isTrue();
+		assertThat(applied).isEmpty();
+		buffer.finish();
+
+		assertThat(applied).containsExactly("a", "b");
+		assertThat(buffer.deferIfLoading(() -> applied.add("c"))).isFalse();
+	}
+
+	@Test
+	void failingChangeDoesNotDropTheRest() {
+		ReloadBuffer buffer = new ReloadBuffer();
+		List<String> applied = new ArrayList<>();
+
+		buffer.start();
+		buffer.deferIfLoading(() -> applied.add("a"));
+		buffer.deferIfLoading(() -> {
+			throw new IllegalStateException("lỗi áp thay đổi");
+		});
+		buffer.deferIfLoading(() -> applied.add("c"));
+		buffer.finish();
+
+		assertThat(applied).containsExactly("a", "c");
+		assertThat(buffer.deferIfLoading(() -> { })).isFalse();
+	}
+}
@@ -0,0 +1,63 @@
+package com.dan.job_service.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.dan.job_service.security.jwt.JwtService;
+import com.dan.job_service.services.JobService;
+
+class JobControllerCursorTest {
+	private MockMvc mockMvc;
+	private JobService jobService;
+
+	@BeforeEach
+	void setUp() {
+		JobController controller = new JobController();
+		jobService = mock(JobService.class);
+		JwtService jwtService = mock(JwtService.class);
+		when(jwtService.getUsernameFromRequest(any())).thenReturn("owner");
+		ReflectionTestUtils.setField(controller, "jobService", jobService);
+		ReflectionTestUtils.setField(controller, "jwtService", jwtService);
+		mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+	}
+
+	@Test
+	void cursorBranchesRejectNonPositiveSize() throws Exception {
+		mockMvc.perform(get("/job/jobs/private/get-jobs-by-user").param("cursor", "").param("size", "-1"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/job/jobs/private/get-applied-jobs").param("cursor", "").param("size", "0"))
+				.andExpect(status().isBadRequest());
+		verifyNoInteractions(jobService);
+	}
+
+	@Test
+	void cursorBranchesRejectOversizedPages() throws Exception {
+		mockMvc.perform(get("/job/jobs/private/get-jobs-by-user").param("cursor", "").param("size", "101"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/job/jobs/private/get-applied-jobs").param("cursor", "").param("size", "1000"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/job/jobs/public/get-all-jobs").param("cursor", "").param("size", "500"))
+				.andExpect(status().isBadRequest());
+		verifyNoInteractions(jobService);
+	}
+
+	@Test
+	void cursorBranchAcceptsSizeWithinBounds() throws Exception {
+		mockMvc.perform(get("/job/jobs/private/get-applied-jobs").param("cursor", "").param("size", "100"))
+				.andExpect(status().isOk());
+		verify(jobService).getAppliedJobsByCursor(anyString(), anyString(), anyString(), anyInt());
+	}
+}
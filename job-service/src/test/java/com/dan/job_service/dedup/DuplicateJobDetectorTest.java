@@ -0,0 +1,87 @@
+package com.dan.job_service.dedup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dan.events.dtos.JobEvent;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.repositories.JobRepository;
+
+class DuplicateJobDetectorTest {
+	private DuplicateJobDetector detector;
+	private JobRepository jobRepository;
+
+	@BeforeEach
+	void setUp() {
+		detector = new DuplicateJobDetector();
+		jobRepository = mock(JobRepository.class);
+		ReflectionTestUtils.setField(detector, "jobRepository", jobRepository);
+	}
+
+	@Test
+	void nearDuplicateAboveThresholdIsFound() {
+		when(jobRepository.findByActiveTrue()).thenReturn(List.of(job("original", "owner", replaced(0))));
+		detector.load();
+
+		// Đổi 1 trong 60 từ: Jaccard theo shingle ~0.90
+		List<DuplicateJobDetector.Match> matches = detector.findDuplicates(job("copy", "other", replaced(1)));
+
+		assertThat(matches).singleElement().satisfies(match -> {
+			assertThat(match.jobId()).isEqualTo("original");
+			assertThat(match.userId()).isEqualTo("owner");
+			assertThat(match.similarity()).isGreaterThanOrEqualTo(DuplicateJobDetector.DUPLICATE_THRESHOLD);
+		});
+	}
+
+	@Test
+	void looselyRelatedJobIsNotReported() {
+		when(jobRepository.findByActiveTrue()).thenReturn(List.of(job("original", "owner", replaced(0))));
+		detector.load();
+
+		// Đổi 1/4 số từ, rải đều: Jaccard theo shingle dưới 0.5
+		assertThat(detector.findDuplicates(job("other", "other", replaced(15)))).isEmpty();
+	}
+
+	@Test
+	void jobIsNotItsOwnDuplicateAndInactiveJobsLeaveTheIndex() {
+		Job original = job("original", "owner", replaced(0));
+		when(jobRepository.findByActiveTrue()).thenReturn(List.of(original));
+		detector.load();
+
+		assertThat(detector.findDuplicates(original)).isEmpty();
+
+		Job deactivated = job("original", "owner", replaced(0));
+		deactivated.setActive(false);
+		detector.onJobEvent(JobEvent.builder().eventType("UPDATE").data(deactivated).build());
+
+		assertThat(detector.findDuplicates(job("copy", "other", replaced(0)))).isEmpty();
+	}
+
+	private static String replaced(int count) {
+		List<String> tokens = new ArrayList<>();
+		for (int i = 0; i < 60; i++) {
+			tokens.add("tu" + i);
+		}
+		for (int i = 0; i < count; i++) {
+			tokens.set(2 + i * (56 / Math.max(count, 1)), "khac" + i);
+		}
+		return String.join(" ", tokens);
+	}
+
+	private static Job job(String id, String userId, String description) {
+		return Job.builder()
+				.id(id)
+				.userId(userId)
+				.description(description)
+				.active(true)
+				.build();
+	}
+}
@@ -0,0 +1,79 @@
+package com.dan.job_service.dedup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class MinHasherTest {
+	private final MinHasher minHasher = new MinHasher(120, 0x5eedL);
+
+	@Test
+	void identicalTextsHaveIdenticalSignatures() {
+		String text = words(0, 40);
+
+		assertThat(MinHasher.similarity(minHasher.signature(text), minHasher.signature(text))).isEqualTo(1.0);
+	}
+
+	@Test
+	void accentsAndCaseDoNotChangeSignature() {
+		assertThat(minHasher.signature("Kế toán tổng hợp Hà Nội"))
+				.isEqualTo(minHasher.signature("ke toan TONG HOP ha noi"));
+	}
+
+	@Test
+	void emptyTextHasNoSignature() {
+		assertThat(minHasher.signature("  ")).isNull();
+		assertThat(minHasher.signature(null)).isNull();
+	}
+
+	@Test
+	void estimateTracksExactShingleJaccard() {
+		List<String> base = tokens(0, 100);
+		for (int replaced : new int[] {1, 10, 30, 60}) {
+			List<String> other = new ArrayList<>(base);
+			for (int i = 0; i < replaced; i++) {
+				other.set(i * (100 / replaced), "khac" + i);
+			}
+
+			double exact = jaccard(shingles(base), shingles(other));
+			double estimate = MinHasher.similarity(
+					minHasher.signature(String.join(" ", base)), minHasher.signature(String.join(" ", other)));
+
+			assertThat(estimate).as("replaced %d words", replaced).isCloseTo(exact, within(0.15));
+		}
+	}
+
+	private static String words(int from, int to) {
+		return String.join(" ", tokens(from, to));
+	}
+
+	private static List<String> tokens(int from, int to) {
+		List<String> tokens = new ArrayList<>();
+		for (int i = from; i < to; i++) {
+			tokens.add("tu" + i);
+		}
+		return tokens;
+	}
+
+	private static Set<String> shingles(List<String> tokens) {
+		Set<String> shingles = new HashSet<>();
+		for (int i = 0; i + 3 <= tokens.size(); i++) {
+			shingles.add(String.join(" ", tokens.subList(i, i + 3)));
+		}
+		return shingles;
+	}
+
+	private static double jaccard(Set<String> a, Set<String> b) {
+		Set<String> intersection = new HashSet<>(a);
+		intersection.retainAll(b);
+		Set<String> union = new HashSet<>(a);
+		union.addAll(b);
+		return (double) intersection.size() / union.size();
+	}
+}
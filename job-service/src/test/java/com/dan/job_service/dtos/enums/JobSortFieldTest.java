@@ -0,0 +1,38 @@
+package com.dan.job_service.dtos.enums;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.dan.job_service.models.Job;
+
+class JobSortFieldTest {
+
+	@Test
+	void formatAndParseRoundTrip() {
+		Job job = Job.builder()
+				.createdAt(LocalDateTime.of(2025, 5, 6, 7, 8, 9))
+				.salaryMax(15_000_000L)
+				.applicationDeadline(LocalDate.of(2025, 6, 30))
+				.build();
+
+		for (JobSortField field : JobSortField.values()) {
+			Object parsed = field.parse(field.format(job));
+			assertThat(parsed).isNotNull();
+		}
+		assertThat(JobSortField.CREATED_AT.parse(JobSortField.CREATED_AT.format(job))).isEqualTo(job.getCreatedAt());
+		assertThat(JobSortField.SALARY_MAX.parse(JobSortField.SALARY_MAX.format(job))).isEqualTo(15_000_000L);
+	}
+
+	@Test
+	void missingKeyFormatsAndParsesAsNull() {
+		Job job = Job.builder().build();
+
+		assertThat(JobSortField.CREATED_AT.format(job)).isNull();
+		assertThat(JobSortField.APPLICATION_DEADLINE.format(job)).isNull();
+		assertThat(JobSortField.APPLICATION_DEADLINE.parse(null)).isNull();
+	}
+}
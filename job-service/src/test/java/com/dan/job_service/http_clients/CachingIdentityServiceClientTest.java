@@ -0,0 +1,65 @@
+package com.dan.job_service.http_clients;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.dan.job_service.dtos.responses.UserDetailToCreateJob;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CachingIdentityServiceClientTest {
+	private IdentityServiceClient delegate;
+	private CachingIdentityServiceClient client;
+
+	@BeforeEach
+	void setUp() {
+		delegate = mock(IdentityServiceClient.class);
+		client = new CachingIdentityServiceClient(delegate, new SimpleMeterRegistry(), 100, 300);
+	}
+
+	@Test
+	void batchLoadedBeforeInvalidateIsNotCached() {
+		UserDetailToCreateJob stale = user("u1", "old-name");
+		when(delegate.getUsersByIds(List.of("u1"))).thenAnswer(invocation -> {
+			// Sự kiện cập nhật người dùng đến khi lời gọi hàng loạt đang chạy
+			client.invalidate("u1", "old-name");
+			return List.of(stale);
+		});
+
+		assertThat(client.getUsersByIds(List.of("u1"))).containsExactly(stale);
+		assertThat(client.getCachedUserById("u1")).isNull();
+	}
+
+	@Test
+	void crossCacheWriteIsSkippedWhenInvalidatedDuringLoad() {
+		UserDetailToCreateJob stale = user("u1", "old-name");
+		when(delegate.getUserByUsername("old-name")).thenAnswer(invocation -> {
+			client.invalidate("u1", "old-name");
+			return stale;
+		});
+
+		assertThat(client.getUserByUsername("old-name")).isSameAs(stale);
+		assertThat(client.getCachedUserById("u1")).isNull();
+	}
+
+	@Test
+	void batchLoadFillsBothCaches() {
+		UserDetailToCreateJob user = user("u1", "cty-a");
+		when(delegate.getUsersByIds(List.of("u1"))).thenReturn(List.of(user));
+
+		client.getUsersByIds(List.of("u1"));
+
+		assertThat(client.getCachedUserById("u1")).isSameAs(user);
+		assertThat(client.getUserByUsername("cty-a")).isSameAs(user);
+	}
+
+	private static UserDetailToCreateJob user(String id, String username) {
+		return UserDetailToCreateJob.builder().id(id).username(username).name("Tên " + id).build();
+	}
+}
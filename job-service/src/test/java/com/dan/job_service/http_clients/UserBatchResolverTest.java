@@ -0,0 +1,123 @@
+package com.dan.job_service.http_clients;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.dan.job_service.dtos.responses.UserDetailToCreateJob;
+
+class UserBatchResolverTest {
+	private UserBatchResolver resolver;
+	private CachingIdentityServiceClient identityServiceClient;
+	// Mỗi lời gọi tới identity-service: header Authorization lúc gọi + danh sách id
+	private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+
+	@BeforeEach
+	void setUp() {
+		resolver = new UserBatchResolver();
+		identityServiceClient = mock(CachingIdentityServiceClient.class);
+		ReflectionTestUtils.setField(resolver, "identityServiceClient", identityServiceClient);
+		ReflectionTestUtils.setField(resolver, "maxBatchSize", 100);
+		ReflectionTestUtils.setField(resolver, "fallbackParallelism", 4);
+		when(identityServiceClient.getUsersByIds(anyList())).thenAnswer(invocation -> {
+			List<String> ids = invocation.getArgument(0);
+			calls.add(currentAuthorization() + " " + ids.stream().sorted().toList());
+			return ids.stream().map(UserBatchResolverTest::user).toList();
+		});
+		when(identityServiceClient.getUserById(anyString())).thenAnswer(invocation -> {
+			String id = invocation.getArgument(0);
+			calls.add(currentAuthorization() + " [" + id + "]");
+			return user(id);
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+		resolver.shutdown();
+	}
+
+	@Test
+	void loadAllSendsOnlyCallersIdsWithCallersCredentials() {
+		ReflectionTestUtils.setField(resolver, "batchWindowMillis", 60_000L);
+		bindRequest("Bearer B");
+		CompletableFuture<UserDetailToCreateJob> otherRequest = resolver.load("b1");
+
+		bindRequest("Bearer A");
+		Map<String, UserDetailToCreateJob> users = resolver.loadAll(List.of("a1", "a2", "a1"));
+
+		assertThat(users).containsOnlyKeys("a1", "a2");
+		assertThat(calls).containsExactly("Bearer A [a1, a2]");
+		assertThat(otherRequest).isNotDone();
+	}
+
+	@Test
+	void windowMergesOnlyCallersWithSameCredentials() throws Exception {
+		ReflectionTestUtils.setField(resolver, "batchWindowMillis", 50L);
+		bindRequest("Bearer A");
+		CompletableFuture<UserDetailToCreateJob> a1 = resolver.load("a1");
+		bindRequest("Bearer B");
+		CompletableFuture<UserDetailToCreateJob> b1 = resolver.load("b1");
+		bindRequest("Bearer A");
+		CompletableFuture<UserDetailToCreateJob> a2 = resolver.load("a2");
+
+		assertThat(a1.get(5, TimeUnit.SECONDS).getId()).isEqualTo("a1");
+		assertThat(a2.get(5, TimeUnit.SECONDS).getId()).isEqualTo("a2");
+		assertThat(b1.get(5, TimeUnit.SECONDS).getId()).isEqualTo("b1");
+		assertThat(calls).containsExactlyInAnyOrder("Bearer A [a1, a2]", "Bearer B [b1]");
+	}
+
+	@Test
+	void failingBatchDoesNotFailOtherCredentials() throws Exception {
+		ReflectionTestUtils.setField(resolver, "batchWindowMillis", 50L);
+		when(identityServiceClient.getUserById("bad")).thenThrow(new IllegalStateException("lỗi"));
+		bindRequest("Bearer A");
+		CompletableFuture<UserDetailToCreateJob> bad = resolver.load("bad");
+		bindRequest("Bearer B");
+		CompletableFuture<UserDetailToCreateJob> good = resolver.load("b1");
+
+		assertThat(good.get(5, TimeUnit.SECONDS).getId()).isEqualTo("b1");
+		// Lỗi từng id trong lượt gọi lẻ được ghi log và trả về null
+		assertThat(bad.get(5, TimeUnit.SECONDS)).isNull();
+	}
+
+	@Test
+	void cachedUsersSkipRemoteCall() {
+		when(identityServiceClient.getCachedUserById("a1")).thenReturn(user("a1"));
+
+		assertThat(resolver.loadAll(List.of("a1"))).containsOnlyKeys("a1");
+		assertThat(calls).isEmpty();
+	}
+
+	private static void bindRequest(String authorization) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader("Authorization", authorization);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	private static String currentAuthorization() {
+		ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+		return attributes != null ? attributes.getRequest().getHeader("Authorization") : "none";
+	}
+
+	private static UserDetailToCreateJob user(String id) {
+		return UserDetailToCreateJob.builder().id(id).name("User " + id).build();
+	}
+}
@@ -0,0 +1,116 @@
+package com.dan.job_service.instrumentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import feign.Request;
+import feign.RequestTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Kiểm tra API ngân sách truy vấn mà không cần Mongo: handler giả ghi lệnh trực tiếp vào thống kê của request
+class QueryBudgetFilterTest {
+    private MockMvc mockMvc;
+    private QueryBudgetRecorder recorder;
+    private SimpleMeterRegistry meterRegistry;
+
+    @RestController
+    static class StubController {
+        private final FeignCallCounter feignCallCounter = new FeignCallCounter();
+
+        @GetMapping("/stub/cards")
+        @QueryBudget(mongo = 1, feign = 0)
+        String cards() {
+            RequestQueryStats.current().recordMongoCommand("find job_details");
+            return "ok";
+        }
+
+        @GetMapping("/stub/n-plus-one")
+        @QueryBudget(mongo = 2)
+        String nPlusOne() {
+            for (int i = 0; i < 3; i++) {
+                RequestQueryStats.current().recordMongoCommand("find job_details");
+            }
+            return "ok";
+        }
+
+        @GetMapping("/stub/profiles")
+        String profiles() {
+            for (int i = 0; i < 2; i++) {
+                feignCallCounter.apply(new RequestTemplate().method(Request.HttpMethod.GET).uri("/profile/get/u" + i));
+            }
+            return "ok";
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        recorder = new QueryBudgetRecorder();
+        ReflectionTestUtils.setField(recorder, "capacity", 10);
+        meterRegistry = new SimpleMeterRegistry();
+        QueryBudgetFilter filter = new QueryBudgetFilter(meterRegistry, recorder);
+        ReflectionTestUtils.setField(filter, "defaultMongoBudget", 5);
+        ReflectionTestUtils.setField(filter, "defaultFeignBudget", 1);
+        ReflectionTestUtils.setField(filter, "repeatThreshold", 3);
+        mockMvc = MockMvcBuilders.standaloneSetup(new StubController()).addFilters(filter).build();
+    }
+
+    @Test
+    void requestWithinAnnotatedBudgetIsRecordedUnderItsHandler() throws Exception {
+        mockMvc.perform(get("/stub/cards")).andExpect(status().isOk());
+
+        RequestQueryStats stats = recorder.lastFor("StubController#cards").assertWithin(1, 0);
+        assertThat(stats.getMethod()).isEqualTo("GET");
+        assertThat(stats.getPath()).isEqualTo("/stub/cards");
+        assertThat(stats.getMongoCommandsByKey()).containsEntry("find job_details", 1);
+        recorder.assertNoViolations();
+    }
+
+    @Test
+    void requestOverAnnotatedBudgetIsReportedAsViolation() throws Exception {
+        mockMvc.perform(get("/stub/n-plus-one")).andExpect(status().isOk());
+
+        assertThatThrownBy(() -> recorder.lastFor("StubController#nPlusOne").assertWithin(2, 0))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("mongo 3/2")
+                .hasMessageContaining("find job_details=3");
+        assertThat(recorder.violations()).hasSize(1);
+        assertThatThrownBy(recorder::assertNoViolations).isInstanceOf(AssertionError.class);
+        assertThat(meterRegistry.get("http.server.requests.query.budget.exceeded")
+                .tag("handler", "StubController#nPlusOne").counter().count()).isEqualTo(1.0);
+        assertThat(recorder.lastFor("StubController#nPlusOne").mostRepeated().getValue()).isEqualTo(3);
+    }
+
+    @Test
+    void feignCallsAreCountedAgainstTheDefaultBudget() throws Exception {
+        mockMvc.perform(get("/stub/profiles")).andExpect(status().isOk());
+
+        RequestQueryStats stats = recorder.lastFor("StubController#profiles");
+        assertThat(stats.getFeignCalls()).isEqualTo(2);
+        assertThat(stats.getFeignCallsByKey()).containsOnlyKeys("GET /profile/get/u0", "GET /profile/get/u1");
+        assertThat(recorder.violations()).containsExactly(stats);
+    }
+
+    @Test
+    void lastForUnknownHandlerFails() throws Exception {
+        mockMvc.perform(get("/stub/cards")).andExpect(status().isOk());
+
+        assertThat(recorder.last().getHandler()).isEqualTo("StubController#cards");
+        assertThatThrownBy(() -> recorder.lastFor("StubController#profiles"))
+                .isInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    void noStatsOutsideHttpRequest() {
+        assertThat(RequestQueryStats.current()).isNull();
+    }
+}
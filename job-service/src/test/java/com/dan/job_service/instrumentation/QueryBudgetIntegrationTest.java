@@ -0,0 +1,192 @@
+package com.dan.job_service.instrumentation;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.dan.job_service.cache.CategoryTreeCache;
+import com.dan.job_service.catalog.ActiveJobCatalog;
+import com.dan.job_service.dtos.enums.ApplicationStatus;
+import com.dan.job_service.dtos.responses.UserDetailToCreateJob;
+import com.dan.job_service.dtos.responses.UserProfileDetail;
+import com.dan.job_service.http_clients.CachingIdentityServiceClient;
+import com.dan.job_service.http_clients.ProfileServiceClient;
+import com.dan.job_service.models.Category;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.models.JobApplication;
+import com.dan.job_service.models.JobDetailView;
+import com.dan.job_service.readmodel.JobDetailProjector;
+
+// Chạy với Mongo thật dành riêng cho kiểm thử: MONGO_TEST_URI=mongodb://localhost:27017/jobs_job_test
+// Dữ liệu được gắn tiền tố riêng và xóa sau mỗi test; identity-service và profile-service được mock.
+@SpringBootTest(properties = {
+        "spring.kafka.listener.auto-startup=false",
+        "eureka.client.enabled=false"
+})
+@AutoConfigureMockMvc
+@EnabledIfEnvironmentVariable(named = "MONGO_TEST_URI", matches = ".+")
+class QueryBudgetIntegrationTest {
+    private static final int JOBS = 15;
+    private static final int APPLICANTS = 5;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> System.getenv("MONGO_TEST_URI"));
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryBudgetRecorder queryBudgetRecorder;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private JobDetailProjector jobDetailProjector;
+
+    @Autowired
+    private ActiveJobCatalog activeJobCatalog;
+
+    @Autowired
+    private CategoryTreeCache categoryTreeCache;
+
+    @MockitoBean
+    private CachingIdentityServiceClient identityServiceClient;
+
+    @MockitoBean
+    private ProfileServiceClient profileServiceClient;
+
+    private final String prefix = "qb-" + UUID.randomUUID() + "-";
+    private String jobId;
+
+    @BeforeEach
+    void seed() {
+        when(identityServiceClient.getUsersByIds(anyList())).thenAnswer(invocation -> {
+            List<String> ids = invocation.getArgument(0);
+            return ids.stream().map(this::user).toList();
+        });
+        when(identityServiceClient.getUserById(anyString()))
+                .thenAnswer(invocation -> user(invocation.getArgument(0)));
+        when(profileServiceClient.getPublicProfileByUserId(anyString())).thenAnswer(invocation -> {
+            String userId = invocation.getArgument(0);
+            return UserProfileDetail.builder().userId(userId).name("Ứng viên " + userId).enabled(true).build();
+        });
+
+        Category root = mongoTemplate.insert(Category.builder()
+                .id(prefix + "category")
+                .name(prefix + "Lập trình")
+                .description("Danh mục gốc")
+                .ancestors(List.of())
+                .build());
+        mongoTemplate.insert(Category.builder()
+                .id(prefix + "category-child")
+                .name(prefix + "Backend")
+                .description("Danh mục con")
+                .parentId(root.getId())
+                .ancestors(List.of(root.getId()))
+                .build());
+
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < JOBS; i++) {
+            jobs.add(mongoTemplate.insert(Job.builder()
+                    .id(prefix + "job-" + i)
+                    .userId(prefix + "owner")
+                    .categoryId(prefix + "category-child")
+                    .title("Lập trình viên Java " + i)
+                    .description("Phát triển dịch vụ Spring Boot")
+                    .salaryMin(1000)
+                    .salaryMax(2000)
+                    .applicationDeadline(LocalDate.now().plusDays(30))
+                    .active(true)
+                    .status(true)
+                    .createdAt(LocalDateTime.now().minusMinutes(i))
+                    .build()));
+        }
+        jobId = jobs.get(0).getId();
+        jobDetailProjector.project(jobs);
+
+        for (int i = 0; i < APPLICANTS; i++) {
+            mongoTemplate.insert(JobApplication.builder()
+                    .id(prefix + "application-" + i)
+                    .jobId(jobId)
+                    .userId(prefix + "applicant-" + i)
+                    .status(ApplicationStatus.PENDING)
+                    .appliedAt(LocalDateTime.now().minusMinutes(i))
+                    .build());
+        }
+
+        activeJobCatalog.load();
+        categoryTreeCache.load();
+        queryBudgetRecorder.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        Query seeded = new Query(Criteria.where("_id").regex("^" + prefix));
+        mongoTemplate.remove(seeded, Category.class);
+        mongoTemplate.remove(seeded, Job.class);
+        mongoTemplate.remove(seeded, JobDetailView.class);
+        mongoTemplate.remove(seeded, JobApplication.class);
+        activeJobCatalog.load();
+        categoryTreeCache.load();
+    }
+
+    @Test
+    void jobListLoadsPageWithSingleReadModelQuery() throws Exception {
+        mockMvc.perform(get("/job/jobs/public/get-all-jobs").param("size", "10"))
+                .andExpect(status().isOk());
+
+        // Lọc + sắp xếp trên catalog trong bộ nhớ, chỉ một lệnh find trên job_details cho cả trang
+        queryBudgetRecorder.lastFor("JobController#getAllJobsByUser").assertWithin(1, 0);
+    }
+
+    @Test
+    void publicApplicationsDoNotQueryPerApplicant() throws Exception {
+        mockMvc.perform(get("/job/jobs/public/list-application/{jobId}", jobId).param("size", "10"))
+                .andExpect(status().isOk());
+
+        // findById trên jobs + một aggregate gom ứng viên, tổng và số đơn đã duyệt, không phụ thuộc số ứng viên
+        queryBudgetRecorder.lastFor("JobApplicationController#getPublicApplicationsById").assertWithin(2, 0);
+        verify(profileServiceClient, times(APPLICANTS)).getPublicProfileByUserId(anyString());
+    }
+
+    @Test
+    void categoryListIsServedFromCache() throws Exception {
+        mockMvc.perform(get("/job/categories/public/get-all").param("size", "50"))
+                .andExpect(status().isOk());
+
+        queryBudgetRecorder.lastFor("CategoryController#getAllCategories").assertWithin(0, 0);
+        queryBudgetRecorder.assertNoViolations();
+    }
+
+    private UserDetailToCreateJob user(String id) {
+        return UserDetailToCreateJob.builder().id(id).name("Người dùng " + id).username(id).build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.dan.job_service.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dan.job_service.cache.CategoryTreeCache;
+import com.dan.job_service.dtos.responses.UserDetailToCreateJob;
+import com.dan.job_service.http_clients.UserBatchResolver;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.models.JobDetailView;
+import com.dan.job_service.repositories.JobDetailViewRepository;
+import com.dan.job_service.repositories.JobRepository;
+
+class JobDetailProjectorTest {
+	private JobDetailProjector projector;
+	private JobDetailViewRepository jobDetailViewRepository;
+	private UserBatchResolver userBatchResolver;
+
+	@BeforeEach
+	void setUp() {
+		projector = new JobDetailProjector();
+		jobDetailViewRepository = mock(JobDetailViewRepository.class);
+		JobRepository jobRepository = mock(JobRepository.class);
+		CategoryTreeCache categoryTreeCache = mock(CategoryTreeCache.class);
+		userBatchResolver = mock(UserBatchResolver.class);
+		when(jobRepository.countActiveJobsByUserIds(any())).thenReturn(List.of());
+		when(categoryTreeCache.get(anyString())).thenReturn(Optional.empty());
+		when(userBatchResolver.loadAll(any())).thenReturn(Map.of("u1",
+				UserDetailToCreateJob.builder().id("u1").name("Công ty A").username("cty-a").build()));
+		ReflectionTestUtils.setField(projector, "jobDetailViewRepository", jobDetailViewRepository);
+		ReflectionTestUtils.setField(projector, "jobRepository", jobRepository);
+		ReflectionTestUtils.setField(projector, "categoryTreeCache", categoryTreeCache);
+		ReflectionTestUtils.setField(projector, "userBatchResolver", userBatchResolver);
+	}
+
+	@Test
+	void deletedJobIsReturnedButNotWrittenBack() {
+		Job deleted = job("deleted");
+		deleted.setDeletedAt(LocalDateTime.now());
+
+		List<JobDetailView> views = projector.project(List.of(job("live"), deleted));
+
+		assertThat(views).extracting(JobDetailView::getId).containsExactly("live", "deleted");
+		assertThat(views).extracting(JobDetailView::getName).containsOnly("Công ty A");
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<JobDetailView>> saved = ArgumentCaptor.forClass(List.class);
+		verify(jobDetailViewRepository).saveAll(saved.capture());
+		assertThat(saved.getValue()).extracting(JobDetailView::getId).containsExactly("live");
+	}
+
+	@Test
+	void onlyDeletedJobsSkipSave() {
+		Job deleted = job("deleted");
+		deleted.setDeletedAt(LocalDateTime.now());
+
+		assertThat(projector.project(List.of(deleted))).hasSize(1);
+		verify(jobDetailViewRepository, never()).saveAll(any());
+	}
+
+	@Test
+	void ownerWithBlankNameIsStillComplete() {
+		when(userBatchResolver.loadAll(any())).thenReturn(Map.of("u1",
+				UserDetailToCreateJob.builder().id("u1").name("").username("cty-a").build()));
+
+		JobDetailView view = projector.project(List.of(job("j1"))).get(0);
+
+		assertThat(view.getUserName()).isEqualTo("cty-a");
+		assertThat(view.getName()).isNull();
+		assertThat(view.getOwnerRetryAt()).isNull();
+		assertThat(projector.isComplete(view)).isTrue();
+	}
+
+	@Test
+	void failedOwnerLookupWaitsLongerAfterEachFailure() {
+		when(userBatchResolver.loadAll(any())).thenReturn(Map.of());
+
+		JobDetailView first = projector.project(List.of(job("j1"))).get(0);
+		assertThat(first.getUserName()).isNull();
+		assertThat(first.getOwnerLookupFailures()).isEqualTo(1);
+		assertThat(projector.isComplete(first)).isTrue();
+
+		JobDetailView second = projector.project(List.of(job("j1")), Map.of("j1", first)).get(0);
+		assertThat(second.getOwnerLookupFailures()).isEqualTo(2);
+		assertThat(second.getOwnerRetryAt()).isAfter(first.getOwnerRetryAt());
+	}
+
+	@Test
+	void expiredOwnerRetryNeedsProjection() {
+		JobDetailView view = JobDetailView.builder().id("j1").userId("u1")
+				.ownerLookupFailures(1).ownerRetryAt(LocalDateTime.now().minusSeconds(1)).build();
+
+		assertThat(projector.isComplete(view)).isFalse();
+		assertThat(projector.isComplete(null)).isFalse();
+	}
+
+	private static Job job(String id) {
+		return Job.builder().id(id).userId("u1").categoryId("c1").title("Job " + id).active(true).build();
+	}
+}
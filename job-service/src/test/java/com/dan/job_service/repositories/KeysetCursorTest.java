@@ -0,0 +1,94 @@
+package com.dan.job_service.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class KeysetCursorTest {
+	private static final String ID = "665f1c2ab3d4e5f601234567";
+
+	@Test
+	void encodeDecodeRoundTrip() {
+		KeysetCursor cursor = new KeysetCursor("CREATED_AT:DESC", "2025-01-02T03:04:05", ID);
+
+		assertThat(KeysetCursor.decode(cursor.encode(), "CREATED_AT:DESC")).isEqualTo(cursor);
+	}
+
+	@Test
+	void nullValueRoundTrips() {
+		KeysetCursor cursor = new KeysetCursor("APPLICATION_DEADLINE:ASC", null, ID);
+
+		KeysetCursor decoded = KeysetCursor.decode(cursor.encode(), "APPLICATION_DEADLINE:ASC");
+
+		assertThat(decoded.value()).isNull();
+		assertThat(decoded.id()).isEqualTo(ID);
+	}
+
+	@Test
+	void decodeRejectsOtherSortKey() {
+		String token = new KeysetCursor("CREATED_AT:DESC", "2025-01-02T03:04:05", ID).encode();
+
+		assertThatThrownBy(() -> KeysetCursor.decode(token, "SALARY_MAX:DESC"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void decodeRejectsGarbage() {
+		assertThatThrownBy(() -> KeysetCursor.decode("not base64 !!", "CREATED_AT:DESC"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void descendingCriteriaIncludesNullKeysAfterValues() {
+		LocalDateTime value = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+		Document criteria = new KeysetCursor("k", value.toString(), ID)
+				.toCriteria("createdAt", value, Sort.Direction.DESC)
+				.getCriteriaObject();
+
+		List<Document> or = criteria.getList("$or", Document.class);
+		assertThat(or).hasSize(3);
+		assertThat(or.get(0)).isEqualTo(new Document("createdAt", new Document("$lt", value)));
+		assertThat(or.get(2)).isEqualTo(new Document("createdAt", null));
+	}
+
+	@Test
+	void ascendingCriteriaExcludesNullKeys() {
+		Document criteria = new KeysetCursor("k", "100", ID)
+				.toCriteria("salaryMax", 100L, Sort.Direction.ASC)
+				.getCriteriaObject();
+
+		List<Document> or = criteria.getList("$or", Document.class);
+		assertThat(or).hasSize(2);
+		assertThat(or.get(0)).isEqualTo(new Document("salaryMax", new Document("$gt", 100L)));
+	}
+
+	@Test
+	void nullCursorAscendingContinuesIntoNonNullKeys() {
+		Document criteria = new KeysetCursor("k", null, ID)
+				.toCriteria("applicationDeadline", null, Sort.Direction.ASC)
+				.getCriteriaObject();
+
+		List<Document> or = criteria.getList("$or", Document.class);
+		assertThat(or).hasSize(2);
+		assertThat(or.get(1)).isEqualTo(new Document("applicationDeadline", new Document("$ne", null)));
+	}
+
+	@Test
+	void nullCursorDescendingStaysInNullGroup() {
+		Document criteria = new KeysetCursor("k", null, ID)
+				.toCriteria("applicationDeadline", null, Sort.Direction.DESC)
+				.getCriteriaObject();
+
+		List<Document> and = criteria.getList("$and", Document.class);
+		assertThat(and).containsExactly(
+				new Document("applicationDeadline", null),
+				new Document("_id", new Document("$lt", new ObjectId(ID))));
+	}
+}
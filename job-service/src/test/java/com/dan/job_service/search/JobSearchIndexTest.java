@@ -0,0 +1,117 @@
+package com.dan.job_service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dan.events.dtos.JobEvent;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.repositories.JobRepository;
+
+class JobSearchIndexTest {
+	private JobSearchIndex index;
+	private JobRepository jobRepository;
+
+	@BeforeEach
+	void setUp() {
+		index = new JobSearchIndex();
+		jobRepository = mock(JobRepository.class);
+		ReflectionTestUtils.setField(index, "jobRepository", jobRepository);
+	}
+
+	@Test
+	void titleMatchOutranksDescriptionMatch() {
+		index.index(job("1", "Kế toán tổng hợp", "Làm việc với phần mềm Java"));
+		index.index(job("2", "Lập trình viên Java", "Phát triển hệ thống"));
+
+		assertThat(index.search("java")).containsExactly("2", "1");
+	}
+
+	@Test
+	void allTokensMustMatch() {
+		index.index(job("1", "Lập trình viên Java", null));
+		index.index(job("2", "Lập trình viên Python", null));
+
+		assertThat(index.search("lập trình java")).containsExactly("1");
+		assertThat(index.search("java python")).isEmpty();
+	}
+
+	@Test
+	void lastTokenMatchesAsPrefix() {
+		index.index(job("1", "Thiết kế đồ họa", null));
+
+		assertThat(index.search("thiet k")).containsExactly("1");
+		assertThat(index.search("thi ke")).isEmpty();
+	}
+
+	@Test
+	void shorterDocumentRanksHigherForSameTermFrequency() {
+		index.index(job("long", "Java", "mô tả rất dài về công việc với nhiều yêu cầu và phúc lợi khác nhau"));
+		index.index(job("short", "Java", "ngắn"));
+
+		assertThat(index.search("java")).containsExactly("short", "long");
+	}
+
+	@Test
+	void removeAndInactiveEventDropDocument() {
+		index.index(job("1", "Java", null));
+		index.index(job("2", "Java", null));
+
+		index.remove("1");
+		Job inactive = job("2", "Java", null);
+		inactive.setActive(false);
+		index.onJobEvent(JobEvent.builder().eventType("UPDATE").data(inactive).build());
+
+		assertThat(index.search("java")).isEmpty();
+		assertThat(index.size()).isZero();
+	}
+
+	@Test
+	void reindexReplacesOldTerms() {
+		index.index(job("1", "Java", null));
+		index.index(job("1", "Python", null));
+
+		assertThat(index.search("java")).isEmpty();
+		assertThat(index.search("python")).containsExactly("1");
+	}
+
+	@Test
+	void loadSkipsDeletedJobs() {
+		Job deleted = job("2", "Java", null);
+		deleted.setDeletedAt(LocalDateTime.now());
+		when(jobRepository.findByActiveTrue()).thenReturn(List.of(job("1", "Java", null), deleted));
+
+		index.load();
+
+		assertThat(index.search("java")).containsExactly("1");
+	}
+
+	@Test
+	void eventArrivingDuringLoadIsReplayedAfterSwap() {
+		// Sự kiện đến sau khi truy vấn Mongo đã chạy nhưng trước khi chỉ mục được hoán đổi
+		when(jobRepository.findByActiveTrue()).thenAnswer(invocation -> {
+			index.onJobEvent(JobEvent.builder().eventType("CREATE").data(job("2", "Java mới", null)).build());
+			return List.of(job("1", "Java", null));
+		});
+
+		index.load();
+
+		assertThat(index.search("java")).containsExactlyInAnyOrder("1", "2");
+	}
+
+	private static Job job(String id, String title, String description) {
+		return Job.builder()
+				.id(id)
+				.title(title)
+				.description(description)
+				.active(true)
+				.build();
+	}
+}
@@ -0,0 +1,64 @@
+package com.dan.job_service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dan.job_service.cache.CategoryTreeCache;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.models.SavedSearch;
+import com.dan.job_service.repositories.SavedSearchRepository;
+
+class SavedSearchPercolatorTest {
+	private SavedSearchPercolator percolator;
+
+	@BeforeEach
+	void setUp() {
+		percolator = new SavedSearchPercolator();
+		SavedSearchRepository savedSearchRepository = mock(SavedSearchRepository.class);
+		CategoryTreeCache categoryTreeCache = mock(CategoryTreeCache.class);
+		when(categoryTreeCache.ancestorIds(anyString())).thenReturn(List.of());
+		// it -> backend -> java
+		when(categoryTreeCache.ancestorIds("java")).thenReturn(List.of("backend", "it"));
+		when(categoryTreeCache.ancestorIds("backend")).thenReturn(List.of("it"));
+		ReflectionTestUtils.setField(percolator, "savedSearchRepository", savedSearchRepository);
+		ReflectionTestUtils.setField(percolator, "categoryTreeCache", categoryTreeCache);
+	}
+
+	@Test
+	void parentCategorySearchMatchesJobsInChildCategories() {
+		percolator.register(search("s1", "it", null));
+		percolator.register(search("s2", "backend", "spring"));
+
+		assertThat(percolator.match(job("java", "Lập trình viên Spring Boot")))
+				.extracting(SavedSearch::getId).containsExactlyInAnyOrder("s1", "s2");
+		assertThat(percolator.match(job("backend", "Kỹ sư Go")))
+				.extracting(SavedSearch::getId).containsExactly("s1");
+	}
+
+	@Test
+	void childCategorySearchDoesNotMatchParentOrSiblingJobs() {
+		percolator.register(search("s1", "java", null));
+
+		assertThat(percolator.match(job("backend", "Kỹ sư Java"))).isEmpty();
+		assertThat(percolator.match(job("frontend", "Kỹ sư Java"))).isEmpty();
+		assertThat(percolator.match(job("java", "Kỹ sư Java")))
+				.extracting(SavedSearch::getId).containsExactly("s1");
+	}
+
+	private static SavedSearch search(String id, String categoryId, String keywords) {
+		return SavedSearch.builder().id(id).userId("u-" + id).categoryId(categoryId).keywords(keywords)
+				.active(true).build();
+	}
+
+	private static Job job(String categoryId, String title) {
+		return Job.builder().id("j-" + categoryId).categoryId(categoryId).title(title).active(true).build();
+	}
+}
@@ -0,0 +1,37 @@
+package com.dan.job_service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.dan.job_service.dtos.responses.PositionCtrResponse;
+
+class SearchAnalyticsTest {
+
+	@Test
+	void clickWithoutSearchContextIsIgnored() {
+		SearchAnalytics analytics = new SearchAnalytics();
+		analytics.recordSearch("java", 0, 3);
+
+		analytics.recordClick("java", 1);
+		analytics.recordClick(null, 1);
+		analytics.recordClick(" ", 2);
+
+		PositionCtrResponse first = analytics.ctrByPosition().get(0);
+		assertThat(first.getImpressions()).isEqualTo(1);
+		assertThat(first.getClicks()).isEqualTo(1);
+		assertThat(analytics.ctrByPosition().get(1).getClicks()).isZero();
+	}
+
+	@Test
+	void popularSearchesCountFirstPagesOnly() {
+		SearchAnalytics analytics = new SearchAnalytics();
+		analytics.recordSearch("Kế toán", 0, 10);
+		analytics.recordSearch("ke toan", 0, 10);
+		analytics.recordSearch("ke toan", 10, 10);
+		analytics.recordSearch("java", 0, 10);
+
+		assertThat(analytics.popularSearches(1)).singleElement()
+				.satisfies(search -> assertThat(search.getCount()).isEqualTo(2));
+	}
+}
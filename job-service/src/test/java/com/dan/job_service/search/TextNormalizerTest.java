@@ -0,0 +1,36 @@
+package com.dan.job_service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TextNormalizerTest {
+
+	@Test
+	void foldRemovesVietnameseDiacriticsAndLowercases() {
+		assertThat(TextNormalizer.fold("Lập Trình Viên Đà Nẵng")).isEqualTo("lap trinh vien da nang");
+	}
+
+	@Test
+	void foldHandlesNullAndEmpty() {
+		assertThat(TextNormalizer.fold(null)).isEmpty();
+		assertThat(TextNormalizer.fold("")).isEmpty();
+	}
+
+	@Test
+	void tokenizeStripsHtmlAndPunctuation() {
+		assertThat(TextNormalizer.tokenize("<p>Kỹ sư <b>Java</b>, Spring-Boot!</p>"))
+				.containsExactly("ky", "su", "java", "spring", "boot");
+	}
+
+	@Test
+	void tokenizeKeepsDigits() {
+		assertThat(TextNormalizer.tokenize("Java 21 / C++")).containsExactly("java", "21", "c");
+	}
+
+	@Test
+	void tokenizeBlankReturnsEmptyList() {
+		assertThat(TextNormalizer.tokenize("   ")).isEmpty();
+		assertThat(TextNormalizer.tokenize(null)).isEmpty();
+	}
+}
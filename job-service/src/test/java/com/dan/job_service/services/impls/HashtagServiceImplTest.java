@@ -0,0 +1,65 @@
+package com.dan.job_service.services.impls;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import com.dan.events.dtos.JobEvent;
+import com.dan.job_service.models.Hashtag;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.repositories.HashtagRepository;
+import com.dan.job_service.repositories.JobRepository;
+
+class HashtagServiceImplTest {
+	private HashtagRepository hashtagRepository;
+	private JobRepository jobRepository;
+	private HashtagServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		hashtagRepository = mock(HashtagRepository.class);
+		jobRepository = mock(JobRepository.class);
+		service = new HashtagServiceImpl(hashtagRepository, jobRepository);
+	}
+
+	@Test
+	void notReadyFallbackUsesAnchoredQuotedPrefix() {
+		when(hashtagRepository.findByTagRegex(any(), any()))
+				.thenReturn(List.of(Hashtag.builder().tag("C++").build()));
+
+		assertThat(service.searchHashtags(" C+ ", 5)).containsExactly("C++");
+		verify(hashtagRepository).findByTagRegex(eq("^\\QC+\\E"), eq(PageRequest.of(0, 5)));
+	}
+
+	@Test
+	void newTagsArePersistedOutsideTheIndexLock() {
+		when(hashtagRepository.findAll()).thenReturn(List.of(Hashtag.builder().tag("Java").build()));
+		when(jobRepository.findByActiveTrue()).thenReturn(List.of());
+		service.load();
+		List<Boolean> lockHeld = new ArrayList<>();
+		when(hashtagRepository.save(any())).thenAnswer(invocation -> {
+			lockHeld.add(Thread.holdsLock(service));
+			return invocation.getArgument(0);
+		});
+
+		service.onJobEvent(JobEvent.builder().eventType("CREATE").data(Job.builder().id("j1").active(true)
+				.tags(List.of("java", "Spring Boot")).build()).build());
+
+		verify(hashtagRepository, times(1)).save(any());
+		assertThat(lockHeld).containsExactly(false);
+		assertThat(service.searchHashtags("spr", 5)).containsExactly("Spring Boot");
+		verify(hashtagRepository, never()).findByTagRegex(any(), any());
+	}
+}
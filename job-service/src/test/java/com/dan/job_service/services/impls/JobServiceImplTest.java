@@ -0,0 +1,98 @@
+package com.dan.job_service.services.impls;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dan.events.dtos.JobEvent;
+import com.dan.job_service.dedup.DuplicateJobDetector;
+import com.dan.job_service.dtos.responses.UserDetailToCreateJob;
+import com.dan.job_service.http_clients.IdentityServiceClient;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.repositories.JobRepository;
+
+class JobServiceImplTest {
+	private JobServiceImpl service;
+	private JobRepository jobRepository;
+	private DuplicateJobDetector duplicateJobDetector;
+	private ApplicationEventPublisher eventPublisher;
+
+	@BeforeEach
+	void setUp() {
+		service = new JobServiceImpl();
+		jobRepository = mock(JobRepository.class);
+		duplicateJobDetector = mock(DuplicateJobDetector.class);
+		eventPublisher = mock(ApplicationEventPublisher.class);
+		IdentityServiceClient identityServiceClient = mock(IdentityServiceClient.class);
+		when(identityServiceClient.getUserByUsername("owner"))
+				.thenReturn(UserDetailToCreateJob.builder().id("u1").username("owner").build());
+		ReflectionTestUtils.setField(service, "jobRepository", jobRepository);
+		ReflectionTestUtils.setField(service, "duplicateJobDetector", duplicateJobDetector);
+		ReflectionTestUtils.setField(service, "eventPublisher", eventPublisher);
+		ReflectionTestUtils.setField(service, "identityServiceClient", identityServiceClient);
+	}
+
+	@Test
+	void reactivationIsRejectedWhenOwnerHasActiveDuplicate() {
+		when(jobRepository.findById("j1")).thenReturn(Optional.of(job(false)));
+		when(duplicateJobDetector.findDuplicates(any()))
+				.thenReturn(List.of(new DuplicateJobDetector.Match("j2", "u1", 0.95)));
+
+		assertThatThrownBy(() -> service.updateJobActive("j1", true, "owner"))
+				.isInstanceOf(RuntimeException.class)
+				.hasMessageContaining("j2");
+		verify(jobRepository, never()).save(any());
+	}
+
+	@Test
+	void reactivationMarksDuplicateOfOtherEmployerAndPublishesActivate() {
+		when(jobRepository.findById("j1")).thenReturn(Optional.of(job(false)));
+		when(duplicateJobDetector.findDuplicates(any()))
+				.thenReturn(List.of(new DuplicateJobDetector.Match("j3", "u2", 0.9)));
+
+		service.updateJobActive("j1", true, "owner");
+
+		verify(jobRepository).save(argThat(job -> "j3".equals(job.getDuplicateOf())));
+		verify(eventPublisher).publishEvent(argThat((Object event) ->
+				event instanceof JobEvent jobEvent && "ACTIVATE".equals(jobEvent.getEventType())));
+	}
+
+	@Test
+	void markJobAsUndonePublishesUpdate() {
+		Job job = job(true);
+		job.setDone(true);
+		when(jobRepository.findById("j1")).thenReturn(Optional.of(job));
+
+		service.markJobAsUndone("j1", "owner");
+
+		verify(jobRepository).save(argThat(saved -> Boolean.FALSE.equals(saved.getDone())));
+		verify(eventPublisher).publishEvent(argThat((Object event) ->
+				event instanceof JobEvent jobEvent && "UPDATE".equals(jobEvent.getEventType())));
+	}
+
+	@Test
+	void deactivationSkipsDuplicateCheck() {
+		when(jobRepository.findById("j1")).thenReturn(Optional.of(job(true)));
+
+		service.updateJobActive("j1", false, "owner");
+
+		verify(duplicateJobDetector, never()).findDuplicates(any());
+		verify(jobRepository).save(any());
+	}
+
+	private static Job job(boolean active) {
+		return Job.builder().id("j1").userId("u1").title("Kế toán").active(active).build();
+	}
+}
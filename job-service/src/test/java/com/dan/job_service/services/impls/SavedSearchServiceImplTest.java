@@ -0,0 +1,58 @@
+package com.dan.job_service.services.impls;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dan.events.dtos.JobEvent;
+import com.dan.job_service.models.Job;
+import com.dan.job_service.models.SavedSearch;
+import com.dan.job_service.search.SavedSearchPercolator;
+
+class SavedSearchServiceImplTest {
+	private SavedSearchServiceImpl service;
+	private SavedSearchPercolator percolator;
+	private KafkaTemplate<String, Object> kafkaTemplate;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		service = new SavedSearchServiceImpl();
+		percolator = mock(SavedSearchPercolator.class);
+		kafkaTemplate = mock(KafkaTemplate.class);
+		ReflectionTestUtils.setField(service, "savedSearchPercolator", percolator);
+		ReflectionTestUtils.setField(service, "kafkaTemplate", kafkaTemplate);
+		when(percolator.match(any())).thenReturn(List.of(
+				SavedSearch.builder().id("s1").userId("seeker").name("Java").active(true).build()));
+	}
+
+	@Test
+	void reactivatedJobIsMatched() {
+		service.onJobEvent(JobEvent.builder().eventType("ACTIVATE").data(job()).build());
+
+		verify(kafkaTemplate).send(eq("saved_search_matched"), eq("j1"), any());
+	}
+
+	@Test
+	void plainUpdateIsNotMatchedAgain() {
+		service.onJobEvent(JobEvent.builder().eventType("UPDATE").data(job()).build());
+
+		verify(percolator, never()).match(any());
+		verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+	}
+
+	private static Job job() {
+		return Job.builder().id("j1").userId("owner").title("Java").active(true).build();
+	}
+}
@@ -0,0 +1,122 @@
+package com.dan.job_service.similarity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class HnswIndexTest {
+	private static final int DIMENSION = 32;
+
+	@Test
+	void recallAgainstBruteForceIsHigh() {
+		Random random = new Random(7);
+		int size = 2000;
+		int k = 10;
+		float[][] vectors = new float[size][];
+		HnswIndex index = new HnswIndex(16, 100);
+		for (int i = 0; i < size; i++) {
+			vectors[i] = randomVector(random);
+			index.add(key(i), vectors[i]);
+		}
+
+		int found = 0;
+		int queries = 100;
+		for (int q = 0; q < queries; q++) {
+			int query = q * (size / queries);
+			Set<String> exact = new HashSet<>(bruteForce(vectors, query, k));
+			for (HnswIndex.Neighbor neighbor : index.neighborsOf(key(query), k, 64, candidate -> true)) {
+				if (exact.contains(neighbor.key())) {
+					found++;
+				}
+			}
+		}
+
+		double recall = (double) found / (queries * k);
+		assertThat(recall).isGreaterThanOrEqualTo(0.9);
+	}
+
+	@Test
+	void resultsAreSortedAndExcludeSelf() {
+		Random random = new Random(11);
+		HnswIndex index = new HnswIndex(8, 50);
+		for (int i = 0; i < 200; i++) {
+			index.add(key(i), randomVector(random));
+		}
+
+		List<HnswIndex.Neighbor> neighbors = index.neighborsOf(key(0), 5, 32, candidate -> true);
+
+		assertThat(neighbors).hasSize(5);
+		assertThat(neighbors).extracting(HnswIndex.Neighbor::key).doesNotContain(key(0));
+		assertThat(neighbors).isSortedAccordingTo(
+				Comparator.comparing(HnswIndex.Neighbor::similarity).reversed());
+	}
+
+	@Test
+	void removedAndFilteredKeysAreNeverReturned() {
+		HnswIndex index = new HnswIndex(8, 50);
+		index.add("a", new float[] {1, 0});
+		index.add("b", new float[] {0.99f, 0.1f});
+		index.add("c", new float[] {0.9f, 0.4f});
+		index.add("d", new float[] {0, 1});
+
+		index.remove("b");
+
+		assertThat(index.neighborsOf("a", 3, 16, candidate -> !candidate.equals("c")))
+				.extracting(HnswIndex.Neighbor::key)
+				.containsExactly("d");
+		assertThat(index.size()).isEqualTo(3);
+		assertThat(index.deletedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void rejectsEmptyZeroAndMismatchedVectors() {
+		HnswIndex index = new HnswIndex(8, 50);
+
+		assertThat(index.add("empty", new float[0])).isFalse();
+		assertThat(index.add("zero", new float[] {0, 0})).isFalse();
+		assertThat(index.add("a", new float[] {1, 0})).isTrue();
+		assertThat(index.add("wrong", new float[] {1, 0, 0})).isFalse();
+		assertThat(index.contains("wrong")).isFalse();
+	}
+
+	private static List<String> bruteForce(float[][] vectors, int query, int k) {
+		return IntStream.range(0, vectors.length)
+				.filter(i -> i != query)
+				.boxed()
+				.sorted(Comparator.comparingDouble(i -> -cosine(vectors[query], vectors[i])))
+				.limit(k)
+				.map(HnswIndexTest::key)
+				.toList();
+	}
+
+	private static double cosine(float[] a, float[] b) {
+		double dot = 0;
+		double normA = 0;
+		double normB = 0;
+		for (int i = 0; i < a.length; i++) {
+			dot += a[i] * b[i];
+			normA += a[i] * a[i];
+			normB += b[i] * b[i];
+		}
+		return dot / Math.sqrt(normA * normB);
+	}
+
+	private static float[] randomVector(Random random) {
+		float[] vector = new float[DIMENSION];
+		for (int i = 0; i < DIMENSION; i++) {
+			vector[i] = (float) random.nextGaussian();
+		}
+		return vector;
+	}
+
+	private static String key(int i) {
+		return "job-" + i;
+	}
+}
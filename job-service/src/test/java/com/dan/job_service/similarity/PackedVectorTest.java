@@ -0,0 +1,94 @@
+package com.dan.job_service.similarity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.Test;
+
+// Byte mong đợi lấy từ pack_vector của recommend-service (utils/vector_codec.py) với cùng đầu vào
+class PackedVectorTest {
+
+	@Test
+	void float32MatchesPythonCodecBytes() {
+		Document document = PackedVector.of(new float[] {1.0f, -2.5f, 0.1f}, false).toDocument();
+
+		assertThat(document.getString("dtype")).isEqualTo("float32");
+		assertThat(document.getInteger("dim")).isEqualTo(3);
+		assertThat(document.getDouble("norm")).isCloseTo(2.694438717061496, within(1e-6));
+		assertThat(document.containsKey("scale")).isFalse();
+		assertThat(document.get("data", Binary.class).getData()).containsExactly(
+				0x00, 0x00, 0x80, 0x3f,
+				0x00, 0x00, 0x20, 0xc0,
+				0xcd, 0xcc, 0xcc, 0x3d);
+	}
+
+	@Test
+	void int8RoundsHalfToEvenLikePythonCodec() {
+		// max |x| = 127 nên scale = 1: q = np.rint(x)
+		Document document = PackedVector.of(new float[] {127f, 2.5f, -2.5f, 0.5f, -1.5f, 63.5f}, true).toDocument();
+
+		assertThat(document.getString("dtype")).isEqualTo("int8");
+		assertThat(document.getDouble("scale")).isEqualTo(1.0);
+		assertThat(document.get("data", Binary.class).getData()).containsExactly(
+				0x7f, 0x02, 0xfe, 0x00, 0xfe, 0x40);
+	}
+
+	@Test
+	void float32RoundTripIsExact() {
+		float[] values = {0.25f, -1e-7f, 3.4e38f, 0f};
+
+		PackedVector decoded = PackedVector.fromDocument(PackedVector.of(values, false).toDocument());
+
+		assertThat(decoded.toArray()).containsExactly(values);
+		assertThat(decoded.getDim()).isEqualTo(4);
+	}
+
+	@Test
+	void int8RoundTripStaysWithinHalfStep() {
+		float[] values = {0.9f, -0.31f, 0.002f, -0.75f, 0.5f};
+		float step = 0.9f / 127;
+
+		float[] decoded = PackedVector.fromDocument(PackedVector.of(values, true).toDocument()).toArray();
+
+		for (int i = 0; i < values.length; i++) {
+			assertThat(decoded[i]).isCloseTo(values[i], within(step / 2 + 1e-6f));
+		}
+	}
+
+	@Test
+	void decodesDocumentWrittenByPythonCodec() {
+		// pack_vector([0.5, -1.0], quantize=True): scale = 1/127 lưu dạng double
+		Document fromPython = new Document("dtype", "int8")
+				.append("dim", 2)
+				.append("norm", 1.118033988749895)
+				.append("scale", 1.0 / 127.0)
+				.append("data", new Binary(new byte[] {64, -127}));
+
+		PackedVector vector = PackedVector.fromDocument(fromPython);
+
+		assertThat(vector.toArray()).containsExactly(new float[] {64f / 127, -1f}, within(1e-6f));
+		assertThat(vector.getNorm()).isCloseTo(1.118034f, within(1e-6f));
+	}
+
+	@Test
+	void allZeroVectorQuantizesWithUnitScale() {
+		Document document = PackedVector.of(List.of(0, 0, 0), true).toDocument();
+
+		assertThat(document.getDouble("scale")).isEqualTo(1.0);
+		assertThat(PackedVector.fromDocument(document).toArray()).containsExactly(0f, 0f, 0f);
+	}
+
+	@Test
+	void rejectsLengthMismatchAndUnknownDtype() {
+		Document truncated = new Document("dtype", "float32").append("dim", 2).append("data", new Binary(new byte[4]));
+		Document unknown = new Document("dtype", "float16").append("data", new Binary(new byte[4]));
+
+		assertThatThrownBy(() -> PackedVector.fromDocument(truncated)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> PackedVector.fromDocument(unknown)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
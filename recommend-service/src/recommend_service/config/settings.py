@@ -29,6 +29,8 @@ class Settings(BaseSettings):
     RECOMMENDATION_THRESHOLD: float = float(os.getenv("RECOMMENDATION_THRESHOLD", "0.5"))
     USE_CACHE: bool = os.getenv("USE_CACHE", "True").lower() == "true"
     CACHE_TTL: int = int(os.getenv("CACHE_TTL", "3600"))
+    # Lưu job embedding dạng int8 (1 byte/chiều) thay vì float32
+    EMBEDDING_INT8_QUANTIZATION: bool = os.getenv("EMBEDDING_INT8_QUANTIZATION", "False").lower() == "true"
 
     # JWT Settings
     JWT_SECRET: str = os.getenv("JWT_SECRET", "conghoaxahoichunghiavietnam/doclaptudohanhphuc/1975/1945")
@@ -8,6 +8,7 @@ from datetime import datetime
 from recommend_service.db.mongodb import MongoDB
 from recommend_service.core.recommendation.models.hybrid import HybridRecommender
 from recommend_service.core.recommendation.models.semantic_content_based import SemanticContentBasedRecommender
+from recommend_service.utils.vector_codec import pack_vector
 from openai import OpenAI
 
 logger = logging.getLogger(__name__)
@@ -155,10 +156,13 @@ class KafkaEventConsumer:
             
             result = embeddings_collection.update_one(
                 {"jobId": job_id},
-                {"$set": {
-                    "embedding": embedding.tolist(),
-                    "updated_at": datetime.now()
-                }},
+                {
+                    "$set": {
+                        "vector": pack_vector(embedding),
+                        "updated_at": datetime.now()
+                    },
+                    "$unset": {"embedding": ""}
+                },
                 upsert=True
             )
 
@@ -213,10 +217,13 @@ class KafkaEventConsumer:
             
             result = embeddings_collection.update_one(
                 {"jobId": job_id},
-                {"$set": {
-                    "embedding": embedding.tolist(),
-                    "updated_at": datetime.now()
-                }},
+                {
+                    "$set": {
+                        "vector": pack_vector(embedding),
+                        "updated_at": datetime.now()
+                    },
+                    "$unset": {"embedding": ""}
+                },
                 upsert=True
             )
 
@@ -9,6 +9,7 @@ import pickle
 import os
 from datetime import datetime
 from recommend_service.config.settings import settings
+from recommend_service.utils.vector_codec import unpack_vector
 
 logger = logging.getLogger(__name__)
 
@@ -51,8 +52,15 @@ class SemanticContentBasedRecommender:
                 settings.MONGODB_JOB_EMBEDDINGS_COLLECTION
             )
 
-            job_embedding_docs = list(job_embeddings_collection.find({}))
-            job_embeddings_map = {doc["jobId"]: doc["embedding"] for doc in job_embedding_docs}
+            # Giải mã vector nhị phân (hoặc mảng cũ), bỏ qua job chưa có embedding
+            job_embedding_docs = job_embeddings_collection.find(
+                {}, {"jobId": 1, "vector": 1, "embedding": 1}
+            )
+            job_embeddings_map = {}
+            for doc in job_embedding_docs:
+                vector = unpack_vector(doc)
+                if vector is not None and "jobId" in doc:
+                    job_embeddings_map[doc["jobId"]] = vector
 
             # Lọc jobs có embeddings và tạo DataFrame
             jobs_with_embeddings = []
@@ -174,12 +182,13 @@ class SemanticContentBasedRecommender:
             )
             
             job_doc = job_embeddings_collection.find_one({"job_id": job_id})
-            if not job_doc or "embedding" not in job_doc:
+            vector = unpack_vector(job_doc)
+            if vector is None:
                 logger.warning(f"No embedding found for job_id: {job_id}")
                 return []
                 
             # Lấy embedding
-            job_embedding = np.array(job_doc["embedding"]).reshape(1, -1)
+            job_embedding = vector.reshape(1, -1)
             
             # Tính similarity với tất cả job embeddings
             similarities = cosine_similarity(job_embedding, self.job_embeddings)[0]
@@ -0,0 +1,78 @@
+import logging
+from typing import Optional
+
+import numpy as np
+from bson.binary import Binary
+
+from recommend_service.config.settings import settings
+
+logger = logging.getLogger(__name__)
+
+FLOAT32 = "float32"
+INT8 = "int8"
+
+
+def pack_vector(values, quantize: Optional[bool] = None) -> dict:
+    """
+    Đóng gói embedding thành document con của job_embeddings.vector
+    (cùng định dạng với PackedVector bên job-service)
+
+    Args:
+        values: vector embedding (list hoặc numpy array)
+        quantize: lượng tử hóa int8, mặc định theo EMBEDDING_INT8_QUANTIZATION
+
+    Returns:
+        {dtype, dim, norm, [scale], data}; data là float32 little-endian hoặc int8
+    """
+    if quantize is None:
+        quantize = settings.EMBEDDING_INT8_QUANTIZATION
+
+    vector = np.asarray(values, dtype=np.float32).ravel()
+    norm = float(np.linalg.norm(vector))
+
+    if quantize:
+        max_abs = float(np.abs(vector).max()) if vector.size else 0.0
+        scale = max_abs / 127.0 if max_abs > 0 else 1.0
+        quantized = np.clip(np.rint(vector / scale), -127, 127).astype(np.int8)
+        return {
+            "dtype": INT8,
+            "dim": int(vector.size),
+            "norm": norm,
+            "scale": scale,
+            "data": Binary(quantized.tobytes()),
+        }
+
+    return {
+        "dtype": FLOAT32,
+        "dim": int(vector.size),
+        "norm": norm,
+        "data": Binary(vector.astype("<f4").tobytes()),
+    }
+
+
+def unpack_vector(doc: Optional[dict]) -> Optional[np.ndarray]:
+    """
+    Lấy embedding dạng numpy float32 từ một document job_embeddings.
+    Đọc được cả dạng nhị phân mới (trường vector) lẫn mảng embedding cũ chưa chuyển đổi.
+
+    Returns:
+        numpy array, hoặc None nếu document chưa có embedding
+    """
+    if not doc:
+        return None
+
+    packed = doc.get("vector")
+    if packed:
+        try:
+            data = bytes(packed["data"])
+            if packed.get("dtype") == INT8:
+                return np.frombuffer(data, dtype=np.int8).astype(np.float32) * np.float32(packed.get("scale", 1.0))
+            return np.frombuffer(data, dtype="<f4").astype(np.float32)
+        except Exception as e:
+            logger.warning(f"Invalid packed vector for jobId {doc.get('jobId')}: {e}")
+            return None
+
+    legacy = doc.get("embedding")
+    if legacy:
+        return np.asarray(legacy, dtype=np.float32)
+    return None